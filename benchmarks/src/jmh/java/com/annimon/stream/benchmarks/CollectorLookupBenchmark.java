@@ -0,0 +1,144 @@
+package com.annimon.stream.benchmarks;
+
+import com.annimon.stream.Collector;
+import com.annimon.stream.Collectors;
+import com.annimon.stream.Stream;
+import com.annimon.stream.function.BiConsumer;
+import com.annimon.stream.function.Function;
+import com.annimon.stream.function.Supplier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@code groupingBy}, which resolves downstream functions once,
+ * with the previous implementation, which called {@code downstream.supplier()}
+ * and {@code downstream.accumulator()} for each element ({@code *PerElementLookup}).
+ *
+ * <p>Collectors from {@code Collectors} return stored functions, so the difference is in calls only.
+ * Custom collectors, which create functions in their accessors, allocate for each element
+ * with the previous implementation: compare {@code gc.alloc.rate.norm} of {@code *CustomDownstream}.
+ * C2 escape analysis removes this allocation in a single-level {@code groupingBy},
+ * so run with {@code -XX:-DoEscapeAnalysis} to see it there.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CollectorLookupBenchmark {
+
+    @Benchmark
+    public Map<Integer, Map<Boolean, List<Integer>>> nestedGroupingBy(Inputs inputs) {
+        return Stream.of(inputs.array).collect(
+                Collectors.groupingBy(Inputs::key,
+                        Collectors.groupingBy(Inputs::even,
+                                Collectors.mapping(Object::hashCode, Collectors.<Integer>toList()))));
+    }
+
+    @Benchmark
+    public Map<Integer, Map<Boolean, List<Integer>>> nestedGroupingByPerElementLookup(Inputs inputs) {
+        return Stream.of(inputs.array).collect(
+                perElementGroupingBy(Inputs::key,
+                        perElementGroupingBy(Inputs::even,
+                                Collectors.mapping(Object::hashCode, Collectors.<Integer>toList()))));
+    }
+
+    @Benchmark
+    public Map<Integer, Map<Boolean, List<Integer>>> nestedGroupingByJavaUtilStream(Inputs inputs) {
+        return java.util.Arrays.stream(inputs.array).collect(
+                java.util.stream.Collectors.groupingBy(Inputs::key,
+                        java.util.stream.Collectors.groupingBy(Inputs::even,
+                                java.util.stream.Collectors.mapping(Object::hashCode,
+                                        java.util.stream.Collectors.toList()))));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Object>> groupingByCustomDownstream(Inputs inputs) {
+        return Stream.of(inputs.array).collect(
+                Collectors.groupingBy(Inputs::key, new CustomToList<Object>()));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Object>> groupingByCustomDownstreamPerElementLookup(Inputs inputs) {
+        return Stream.of(inputs.array).collect(
+                perElementGroupingBy(Inputs::key, new CustomToList<Object>()));
+    }
+
+    /**
+     * Collector in Java 6 style, which creates new functions on each accessor call.
+     */
+    private static final class CustomToList<T> implements Collector<T, List<T>, List<T>> {
+
+        @Override
+        public Supplier<List<T>> supplier() {
+            return new Supplier<List<T>>() {
+                @Override
+                public List<T> get() {
+                    return new ArrayList<T>();
+                }
+            };
+        }
+
+        @Override
+        public BiConsumer<List<T>, T> accumulator() {
+            return new BiConsumer<List<T>, T>() {
+                @Override
+                public void accept(List<T> list, T value) {
+                    list.add(value);
+                }
+            };
+        }
+
+        @Override
+        public Function<List<T>, List<T>> finisher() {
+            return null;
+        }
+    }
+
+    /**
+     * Previous implementation of {@code groupingBy} without finisher support.
+     */
+    private static <T, K, A, D> Collector<T, ?, Map<K, D>> perElementGroupingBy(
+            final Function<? super T, ? extends K> classifier,
+            final Collector<? super T, A, D> downstream) {
+        return new Collector<T, Map<K, A>, Map<K, D>>() {
+            @Override
+            public Supplier<Map<K, A>> supplier() {
+                return HashMap::new;
+            }
+
+            @Override
+            public BiConsumer<Map<K, A>, T> accumulator() {
+                return (map, t) -> {
+                    final K key = classifier.apply(t);
+                    A container = map.get(key);
+                    if (container == null) {
+                        container = downstream.supplier().get();
+                        map.put(key, container);
+                    }
+                    downstream.accumulator().accept(container, t);
+                };
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public Function<Map<K, A>, Map<K, D>> finisher() {
+                final Function<A, D> downstreamFinisher = downstream.finisher();
+                if (downstreamFinisher == null) return null;
+                return map -> {
+                    for (Map.Entry<K, A> entry : map.entrySet()) {
+                        entry.setValue((A) downstreamFinisher.apply(entry.getValue()));
+                    }
+                    return (Map<K, D>) map;
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,237 @@
+package com.annimon.stream.benchmarks;
+
+import com.annimon.stream.Collectors;
+import com.annimon.stream.Stream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Collectors from {@code Collectors}, compared with {@code java.util.stream.Collectors} and loops.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CollectorsBenchmark {
+
+    @Benchmark
+    public Set<Object> toCollection(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.toCollection(() -> new TreeSet<Object>()));
+    }
+
+    @Benchmark
+    public List<Object> toList(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Object> toListJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).collect(java.util.stream.Collectors.toList());
+    }
+
+    @Benchmark
+    public Set<Object> toSet(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public Set<Object> toSetJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).collect(java.util.stream.Collectors.toSet());
+    }
+
+    @Benchmark
+    public Map<Object, Integer> toMap(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.toMap(x -> x, Object::hashCode));
+    }
+
+    @Benchmark
+    public Map<Object, Integer> toMapJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).collect(
+                java.util.stream.Collectors.toMap(x -> x, Object::hashCode, (a, b) -> b));
+    }
+
+    @Benchmark
+    public Map<Object, Integer> toMapLoop(Inputs inputs) {
+        final Map<Object, Integer> map = new HashMap<Object, Integer>();
+        for (Object element : inputs.array) {
+            map.put(element, element.hashCode());
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Object, Integer> toMapWithFactory(Inputs inputs) {
+        return Stream.of(inputs.array).collect(
+                Collectors.toMap(x -> x, Object::hashCode, () -> new TreeMap<Object, Integer>()));
+    }
+
+    @Benchmark
+    public String joining(Inputs inputs) {
+        return Stream.of(inputs.array).map(String::valueOf).collect(Collectors.joining());
+    }
+
+    @Benchmark
+    public String joiningWithDelimiter(Inputs inputs) {
+        return Stream.of(inputs.array).map(String::valueOf).collect(Collectors.joining(", "));
+    }
+
+    @Benchmark
+    public String joiningWithPrefix(Inputs inputs) {
+        return Stream.of(inputs.array).map(String::valueOf).collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    @Benchmark
+    public String joiningWithPrefixJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).map(String::valueOf)
+                .collect(java.util.stream.Collectors.joining(", ", "[", "]"));
+    }
+
+    @Benchmark
+    public String joiningWithPrefixLoop(Inputs inputs) {
+        final StringBuilder sb = new StringBuilder("[");
+        boolean first = true;
+        for (Object element : inputs.array) {
+            if (!first) sb.append(", ");
+            sb.append(String.valueOf(element));
+            first = false;
+        }
+        return sb.append(']').toString();
+    }
+
+    @Benchmark
+    public String joiningWithEmptyValue(Inputs inputs) {
+        return Stream.of(inputs.array).map(String::valueOf).collect(Collectors.joining(", ", "[", "]", "none"));
+    }
+
+    @Benchmark
+    public Double averaging(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.averaging(x -> (double) x.hashCode()));
+    }
+
+    @Benchmark
+    public Double averagingJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).collect(java.util.stream.Collectors.averagingDouble(x -> x.hashCode()));
+    }
+
+    @Benchmark
+    public Long counting(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.counting());
+    }
+
+    @Benchmark
+    public Long countingJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).collect(java.util.stream.Collectors.counting());
+    }
+
+    @Benchmark
+    public Object reducing(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.reducing(null,
+                (a, b) -> (a == null || Inputs.NATURAL_ORDER.compare(a, b) < 0) ? b : a));
+    }
+
+    @Benchmark
+    public Integer reducingWithMapper(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.reducing(0, Object::hashCode, Integer::sum));
+    }
+
+    @Benchmark
+    public Integer reducingWithMapperJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).collect(
+                java.util.stream.Collectors.reducing(0, Object::hashCode, Integer::sum));
+    }
+
+    @Benchmark
+    public List<Integer> mapping(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.mapping(Object::hashCode, Collectors.<Integer>toList()));
+    }
+
+    @Benchmark
+    public Integer collectingAndThen(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.collectingAndThen(Collectors.toList(), List::size));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Object>> groupingBy(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.groupingBy(Inputs::key));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Object>> groupingByJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).collect(java.util.stream.Collectors.groupingBy(Inputs::key));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Object>> groupingByLoop(Inputs inputs) {
+        final Map<Integer, List<Object>> map = new HashMap<Integer, List<Object>>();
+        for (Object element : inputs.array) {
+            final Integer key = Inputs.key(element);
+            List<Object> list = map.get(key);
+            if (list == null) {
+                list = new java.util.ArrayList<Object>();
+                map.put(key, list);
+            }
+            list.add(element);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByWithDownstream(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.groupingBy(Inputs::key, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByWithDownstreamJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).collect(
+                java.util.stream.Collectors.groupingBy(Inputs::key, java.util.stream.Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Set<Object>> groupingByWithMapFactory(Inputs inputs) {
+        return Stream.of(inputs.array).collect(Collectors.groupingBy(Inputs::key,
+                () -> new TreeMap<Integer, Set<Object>>(), Collectors.toSet()));
+    }
+
+    /**
+     * Collects many small groups, where the cost of creating the downstream container dominates.
+     */
+    @State(Scope.Thread)
+    public static class ManyGroups {
+
+        @Param({"2", "1000"})
+        public int groupSize;
+
+        public Object[] array;
+
+        @Setup
+        public void setup(Inputs inputs) {
+            array = new Object[inputs.size];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = i / groupSize;
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<Object, List<Object>> groupingByManyGroups(ManyGroups groups) {
+        return Stream.of(groups.array).collect(Collectors.groupingBy(x -> x));
+    }
+
+    @Benchmark
+    public Map<Object, List<Object>> groupingByManyGroupsJavaUtilStream(ManyGroups groups) {
+        return Arrays.stream(groups.array).collect(java.util.stream.Collectors.groupingBy(x -> x));
+    }
+}
@@ -0,0 +1,133 @@
+package com.annimon.stream.benchmarks;
+
+import com.annimon.stream.Exceptional;
+import com.annimon.stream.Optional;
+import com.annimon.stream.function.ThrowableSupplier;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Operations of {@code Exceptional} with succeeded and failed suppliers, compared with try-catch.
+ *
+ * <p>Failed supplier throws the preallocated exception, so the cost of filling
+ * the stack trace is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExceptionalBenchmark {
+
+    private static final IOException EXCEPTION = new IOException("failed");
+
+    @Param({"false", "true"})
+    public boolean failing;
+
+    private ThrowableSupplier<String, Throwable> supplier;
+    private Exceptional<String> exceptional;
+
+    @Setup
+    public void setup() {
+        supplier = () -> load(failing);
+        exceptional = Exceptional.of(supplier);
+    }
+
+    private static String load(boolean failing) throws IOException {
+        if (failing) throw EXCEPTION;
+        return "value";
+    }
+
+    @Benchmark
+    public Exceptional<String> of() {
+        return Exceptional.of(supplier);
+    }
+
+    @Benchmark
+    public String tryCatch() {
+        try {
+            return load(failing);
+        } catch (IOException ex) {
+            return "other";
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return exceptional.get();
+    }
+
+    @Benchmark
+    public String getOrElse() {
+        return Exceptional.of(supplier).getOrElse("other");
+    }
+
+    @Benchmark
+    public Optional<String> getOptional() {
+        return exceptional.getOptional();
+    }
+
+    @Benchmark
+    public Throwable getException() {
+        return exceptional.getException();
+    }
+
+    @Benchmark
+    public String getOrThrow() {
+        try {
+            return exceptional.getOrThrow();
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public String getOrThrowRuntimeException() {
+        try {
+            return exceptional.getOrThrowRuntimeException();
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public String getOrThrowGiven() {
+        try {
+            return exceptional.getOrThrow(EXCEPTION);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Exceptional<String> ifException(Blackhole bh) {
+        return exceptional.ifException(bh::consume);
+    }
+
+    @Benchmark
+    public Exceptional<String> ifExceptionIs(Blackhole bh) {
+        return exceptional.ifExceptionIs(IOException.class, bh::consume);
+    }
+
+    @Benchmark
+    public boolean equalsExceptional() {
+        return exceptional.equals(Exceptional.of(supplier));
+    }
+
+    @Benchmark
+    public int hashCodeExceptional() {
+        return exceptional.hashCode();
+    }
+
+    @Benchmark
+    public String toStringExceptional() {
+        return exceptional.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.annimon.stream.benchmarks;
+
+import com.annimon.stream.Collectors;
+import com.annimon.stream.Stream;
+import com.annimon.stream.function.Consumer;
+import com.annimon.stream.function.Function;
+import com.annimon.stream.function.IntFunction;
+import com.annimon.stream.function.Predicate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares fused {@code map}/{@code filter}/{@code peek} stages with the chain of separate stages.
+ *
+ * <p>Unfused variant wraps each stage into a pass-through iterator, which prevents fusion
+ * and approximates the previous iterator-per-stage pipeline (with one extra call per stage).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FusionBenchmark {
+
+    @Param({"3", "6", "8"})
+    public int stages;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Integer[] data;
+
+    @Setup
+    public void setup() {
+        data = Stream.range(0, size).toArray(new IntFunction<Integer[]>() {
+            @Override
+            public Integer[] apply(int value) {
+                return new Integer[value];
+            }
+        });
+    }
+
+    @Benchmark
+    public List<Integer> fused() {
+        Stream<Integer> stream = Stream.of(data);
+        for (int i = 0; i < stages; i++) {
+            stream = stage(stream, i);
+        }
+        return stream.collect(Collectors.<Integer>toList());
+    }
+
+    @Benchmark
+    public List<Integer> unfused() {
+        Stream<Integer> stream = Stream.of(data);
+        for (int i = 0; i < stages; i++) {
+            stream = Stream.of(new PassThrough<Integer>(stage(stream, i).getIterator()));
+        }
+        return stream.collect(Collectors.<Integer>toList());
+    }
+
+    @Benchmark
+    public void fusedPull(Blackhole bh) {
+        Stream<Integer> stream = Stream.of(data);
+        for (int i = 0; i < stages; i++) {
+            stream = stage(stream, i);
+        }
+        final Iterator<? extends Integer> iterator = stream.getIterator();
+        while (iterator.hasNext()) {
+            bh.consume(iterator.next());
+        }
+    }
+
+    @Benchmark
+    public void unfusedPull(Blackhole bh) {
+        Stream<Integer> stream = Stream.of(data);
+        for (int i = 0; i < stages; i++) {
+            stream = Stream.of(new PassThrough<Integer>(stage(stream, i).getIterator()));
+        }
+        final Iterator<? extends Integer> iterator = stream.getIterator();
+        while (iterator.hasNext()) {
+            bh.consume(iterator.next());
+        }
+    }
+
+    @Benchmark
+    public List<Integer> javaUtilStream() {
+        java.util.stream.Stream<Integer> stream = java.util.Arrays.stream(data);
+        for (int i = 0; i < stages; i++) {
+            switch (i % 3) {
+                case 0: stream = stream.map(x -> x + 1); break;
+                case 1: stream = stream.filter(x -> (x & 7) != 0); break;
+                default: stream = stream.peek(x -> { }); break;
+            }
+        }
+        return stream.collect(java.util.stream.Collectors.toList());
+    }
+
+    private static Stream<Integer> stage(Stream<Integer> stream, int index) {
+        switch (index % 3) {
+            case 0: return stream.map(INCREMENT);
+            case 1: return stream.filter(NOT_MULTIPLE_OF_8);
+            default: return stream.peek(NOTHING);
+        }
+    }
+
+    private static final Function<Integer, Integer> INCREMENT = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer value) {
+            return value + 1;
+        }
+    };
+
+    private static final Predicate<Integer> NOT_MULTIPLE_OF_8 = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer value) {
+            return (value & 7) != 0;
+        }
+    };
+
+    private static final Consumer<Integer> NOTHING = new Consumer<Integer>() {
+        @Override
+        public void accept(Integer value) {
+        }
+    };
+
+    private static final class PassThrough<T> implements Iterator<T> {
+
+        private final Iterator<? extends T> iterator;
+
+        PassThrough(Iterator<? extends T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.annimon.stream.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Input elements shared by the operator benchmarks.
+ *
+ * <p>Elements are in pseudo-random order and each value occurs twice,
+ * so {@code distinct}, {@code sorted} and grouping operations do real work.
+ * Boxed numbers and strings are compared, as they differ in the cost
+ * of {@code hashCode}, {@code equals} and {@code compareTo}.
+ */
+@State(Scope.Benchmark)
+public class Inputs {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"Integer", "Long", "String"})
+    public String type;
+
+    public Object[] array;
+    public List<Object> list;
+
+    @Setup
+    public void setup() {
+        array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            // 31 is coprime with all sizes, so i * 31 % size is a permutation
+            final int value = (int) ((i * 31L) % size) / 2;
+            array[i] = element(value);
+        }
+        list = new ArrayList<Object>(Arrays.asList(array));
+    }
+
+    private Object element(int value) {
+        switch (type) {
+            case "Long": return (long) value;
+            case "String": return "element" + value;
+            default: return value;
+        }
+    }
+
+    /**
+     * Small non-negative number derived from the element.
+     */
+    static int key(Object element) {
+        return (element.hashCode() & Integer.MAX_VALUE) % 16;
+    }
+
+    static boolean even(Object element) {
+        return (element.hashCode() & 1) == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    static final Comparator<Object> NATURAL_ORDER = (o1, o2) -> ((Comparable<Object>) o1).compareTo(o2);
+}
@@ -0,0 +1,143 @@
+package com.annimon.stream.benchmarks;
+
+import com.annimon.stream.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Operations of {@code Optional} on present and empty values, compared with {@code java.util.Optional}
+ * and the plain null check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OptionalBenchmark {
+
+    @Param({"true", "false"})
+    public boolean present;
+
+    private String value;
+    private Optional<String> optional;
+    private java.util.Optional<String> javaOptional;
+
+    @Setup
+    public void setup() {
+        value = present ? "value" : null;
+        optional = Optional.ofNullable(value);
+        javaOptional = java.util.Optional.ofNullable(value);
+    }
+
+    @Benchmark
+    public Optional<String> of() {
+        return Optional.of("value");
+    }
+
+    @Benchmark
+    public Optional<String> ofNullable() {
+        return Optional.ofNullable(value);
+    }
+
+    @Benchmark
+    public java.util.Optional<String> ofNullableJavaUtil() {
+        return java.util.Optional.ofNullable(value);
+    }
+
+    @Benchmark
+    public Optional<String> empty() {
+        return Optional.empty();
+    }
+
+    @Benchmark
+    public Object get() {
+        return present ? optional.get() : null;
+    }
+
+    @Benchmark
+    public boolean isPresent() {
+        return optional.isPresent();
+    }
+
+    @Benchmark
+    public void ifPresent(Blackhole bh) {
+        optional.ifPresent(bh::consume);
+    }
+
+    @Benchmark
+    public void ifPresentNullCheck(Blackhole bh) {
+        if (value != null) {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public Optional<String> filter() {
+        return optional.filter(s -> !s.isEmpty());
+    }
+
+    @Benchmark
+    public int map() {
+        return Optional.ofNullable(value).map(String::length).orElse(0);
+    }
+
+    @Benchmark
+    public int mapJavaUtil() {
+        return java.util.Optional.ofNullable(value).map(String::length).orElse(0);
+    }
+
+    @Benchmark
+    public int mapNullCheck() {
+        return (value != null) ? value.length() : 0;
+    }
+
+    @Benchmark
+    public Optional<Integer> flatMap() {
+        return optional.flatMap(s -> Optional.of(s.length()));
+    }
+
+    @Benchmark
+    public String orElse() {
+        return optional.orElse("other");
+    }
+
+    @Benchmark
+    public String orElseJavaUtil() {
+        return javaOptional.orElse("other");
+    }
+
+    @Benchmark
+    public String orElseGet() {
+        return optional.orElseGet(() -> "other");
+    }
+
+    @Benchmark
+    public String orElseThrow() {
+        try {
+            return optional.orElseThrow(IllegalStateException::new);
+        } catch (IllegalStateException ex) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public boolean equalsOptional() {
+        return optional.equals(Optional.ofNullable(value));
+    }
+
+    @Benchmark
+    public int hashCodeOptional() {
+        return optional.hashCode();
+    }
+
+    @Benchmark
+    public String toStringOptional() {
+        return optional.toString();
+    }
+}
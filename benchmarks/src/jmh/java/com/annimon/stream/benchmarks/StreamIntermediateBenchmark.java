@@ -0,0 +1,275 @@
+package com.annimon.stream.benchmarks;
+
+import com.annimon.stream.Stream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Intermediate operations of {@code Stream}, each followed by {@code forEach}.
+ *
+ * <p>Operations, which have the direct counterpart, are compared
+ * with {@code java.util.stream} ({@code *JavaUtilStream}) and the hand-written loop ({@code *Loop}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StreamIntermediateBenchmark {
+
+    @Benchmark
+    public void filter(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).filter(Inputs::even).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void filterJavaUtilStream(Inputs inputs, Blackhole bh) {
+        Arrays.stream(inputs.array).filter(Inputs::even).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void filterLoop(Inputs inputs, Blackhole bh) {
+        for (Object element : inputs.array) {
+            if (Inputs.even(element)) {
+                bh.consume(element);
+            }
+        }
+    }
+
+    @Benchmark
+    public void filterNot(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).filterNot(Inputs::even).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void select(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).select(Integer.class).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void map(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).map(Object::hashCode).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void mapJavaUtilStream(Inputs inputs, Blackhole bh) {
+        Arrays.stream(inputs.array).map(Object::hashCode).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void mapLoop(Inputs inputs, Blackhole bh) {
+        for (Object element : inputs.array) {
+            bh.consume(element.hashCode());
+        }
+    }
+
+    @Benchmark
+    public int mapToInt(Inputs inputs) {
+        return Stream.of(inputs.array).mapToInt(Object::hashCode).sum();
+    }
+
+    @Benchmark
+    public int mapToIntJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).mapToInt(Object::hashCode).sum();
+    }
+
+    @Benchmark
+    public long mapToLong(Inputs inputs) {
+        return Stream.of(inputs.array).mapToLong(Object::hashCode).sum();
+    }
+
+    @Benchmark
+    public double mapToDouble(Inputs inputs) {
+        return Stream.of(inputs.array).mapToDouble(Object::hashCode).sum();
+    }
+
+    @Benchmark
+    public void flatMap(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).flatMap(x -> Stream.of(x, x)).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void flatMapJavaUtilStream(Inputs inputs, Blackhole bh) {
+        Arrays.stream(inputs.array).flatMap(x -> java.util.stream.Stream.of(x, x)).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void distinct(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).distinct().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void distinctJavaUtilStream(Inputs inputs, Blackhole bh) {
+        Arrays.stream(inputs.array).distinct().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void distinctLoop(Inputs inputs, Blackhole bh) {
+        final Set<Object> seen = new HashSet<Object>();
+        for (Object element : inputs.array) {
+            if (seen.add(element)) {
+                bh.consume(element);
+            }
+        }
+    }
+
+    @Benchmark
+    public void distinctApproximate(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).distinctApproximate(inputs.size, 0.01).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void distinctApproximateOffHeap(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).distinctApproximate(inputs.size, 0.01, x -> x, true).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void sorted(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).sorted().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void sortedJavaUtilStream(Inputs inputs, Blackhole bh) {
+        Arrays.stream(inputs.array).sorted().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void sortedLoop(Inputs inputs, Blackhole bh) {
+        final Object[] copy = inputs.array.clone();
+        Arrays.sort(copy);
+        for (Object element : copy) {
+            bh.consume(element);
+        }
+    }
+
+    @Benchmark
+    public void sortedWithComparator(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).sorted(Inputs.NATURAL_ORDER.reversed()).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void sortedLimit(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).sorted().limit(10).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void sortedLimitJavaUtilStream(Inputs inputs, Blackhole bh) {
+        Arrays.stream(inputs.array).sorted().limit(10).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void topK(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).topK(10, Inputs.NATURAL_ORDER).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void sortBy(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).sortBy(Object::hashCode).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void groupBy(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).groupBy(Inputs::key).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void chunkBy(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).chunkBy(Inputs::even).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void sample(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).sample(3).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void slidingWindow(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).slidingWindow(5).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void slidingWindowLoop(Inputs inputs, Blackhole bh) {
+        final Object[] array = inputs.array;
+        for (int i = 0; i + 5 <= array.length; i++) {
+            final List<Object> window = new ArrayList<Object>(5);
+            for (int j = i; j < i + 5; j++) {
+                window.add(array[j]);
+            }
+            bh.consume(window);
+        }
+    }
+
+    @Benchmark
+    public void slidingWindowWithStep(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).slidingWindow(5, 5).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void peek(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).peek(bh::consume).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void peekJavaUtilStream(Inputs inputs, Blackhole bh) {
+        Arrays.stream(inputs.array).peek(bh::consume).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void takeWhile(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).takeWhile(x -> x != null).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void dropWhile(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).dropWhile(x -> x == null).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void limit(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.list).limit(inputs.size / 2).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void limitJavaUtilStream(Inputs inputs, Blackhole bh) {
+        inputs.list.stream().limit(inputs.size / 2).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void skip(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.list).skip(inputs.size / 2).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void skipJavaUtilStream(Inputs inputs, Blackhole bh) {
+        inputs.list.stream().skip(inputs.size / 2).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void skipOfIterator(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.list.iterator()).skip(inputs.size / 2).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void parallelMap(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).parallel().map(Object::hashCode).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void parallelMapJavaUtilStream(Inputs inputs, Blackhole bh) {
+        Arrays.stream(inputs.array).parallel().map(Object::hashCode).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void sequentialAfterParallel(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).parallel().map(Object::hashCode).sequential().forEach(bh::consume);
+    }
+}
@@ -0,0 +1,164 @@
+package com.annimon.stream.benchmarks;
+
+import com.annimon.stream.Stream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Stream creation and traversal of all {@code Stream} sources.
+ *
+ * <p>Each source is consumed by {@code forEach}, so the cost of iteration is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StreamSourceBenchmark {
+
+    private Map<Object, Object> map;
+
+    @Setup
+    public void setup(Inputs inputs) {
+        map = new HashMap<Object, Object>();
+        for (Object element : inputs.array) {
+            map.put(element, element);
+        }
+    }
+
+    @Benchmark
+    public void empty(Blackhole bh) {
+        Stream.empty().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void ofArray(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void ofArrayJavaUtilStream(Inputs inputs, Blackhole bh) {
+        java.util.Arrays.stream(inputs.array).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void ofArrayLoop(Inputs inputs, Blackhole bh) {
+        for (Object element : inputs.array) {
+            bh.consume(element);
+        }
+    }
+
+    @Benchmark
+    public void ofList(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.list).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void ofListJavaUtilStream(Inputs inputs, Blackhole bh) {
+        inputs.list.stream().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void ofIterator(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.list.iterator()).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void ofIterable(Inputs inputs, Blackhole bh) {
+        Stream.of(map.keySet()).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void ofMap(Blackhole bh) {
+        Stream.of(map).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void ofMapJavaUtilStream(Blackhole bh) {
+        map.entrySet().stream().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void rangeInt(Inputs inputs, Blackhole bh) {
+        Stream.range(0, inputs.size).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void rangeIntJavaUtilStream(Inputs inputs, Blackhole bh) {
+        IntStream.range(0, inputs.size).boxed().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void rangeClosedInt(Inputs inputs, Blackhole bh) {
+        Stream.rangeClosed(1, inputs.size).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void rangeLong(Inputs inputs, Blackhole bh) {
+        Stream.range(0L, inputs.size).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void rangeLongJavaUtilStream(Inputs inputs, Blackhole bh) {
+        LongStream.range(0L, inputs.size).boxed().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void rangeClosedLong(Inputs inputs, Blackhole bh) {
+        Stream.rangeClosed(1L, inputs.size).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void generate(Inputs inputs, Blackhole bh) {
+        Stream.generate(() -> 1).limit(inputs.size).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void generateJavaUtilStream(Inputs inputs, Blackhole bh) {
+        java.util.stream.Stream.generate(() -> 1).limit(inputs.size).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void iterate(Inputs inputs, Blackhole bh) {
+        Stream.iterate(0, x -> x + 1).limit(inputs.size).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void iterateJavaUtilStream(Inputs inputs, Blackhole bh) {
+        java.util.stream.Stream.iterate(0, x -> x + 1).limit(inputs.size).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void concat(Inputs inputs, Blackhole bh) {
+        Stream.concat(Stream.of(inputs.array), Stream.of(inputs.list)).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void concatJavaUtilStream(Inputs inputs, Blackhole bh) {
+        java.util.stream.Stream.concat(java.util.Arrays.stream(inputs.array), inputs.list.stream())
+                .forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void zip(Inputs inputs, Blackhole bh) {
+        Stream.zip(Stream.of(inputs.array), Stream.of(inputs.list), (a, b) -> a == b)
+                .forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void zipLoop(Inputs inputs, Blackhole bh) {
+        final Object[] array = inputs.array;
+        for (int i = 0; i < array.length; i++) {
+            bh.consume(array[i] == inputs.list.get(i));
+        }
+    }
+}
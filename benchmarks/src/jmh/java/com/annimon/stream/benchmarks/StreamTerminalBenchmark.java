@@ -0,0 +1,192 @@
+package com.annimon.stream.benchmarks;
+
+import com.annimon.stream.Optional;
+import com.annimon.stream.Stream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Terminal operations of {@code Stream}.
+ *
+ * <p>Short-circuiting operations use predicates, which never match,
+ * so the whole input is traversed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StreamTerminalBenchmark {
+
+    @Benchmark
+    public void forEach(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void forEachOrdered(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).forEachOrdered(bh::consume);
+    }
+
+    @Benchmark
+    public void forEachOrderedParallel(Inputs inputs, Blackhole bh) {
+        Stream.of(inputs.array).parallel().forEachOrdered(bh::consume);
+    }
+
+    @Benchmark
+    public void forEachOrderedParallelJavaUtilStream(Inputs inputs, Blackhole bh) {
+        Arrays.stream(inputs.array).parallel().forEachOrdered(bh::consume);
+    }
+
+    @Benchmark
+    public int reduceWithIdentity(Inputs inputs) {
+        return Stream.of(inputs.array).reduce(0, (sum, x) -> sum + x.hashCode());
+    }
+
+    @Benchmark
+    public int reduceWithIdentityJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).reduce(0, (sum, x) -> sum + x.hashCode(), Integer::sum);
+    }
+
+    @Benchmark
+    public int reduceWithIdentityLoop(Inputs inputs) {
+        int sum = 0;
+        for (Object element : inputs.array) {
+            sum += element.hashCode();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Optional<Object> reduce(Inputs inputs) {
+        return Stream.of(inputs.array).reduce((a, b) -> Inputs.NATURAL_ORDER.compare(a, b) >= 0 ? a : b);
+    }
+
+    @Benchmark
+    public java.util.Optional<Object> reduceJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).reduce((a, b) -> Inputs.NATURAL_ORDER.compare(a, b) >= 0 ? a : b);
+    }
+
+    @Benchmark
+    public Object[] toArray(Inputs inputs) {
+        return Stream.of(inputs.list).toArray();
+    }
+
+    @Benchmark
+    public Object[] toArrayJavaUtilStream(Inputs inputs) {
+        return inputs.list.stream().toArray();
+    }
+
+    @Benchmark
+    public Object[] toArrayWithGenerator(Inputs inputs) {
+        return Stream.of(inputs.list).filter(Inputs::even).toArray(Object[]::new);
+    }
+
+    @Benchmark
+    public Object[] toArrayWithGeneratorJavaUtilStream(Inputs inputs) {
+        return inputs.list.stream().filter(Inputs::even).toArray(Object[]::new);
+    }
+
+    @Benchmark
+    public List<Object> collectWithSupplier(Inputs inputs) {
+        return Stream.of(inputs.array).collect(ArrayList::new, ArrayList::add);
+    }
+
+    @Benchmark
+    public List<Object> collectWithCombiner(Inputs inputs) {
+        return Stream.of(inputs.array).collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    @Benchmark
+    public List<Object> collectWithCombinerJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    @Benchmark
+    public Optional<Object> min(Inputs inputs) {
+        return Stream.of(inputs.array).min(Inputs.NATURAL_ORDER);
+    }
+
+    @Benchmark
+    public java.util.Optional<Object> minJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).min(Inputs.NATURAL_ORDER);
+    }
+
+    @Benchmark
+    public Optional<Object> max(Inputs inputs) {
+        return Stream.of(inputs.array).max(Inputs.NATURAL_ORDER);
+    }
+
+    @Benchmark
+    public long count(Inputs inputs) {
+        return Stream.of(inputs.array).filter(Inputs::even).count();
+    }
+
+    @Benchmark
+    public long countJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).filter(Inputs::even).count();
+    }
+
+    @Benchmark
+    public long countOfSized(Inputs inputs) {
+        return Stream.of(inputs.list).map(Object::hashCode).count();
+    }
+
+    @Benchmark
+    public boolean anyMatch(Inputs inputs) {
+        return Stream.of(inputs.array).anyMatch(x -> x == null);
+    }
+
+    @Benchmark
+    public boolean anyMatchJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).anyMatch(x -> x == null);
+    }
+
+    @Benchmark
+    public boolean anyMatchLoop(Inputs inputs) {
+        for (Object element : inputs.array) {
+            if (element == null) return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean allMatch(Inputs inputs) {
+        return Stream.of(inputs.array).allMatch(x -> x != null);
+    }
+
+    @Benchmark
+    public boolean noneMatch(Inputs inputs) {
+        return Stream.of(inputs.array).noneMatch(x -> x == null);
+    }
+
+    @Benchmark
+    public Optional<Object> findFirst(Inputs inputs) {
+        return Stream.of(inputs.array).filter(x -> x == null).findFirst();
+    }
+
+    @Benchmark
+    public java.util.Optional<Object> findFirstJavaUtilStream(Inputs inputs) {
+        return Arrays.stream(inputs.array).filter(x -> x == null).findFirst();
+    }
+
+    @Benchmark
+    public long custom(Inputs inputs) {
+        return Stream.of(inputs.array).custom(Stream::count);
+    }
+
+    @Benchmark
+    public void getIterator(Inputs inputs, Blackhole bh) {
+        final java.util.Iterator<?> iterator = Stream.of(inputs.array).map(Object::hashCode).getIterator();
+        while (iterator.hasNext()) {
+            bh.consume(iterator.next());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.annimon.stream;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Probabilistic set of fixed size, which may report that element was added
+ * when it was not (false positive), but never the opposite.
+ *
+ * <p>Bits are stored in {@code long[]} array or, if requested, in the direct {@code ByteBuffer},
+ * so large filters do not occupy the heap. Number of bits and hash functions is chosen
+ * from the expected number of insertions and the desired false positive rate.
+ * Bits are allocated on the first insertion, so the filter of not evaluated stream takes no memory.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    // long[] of MAX_ARRAY_SIZE elements or direct ByteBuffer of Integer.MAX_VALUE bytes
+    private static final long MAX_HEAP_BITS = Stream.MAX_ARRAY_SIZE * Long.SIZE;
+    private static final long MAX_OFF_HEAP_BITS = (long) (Integer.MAX_VALUE / 8) * Long.SIZE;
+
+    private final long bitSize;
+    private final int hashFunctions;
+    private final boolean offHeap;
+    private long[] words;
+    private ByteBuffer buffer;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate, boolean offHeap) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in range (0, 1)");
+        }
+        final long maxBits = offHeap ? MAX_OFF_HEAP_BITS : MAX_HEAP_BITS;
+        final double optimalBits = -expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2);
+        final long bits = (long) Math.min(Math.max(optimalBits, Long.SIZE), maxBits);
+        final int wordCount = (int) ((bits + Long.SIZE - 1) / Long.SIZE);
+        bitSize = (long) wordCount * Long.SIZE;
+        hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+        this.offHeap = offHeap;
+    }
+
+    private void allocate() {
+        final int wordCount = (int) (bitSize / Long.SIZE);
+        if (offHeap) {
+            buffer = ByteBuffer.allocateDirect(wordCount * 8);
+        } else {
+            words = new long[wordCount];
+        }
+    }
+
+    boolean isAllocated() {
+        return (words != null) || (buffer != null);
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Adds the element to the filter.
+     *
+     * @return {@code true} if the element was definitely not added before,
+     *         {@code false} if it might have been added before
+     */
+    boolean add(Object value) {
+        if (!isAllocated()) {
+            allocate();
+        }
+        final long hash = hash64(value);
+        final long hash1 = mix(hash);
+        // Second hash must be odd, so the probes do not repeat
+        final long hash2 = mix(hash + 0x9E3779B97F4A7C15L) | 1L;
+        boolean changed = false;
+        long combined = hash1;
+        for (int i = 0; i < hashFunctions; i++) {
+            changed |= setBit((combined & Long.MAX_VALUE) % bitSize);
+            combined += hash2;
+        }
+        return changed;
+    }
+
+    private boolean setBit(long index) {
+        final int wordIndex = (int) (index >>> 6);
+        final long mask = 1L << index;
+        if (words != null) {
+            final long word = words[wordIndex];
+            if ((word & mask) != 0) return false;
+            words[wordIndex] = word | mask;
+        } else {
+            final int offset = wordIndex * 8;
+            final long word = buffer.getLong(offset);
+            if ((word & mask) != 0) return false;
+            buffer.putLong(offset, word | mask);
+        }
+        return true;
+    }
+
+    /**
+     * Returns 64-bit hash of the element. Numbers and strings use all of their bits,
+     * other objects are limited by their 32-bit {@code hashCode}.
+     */
+    private static long hash64(Object value) {
+        if (value == null) return 0L;
+        if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof CharSequence) {
+            final CharSequence chars = (CharSequence) value;
+            // 64-bit FNV-1a
+            long hash = 0xCBF29CE484222325L;
+            for (int i = 0, length = chars.length(); i < length; i++) {
+                hash ^= chars.charAt(i);
+                hash *= 0x100000001B3L;
+            }
+            return hash;
+        }
+        return value.hashCode();
+    }
+
+    /**
+     * Finalization mix of MurmurHash3, which spreads every input bit over the result.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
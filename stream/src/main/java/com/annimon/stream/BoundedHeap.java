@@ -0,0 +1,120 @@
+package com.annimon.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps at most {@code capacity} smallest elements according to the comparator.
+ *
+ * <p>Elements are stored in the binary max-heap, so the largest of the retained elements
+ * is replaced in O(log k) time. Equal elements are ordered by the order of offering,
+ * so the result is the same as the first {@code k} elements of the stable sort.
+ *
+ * @param <T> the type of the elements
+ */
+final class BoundedHeap<T> {
+
+    private final int capacity;
+    private final Comparator<? super T> comparator;
+    private Object[] elements;
+    private long[] sequence;
+    private int size;
+    private long counter;
+
+    BoundedHeap(int capacity, Comparator<? super T> comparator) {
+        this.capacity = capacity;
+        this.comparator = comparator;
+        // Grows up to the capacity, so small inputs do not allocate the whole heap
+        final int initialCapacity = Math.min(capacity, 16);
+        this.elements = new Object[initialCapacity];
+        this.sequence = new long[initialCapacity];
+    }
+
+    void offer(T value) {
+        final long seq = counter++;
+        if (size < capacity) {
+            if (size == elements.length) {
+                final int newLength = (int) Math.min(capacity, 2L * size);
+                elements = Arrays.copyOf(elements, newLength);
+                sequence = Arrays.copyOf(sequence, newLength);
+            }
+            elements[size] = Iterators.retain(value);
+            sequence[size] = seq;
+            siftUp(size++);
+        } else if (capacity > 0 && compare(value, seq, 0) < 0) {
+            elements[0] = Iterators.retain(value);
+            sequence[0] = seq;
+            siftDown(0, size);
+        }
+    }
+
+    /**
+     * Merges the elements of the heap, which were offered after the elements of this heap.
+     */
+    void addAll(BoundedHeap<T> other) {
+        for (T value : other.toSortedList()) {
+            offer(value);
+        }
+    }
+
+    /**
+     * Returns retained elements in ascending order. The heap should not be used after.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> toSortedList() {
+        // In-place heap sort: the largest element is moved to the end
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        final List<T> result = new ArrayList<T>(size);
+        for (int i = 0; i < size; i++) {
+            result.add((T) elements[i]);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(T value, long seq, int index) {
+        final int result = comparator.compare(value, (T) elements[index]);
+        if (result != 0) return result;
+        return (seq < sequence[index]) ? -1 : ((seq == sequence[index]) ? 0 : 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(int i, int j) {
+        return compare((T) elements[i], sequence[i], j);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (compare(index, parent) <= 0) break;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int end) {
+        while (true) {
+            final int left = 2 * index + 1;
+            if (left >= end) break;
+            final int right = left + 1;
+            final int largest = (right < end && compare(right, left) > 0) ? right : left;
+            if (compare(largest, index) <= 0) break;
+            swap(index, largest);
+            index = largest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        final Object element = elements[i];
+        elements[i] = elements[j];
+        elements[j] = element;
+        final long seq = sequence[i];
+        sequence[i] = sequence[j];
+        sequence[j] = seq;
+    }
+}
@@ -0,0 +1,89 @@
+package com.annimon.stream;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Writes characters to the {@code Appendable} through the fixed-size buffer.
+ *
+ * <p>Characters are copied into the buffer and passed to the target only when the buffer is full,
+ * so the memory does not depend on the size of the output. Characters of {@code String}
+ * are copied in bulk, other {@code CharSequence}s (e.g. line views) are copied without
+ * converting them to strings. {@code IOException} is rethrown as {@code RuntimeException}.
+ */
+final class BufferedAppender {
+
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Appendable target;
+    private final char[] buffer;
+    private int size;
+
+    BufferedAppender(Appendable target, int bufferSize) {
+        if (bufferSize <= 0) throw new IllegalArgumentException("bufferSize must be positive");
+        this.target = target;
+        this.buffer = new char[bufferSize];
+    }
+
+    BufferedAppender append(CharSequence chars) {
+        if (chars == null) {
+            return append("null");
+        }
+        final int length = chars.length();
+        int start = 0;
+        while (start < length) {
+            if (size == buffer.length) {
+                flushBuffer();
+            }
+            final int end = Math.min(length, start + buffer.length - size);
+            if (chars instanceof String) {
+                ((String) chars).getChars(start, end, buffer, size);
+                size += end - start;
+            } else {
+                for (int i = start; i < end; i++) {
+                    buffer[size++] = chars.charAt(i);
+                }
+            }
+            start = end;
+        }
+        return this;
+    }
+
+    BufferedAppender append(Object value) {
+        if (value instanceof CharSequence) {
+            return append((CharSequence) value);
+        }
+        return append(String.valueOf(value));
+    }
+
+    /**
+     * Writes buffered characters and flushes the target, if it is {@code Flushable}.
+     * The target is not closed.
+     */
+    void flush() {
+        flushBuffer();
+        if (target instanceof Flushable) {
+            try {
+                ((Flushable) target).flush();
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    private void flushBuffer() {
+        if (size == 0) return;
+        try {
+            if (target instanceof Writer) {
+                ((Writer) target).write(buffer, 0, size);
+            } else {
+                target.append(CharBuffer.wrap(buffer, 0, size));
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.annimon.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Close handlers of the stream pipeline.
+ *
+ * <p>Handlers are run once in the order they were registered. If a handler throws an exception,
+ * the remaining handlers are still run, and the first exception is rethrown.
+ */
+final class CloseHandlers {
+
+    /**
+     * Returns the handler, which closes the given resources.
+     * {@code IOException} is rethrown as {@code RuntimeException}.
+     */
+    static Runnable closing(final Closeable... resources) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                final CloseHandlers handlers = new CloseHandlers();
+                for (final Closeable resource : resources) {
+                    handlers.add(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                resource.close();
+                            } catch (IOException ex) {
+                                throw new RuntimeException(ex);
+                            }
+                        }
+                    });
+                }
+                handlers.run();
+            }
+        };
+    }
+
+    private List<Runnable> handlers;
+
+    synchronized void add(Runnable handler) {
+        if (handlers == null) {
+            handlers = new ArrayList<Runnable>(2);
+        }
+        handlers.add(handler);
+    }
+
+    void run() {
+        final List<Runnable> current;
+        synchronized (this) {
+            current = handlers;
+            handlers = null;
+        }
+        if (current == null) return;
+        RuntimeException failure = null;
+        for (Runnable handler : current) {
+            try {
+                handler.run();
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                }
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
@@ -34,4 +34,29 @@ public interface Collector<T, A, R> {
      * @return {@code Function}
      */
     Function<A, R> finisher();
+
+    /**
+     * Properties of the {@code Collector}, which allow to optimize the collection.
+     * Reported by {@link CombinableCollector#characteristics()}.
+     */
+    enum Characteristics {
+
+        /**
+         * The accumulator can be called concurrently from multiple threads on the same container.
+         * If the collector is also {@link #UNORDERED}, parallel stream fills the single container
+         * instead of merging partial results.
+         */
+        CONCURRENT,
+
+        /**
+         * The result does not depend on the encounter order of the elements.
+         */
+        UNORDERED,
+
+        /**
+         * The finisher is the identity function and can be skipped,
+         * so the container is the result itself.
+         */
+        IDENTITY_FINISH
+    }
 }
\ No newline at end of file
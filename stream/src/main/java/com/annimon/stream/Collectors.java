@@ -4,13 +4,20 @@ import com.annimon.stream.function.BiConsumer;
 import com.annimon.stream.function.BinaryOperator;
 import com.annimon.stream.function.Function;
 import com.annimon.stream.function.Supplier;
+import com.annimon.stream.function.ToDoubleFunction;
+import com.annimon.stream.function.ToIntFunction;
+import com.annimon.stream.function.ToLongFunction;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Common implementations of {@code Collector} interface.
@@ -19,6 +26,21 @@ import java.util.Set;
  */
 public final class Collectors {
 
+    private static final Set<Collector.Characteristics> CH_NONE = Collections.emptySet();
+
+    private static final Set<Collector.Characteristics> CH_ID = Collections.unmodifiableSet(
+            EnumSet.of(Collector.Characteristics.IDENTITY_FINISH));
+
+    private static final Set<Collector.Characteristics> CH_UNORDERED_ID = Collections.unmodifiableSet(
+            EnumSet.of(Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH));
+
+    private static final Set<Collector.Characteristics> CH_CONCURRENT_ID = Collections.unmodifiableSet(
+            EnumSet.of(Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED,
+                    Collector.Characteristics.IDENTITY_FINISH));
+
+    private static final Set<Collector.Characteristics> CH_CONCURRENT_NOID = Collections.unmodifiableSet(
+            EnumSet.of(Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED));
+
     private Collectors() { }
     
     /**
@@ -39,7 +61,11 @@ public final class Collectors {
                     public void accept(R t, T u) {
                         t.add(u);
                     }
-                }
+                },
+                
+                Collectors.<R>addAllCombiner(),
+                
+                CH_ID
         );
     }
     
@@ -52,19 +78,18 @@ public final class Collectors {
     public static <T> Collector<T, ?, List<T>> toList() {
         return new CollectorsImpl<T, List<T>, List<T>>(
                 
-                new Supplier<List<T>>() {
-                    @Override
-                    public List<T> get() {
-                        return new ArrayList<T>();
-                    }
-                },
+                new ArrayListSupplier<T>(),
                 
                 new BiConsumer<List<T>, T>() {
                     @Override
                     public void accept(List<T> t, T u) {
                         t.add(u);
                     }
-                }
+                },
+                
+                Collectors.<List<T>>addAllCombiner(),
+                
+                CH_ID
         );
     }
     
@@ -89,7 +114,11 @@ public final class Collectors {
                     public void accept(Set<T> t, T u) {
                         t.add(u);
                     }
-                }
+                },
+                
+                Collectors.<Set<T>>addAllCombiner(),
+                
+                CH_UNORDERED_ID
         );
     }
     
@@ -142,7 +171,88 @@ public final class Collectors {
                             map.put(key, newValue);
                         }
                     }
-                }
+                },
+                
+                new BinaryOperator<M>() {
+                    @Override
+                    public M apply(M map1, M map2) {
+                        // First value wins, as in accumulator
+                        for (Map.Entry<K, V> entry : map2.entrySet()) {
+                            if (map1.get(entry.getKey()) == null) {
+                                map1.put(entry.getKey(), entry.getValue());
+                            }
+                        }
+                        return map1;
+                    }
+                },
+                
+                CH_ID
+        );
+    }
+    
+    /**
+     * Returns a concurrent {@code Collector} that fills new {@code ConcurrentMap} with input elements.
+     * 
+     * @param <T> the type of the input elements
+     * @param <K> the result type of key mapping function
+     * @param <V> the result type of value mapping function
+     * @param keyMapper  a mapping function to produce keys
+     * @param valueMapper  a mapping function to produce values
+     * @return a {@code Collector}
+     * @see #toConcurrentMap(com.annimon.stream.function.Function, com.annimon.stream.function.Function, com.annimon.stream.function.Supplier) 
+     */
+    public static <T, K, V> Collector<T, ?, ConcurrentMap<K, V>> toConcurrentMap(
+            final Function<? super T, ? extends K> keyMapper,
+            final Function<? super T, ? extends V> valueMapper) {
+        return toConcurrentMap(keyMapper, valueMapper, Collectors.<K, V>concurrentHashMapSupplier());
+    }
+    
+    /**
+     * Returns a concurrent {@code Collector} that fills new {@code ConcurrentMap} with input elements.
+     * 
+     * <p>The accumulator can be called from multiple threads on the same map.
+     * As in {@link #toMap(com.annimon.stream.function.Function, com.annimon.stream.function.Function)},
+     * the first value of the key wins, and {@code null} values are not added.
+     * 
+     * @param <T> the type of the input elements
+     * @param <K> the result type of key mapping function
+     * @param <V> the result type of value mapping function
+     * @param <M> the type of the resulting {@code ConcurrentMap}
+     * @param keyMapper  a mapping function to produce keys
+     * @param valueMapper  a mapping function to produce values
+     * @param mapFactory  a supplier function that provides new {@code ConcurrentMap}
+     * @return a {@code Collector}
+     */
+    public static <T, K, V, M extends ConcurrentMap<K, V>> Collector<T, ?, M> toConcurrentMap(
+            final Function<? super T, ? extends K> keyMapper,
+            final Function<? super T, ? extends V> valueMapper,
+            final Supplier<M> mapFactory) {
+        return new CollectorsImpl<T, M, M>(
+                
+                mapFactory,
+                
+                new BiConsumer<M, T>() {
+                    @Override
+                    public void accept(M map, T t) {
+                        final K key = keyMapper.apply(t);
+                        final V value = valueMapper.apply(t);
+                        if (value != null) {
+                            map.putIfAbsent(key, value);
+                        }
+                    }
+                },
+                
+                new BinaryOperator<M>() {
+                    @Override
+                    public M apply(M map1, M map2) {
+                        for (Map.Entry<K, V> entry : map2.entrySet()) {
+                            map1.putIfAbsent(entry.getKey(), entry.getValue());
+                        }
+                        return map1;
+                    }
+                },
+                
+                CH_CONCURRENT_ID
         );
     }
     
@@ -221,73 +331,511 @@ public final class Collectors {
                             return value.toString() + suffix;
                         }
                     }
-                }
+                },
+                
+                new BinaryOperator<StringBuilder>() {
+                    @Override
+                    public StringBuilder apply(StringBuilder t1, StringBuilder t2) {
+                        if (t2.length() == 0) return t1;
+                        if (t1.length() == 0) return t2;
+                        // Second builder starts with the prefix
+                        return t1.append(delimiter).append(t2, prefix.length(), t2.length());
+                    }
+                },
+                
+                CH_NONE
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that writes input elements to the {@code Appendable}.
+     *
+     * @param <A> the type of the {@code Appendable}
+     * @param appendable  the {@code Appendable} to write to, e.g. {@code Writer}
+     * @return a {@code Collector}
+     * @see #joiningTo(java.lang.Appendable, java.lang.CharSequence, java.lang.CharSequence, java.lang.CharSequence, int)
+     */
+    public static <A extends Appendable> Collector<CharSequence, ?, A> joiningTo(A appendable) {
+        return joiningTo(appendable, "");
+    }
+
+    /**
+     * Returns a {@code Collector} that writes input elements to the {@code Appendable}.
+     *
+     * @param <A> the type of the {@code Appendable}
+     * @param appendable  the {@code Appendable} to write to, e.g. {@code Writer}
+     * @param delimiter  the delimeter between each element
+     * @return a {@code Collector}
+     * @see #joiningTo(java.lang.Appendable, java.lang.CharSequence, java.lang.CharSequence, java.lang.CharSequence, int)
+     */
+    public static <A extends Appendable> Collector<CharSequence, ?, A> joiningTo(
+            A appendable, CharSequence delimiter) {
+        return joiningTo(appendable, delimiter, "", "");
+    }
+
+    /**
+     * Returns a {@code Collector} that writes input elements to the {@code Appendable}.
+     *
+     * @param <A> the type of the {@code Appendable}
+     * @param appendable  the {@code Appendable} to write to, e.g. {@code Writer}
+     * @param delimiter  the delimeter between each element
+     * @param prefix  the prefix of result
+     * @param suffix  the suffix of result
+     * @return a {@code Collector}
+     * @see #joiningTo(java.lang.Appendable, java.lang.CharSequence, java.lang.CharSequence, java.lang.CharSequence, int)
+     */
+    public static <A extends Appendable> Collector<CharSequence, ?, A> joiningTo(
+            A appendable, CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+        return joiningTo(appendable, delimiter, prefix, suffix, BufferedAppender.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a {@code Collector} that writes input elements to the {@code Appendable}.
+     *
+     * <p>Unlike {@link #joining(java.lang.CharSequence, java.lang.CharSequence, java.lang.CharSequence)},
+     * the text is not accumulated in memory: elements are copied into the buffer of
+     * {@code bufferSize} characters, which is written to the {@code appendable} when it is full.
+     * So the memory does not depend on the size of the output. When all elements are written,
+     * the rest of the buffer is written and the {@code appendable} is flushed,
+     * if it is {@code Flushable}, but not closed. For empty stream only prefix and suffix are written.
+     *
+     * <p>Elements are written in encounter order, parallel stream writes them in the calling thread.
+     * {@code IOException} is rethrown as {@code RuntimeException}.
+     *
+     * <p>Example:
+     * <pre>
+     * Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+     * try {
+     *     rows.map(toCsvLine).collect(Collectors.joiningTo(writer, "\n", HEADER + "\n", "\n", 65536));
+     * } finally {
+     *     writer.close();
+     * }
+     * </pre>
+     *
+     * @param <A> the type of the {@code Appendable}
+     * @param appendable  the {@code Appendable} to write to, e.g. {@code Writer}
+     * @param delimiter  the delimeter between each element
+     * @param prefix  the prefix of result
+     * @param suffix  the suffix of result
+     * @param bufferSize  the size of the buffer in characters
+     * @return a {@code Collector}, which returns the {@code appendable}
+     * @throws IllegalArgumentException if {@code bufferSize} is not positive
+     */
+    public static <A extends Appendable> Collector<CharSequence, ?, A> joiningTo(
+            final A appendable,
+            final CharSequence delimiter,
+            final CharSequence prefix,
+            final CharSequence suffix,
+            final int bufferSize) {
+        if (bufferSize <= 0) throw new IllegalArgumentException("bufferSize must be positive");
+        return new CollectorsImpl<CharSequence, Joiner, A>(
+
+                new Supplier<Joiner>() {
+                    @Override
+                    public Joiner get() {
+                        return new Joiner(new BufferedAppender(appendable, bufferSize));
+                    }
+                },
+
+                new BiConsumer<Joiner, CharSequence>() {
+                    @Override
+                    public void accept(Joiner t, CharSequence u) {
+                        t.out.append(t.started ? delimiter : prefix).append(u);
+                        t.started = true;
+                    }
+                },
+
+                new Function<Joiner, A>() {
+                    @Override
+                    public A apply(Joiner value) {
+                        if (!value.started) {
+                            value.out.append(prefix);
+                        }
+                        value.out.append(suffix).flush();
+                        return appendable;
+                    }
+                },
+
+                // Elements are written to the single target, so partial results cannot be merged
+                null,
+
+                CH_NONE
         );
     }
 
     /**
      * Returns a {@code Collector} that calculates average of input elements.
+     *
+     * <p>If there are no elements, the result is zero, as in {@link #averagingDouble(ToDoubleFunction)}
+     * and {@code java.util.stream.Collectors}. Earlier versions returned {@code NaN}.
      * 
      * @param <T> the type of the input elements
      * @param mapper  the mapping function which extracts value from element to calculate result
-     * @return a {@code Collector}
+     * @return a {@code Collector}, which returns zero if there are no elements
      */
     public static <T> Collector<T, ?, Double> averaging(final Function<? super T, Double> mapper) {
-        return new CollectorsImpl<T, Double[], Double>(
+        return new CollectorsImpl<T, double[], Double>(
                 
-                new Supplier<Double[]>() {
+                new Supplier<double[]>() {
                     @Override
-                    public Double[] get() {
-                        return new Double[] { 0d, 0d };
+                    public double[] get() {
+                        // sum, compensation, simple sum, count
+                        return new double[4];
                     }
                 },
                 
-                new BiConsumer<Double[], T>() {
+                new BiConsumer<double[], T>() {
                     @Override
-                    public void accept(Double[] t, T u) {
-                        t[0]++; // count
-                        t[1] += mapper.apply(u); // sum
+                    public void accept(double[] t, T u) {
+                        sumWithCompensation(t, mapper.apply(u));
+                        t[3]++;
                     }
                 },
                 
-                new Function<Double[], Double>() {
+                AVERAGING_DOUBLE_FINISHER,
+                
+                AVERAGING_DOUBLE_COMBINER,
+                
+                CH_NONE
+        );
+    }
+    
+    /**
+     * Returns a {@code Collector} that calculates average of integer-valued input elements.
+     * The sum is kept in {@code long}, so it does not overflow.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper  the mapping function which extracts value from element to calculate result
+     * @return a {@code Collector}, which returns zero if there are no elements
+     */
+    public static <T> Collector<T, ?, Double> averagingInt(final ToIntFunction<? super T> mapper) {
+        return new CollectorsImpl<T, long[], Double>(
+                
+                LONG_2_SUPPLIER,
+                
+                new BiConsumer<long[], T>() {
                     @Override
-                    public Double apply(Double[] t) {
-                        return t[1] / t[0];
+                    public void accept(long[] t, T u) {
+                        t[0] += mapper.applyAsInt(u);
+                        t[1]++;
                     }
-                }
+                },
+                
+                AVERAGING_FINISHER,
+                
+                LONG_2_COMBINER,
+                
+                CH_NONE
         );
     }
-    
+
     /**
-     * Returns a {@code Collector} that counts the number of input elements.
-     * 
+     * Returns a {@code Collector} that calculates average of long-valued input elements.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper  the mapping function which extracts value from element to calculate result
+     * @return a {@code Collector}, which returns zero if there are no elements
+     */
+    public static <T> Collector<T, ?, Double> averagingLong(final ToLongFunction<? super T> mapper) {
+        return new CollectorsImpl<T, long[], Double>(
+                
+                LONG_2_SUPPLIER,
+                
+                new BiConsumer<long[], T>() {
+                    @Override
+                    public void accept(long[] t, T u) {
+                        t[0] += mapper.applyAsLong(u);
+                        t[1]++;
+                    }
+                },
+                
+                AVERAGING_FINISHER,
+                
+                LONG_2_COMBINER,
+                
+                CH_NONE
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that calculates average of double-valued input elements.
+     * Compensated summation is used to reduce the rounding error.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper  the mapping function which extracts value from element to calculate result
+     * @return a {@code Collector}, which returns zero if there are no elements
+     */
+    public static <T> Collector<T, ?, Double> averagingDouble(final ToDoubleFunction<? super T> mapper) {
+        return new CollectorsImpl<T, double[], Double>(
+                
+                new Supplier<double[]>() {
+                    @Override
+                    public double[] get() {
+                        // sum, compensation, simple sum, count
+                        return new double[4];
+                    }
+                },
+                
+                new BiConsumer<double[], T>() {
+                    @Override
+                    public void accept(double[] t, T u) {
+                        sumWithCompensation(t, mapper.applyAsDouble(u));
+                        t[3]++;
+                    }
+                },
+                
+                AVERAGING_DOUBLE_FINISHER,
+                
+                AVERAGING_DOUBLE_COMBINER,
+                
+                CH_NONE
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that sums integer-valued input elements.
+     *
      * @param <T> the type of the input elements
+     * @param mapper  the mapping function which extracts value from element to calculate result
      * @return a {@code Collector}
      */
-    public static <T> Collector<T, ?, Long> counting() {
-        return new CollectorsImpl<T, Long[], Long>(
+    public static <T> Collector<T, ?, Integer> summingInt(final ToIntFunction<? super T> mapper) {
+        return new CollectorsImpl<T, int[], Integer>(
                 
-                new Supplier<Long[]>() {
+                new Supplier<int[]>() {
                     @Override
-                    public Long[] get() {
-                        return new Long[] { 0L };
+                    public int[] get() {
+                        return new int[1];
                     }
                 },
                 
-                new BiConsumer<Long[], T>() {
+                new BiConsumer<int[], T>() {
                     @Override
-                    public void accept(Long[] t, T u) {
-                        t[0]++;
+                    public void accept(int[] t, T u) {
+                        t[0] += mapper.applyAsInt(u);
                     }
                 },
                 
-                new Function<Long[], Long>() {
+                new Function<int[], Integer>() {
                     @Override
-                    public Long apply(Long[] value) {
+                    public Integer apply(int[] value) {
                         return value[0];
                     }
-                }
+                },
+                
+                new BinaryOperator<int[]>() {
+                    @Override
+                    public int[] apply(int[] t1, int[] t2) {
+                        t1[0] += t2[0];
+                        return t1;
+                    }
+                },
+                
+                CH_NONE
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that sums long-valued input elements.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper  the mapping function which extracts value from element to calculate result
+     * @return a {@code Collector}
+     */
+    public static <T> Collector<T, ?, Long> summingLong(final ToLongFunction<? super T> mapper) {
+        return new CollectorsImpl<T, long[], Long>(
+                
+                LONG_2_SUPPLIER,
+                
+                new BiConsumer<long[], T>() {
+                    @Override
+                    public void accept(long[] t, T u) {
+                        t[0] += mapper.applyAsLong(u);
+                    }
+                },
+                
+                LONG_FINISHER,
+                
+                LONG_2_COMBINER,
+                
+                CH_NONE
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that sums double-valued input elements.
+     * Compensated summation is used to reduce the rounding error.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper  the mapping function which extracts value from element to calculate result
+     * @return a {@code Collector}
+     */
+    public static <T> Collector<T, ?, Double> summingDouble(final ToDoubleFunction<? super T> mapper) {
+        return new CollectorsImpl<T, double[], Double>(
+                
+                new Supplier<double[]>() {
+                    @Override
+                    public double[] get() {
+                        // sum, compensation, simple sum
+                        return new double[3];
+                    }
+                },
+                
+                new BiConsumer<double[], T>() {
+                    @Override
+                    public void accept(double[] t, T u) {
+                        sumWithCompensation(t, mapper.applyAsDouble(u));
+                    }
+                },
+                
+                new Function<double[], Double>() {
+                    @Override
+                    public Double apply(double[] t) {
+                        return computeFinalSum(t);
+                    }
+                },
+                
+                SUMMING_DOUBLE_COMBINER,
+                
+                CH_NONE
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that calculates count, sum, min, max and average
+     * of integer-valued input elements.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper  the mapping function which extracts value from element to calculate result
+     * @return a {@code Collector}
+     */
+    public static <T> Collector<T, ?, IntSummaryStatistics> summarizingInt(final ToIntFunction<? super T> mapper) {
+        return new CollectorsImpl<T, IntSummaryStatistics, IntSummaryStatistics>(
+                
+                new Supplier<IntSummaryStatistics>() {
+                    @Override
+                    public IntSummaryStatistics get() {
+                        return new IntSummaryStatistics();
+                    }
+                },
+                
+                new BiConsumer<IntSummaryStatistics, T>() {
+                    @Override
+                    public void accept(IntSummaryStatistics statistics, T u) {
+                        statistics.accept(mapper.applyAsInt(u));
+                    }
+                },
+                
+                new BinaryOperator<IntSummaryStatistics>() {
+                    @Override
+                    public IntSummaryStatistics apply(IntSummaryStatistics statistics1, IntSummaryStatistics statistics2) {
+                        statistics1.combine(statistics2);
+                        return statistics1;
+                    }
+                },
+                
+                CH_ID
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that calculates count, sum, min, max and average
+     * of long-valued input elements.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper  the mapping function which extracts value from element to calculate result
+     * @return a {@code Collector}
+     */
+    public static <T> Collector<T, ?, LongSummaryStatistics> summarizingLong(final ToLongFunction<? super T> mapper) {
+        return new CollectorsImpl<T, LongSummaryStatistics, LongSummaryStatistics>(
+                
+                new Supplier<LongSummaryStatistics>() {
+                    @Override
+                    public LongSummaryStatistics get() {
+                        return new LongSummaryStatistics();
+                    }
+                },
+                
+                new BiConsumer<LongSummaryStatistics, T>() {
+                    @Override
+                    public void accept(LongSummaryStatistics statistics, T u) {
+                        statistics.accept(mapper.applyAsLong(u));
+                    }
+                },
+                
+                new BinaryOperator<LongSummaryStatistics>() {
+                    @Override
+                    public LongSummaryStatistics apply(LongSummaryStatistics statistics1, LongSummaryStatistics statistics2) {
+                        statistics1.combine(statistics2);
+                        return statistics1;
+                    }
+                },
+                
+                CH_ID
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that calculates count, sum, min, max and average
+     * of double-valued input elements.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper  the mapping function which extracts value from element to calculate result
+     * @return a {@code Collector}
+     */
+    public static <T> Collector<T, ?, DoubleSummaryStatistics> summarizingDouble(
+            final ToDoubleFunction<? super T> mapper) {
+        return new CollectorsImpl<T, DoubleSummaryStatistics, DoubleSummaryStatistics>(
+                
+                new Supplier<DoubleSummaryStatistics>() {
+                    @Override
+                    public DoubleSummaryStatistics get() {
+                        return new DoubleSummaryStatistics();
+                    }
+                },
+                
+                new BiConsumer<DoubleSummaryStatistics, T>() {
+                    @Override
+                    public void accept(DoubleSummaryStatistics statistics, T u) {
+                        statistics.accept(mapper.applyAsDouble(u));
+                    }
+                },
+                
+                new BinaryOperator<DoubleSummaryStatistics>() {
+                    @Override
+                    public DoubleSummaryStatistics apply(DoubleSummaryStatistics statistics1, DoubleSummaryStatistics statistics2) {
+                        statistics1.combine(statistics2);
+                        return statistics1;
+                    }
+                },
+                
+                CH_ID
+        );
+    }
+    
+    /**
+     * Returns a {@code Collector} that counts the number of input elements.
+     * 
+     * @param <T> the type of the input elements
+     * @return a {@code Collector}
+     */
+    public static <T> Collector<T, ?, Long> counting() {
+        return new CollectorsImpl<T, long[], Long>(
+                
+                LONG_2_SUPPLIER,
+                
+                new BiConsumer<long[], T>() {
+                    @Override
+                    public void accept(long[] t, T u) {
+                        t[0]++;
+                    }
+                },
+                
+                LONG_FINISHER,
+                
+                LONG_2_COMBINER,
+                
+                CH_NONE
         );
     }
     
@@ -322,7 +870,17 @@ public final class Collectors {
                     public T apply(Tuple1<T> tuple) {
                         return tuple.a;
                     }
-                }
+                },
+                
+                new BinaryOperator<Tuple1<T>>() {
+                    @Override
+                    public Tuple1<T> apply(Tuple1<T> tuple1, Tuple1<T> tuple2) {
+                        tuple1.a = op.apply(tuple1.a, tuple2.a);
+                        return tuple1;
+                    }
+                },
+                
+                CH_NONE
         );
     }
     
@@ -362,7 +920,17 @@ public final class Collectors {
                     public R apply(Tuple1<R> tuple) {
                         return tuple.a;
                     }
-                }
+                },
+                
+                new BinaryOperator<Tuple1<R>>() {
+                    @Override
+                    public Tuple1<R> apply(Tuple1<R> tuple1, Tuple1<R> tuple2) {
+                        tuple1.a = op.apply(tuple1.a, tuple2.a);
+                        return tuple1;
+                    }
+                },
+                
+                CH_NONE
         );
     }
     
@@ -393,7 +961,11 @@ public final class Collectors {
                     }
                 },
                 
-                downstream.finisher()
+                downstream.finisher(),
+                
+                Collectors.<A>combiner(downstream),
+                
+                characteristics(downstream)
         );
     }
     
@@ -414,8 +986,17 @@ public final class Collectors {
         if (downstreamFinisher == null) {
             downstreamFinisher = castIdentity();
         }
+        final Set<Collector.Characteristics> characteristics;
+        if (characteristics(c).contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            characteristics = EnumSet.noneOf(Collector.Characteristics.class);
+            characteristics.addAll(characteristics(c));
+            characteristics.remove(Collector.Characteristics.IDENTITY_FINISH);
+        } else {
+            characteristics = characteristics(c);
+        }
         return new CollectorsImpl<T, A, OR>(c.supplier(), c.accumulator(),
-                Function.Util.andThen(downstreamFinisher, finisher));
+                Function.Util.andThen(downstreamFinisher, finisher),
+                Collectors.<A>combiner(c), Collections.unmodifiableSet(characteristics));
     }
 
     /**
@@ -472,25 +1053,12 @@ public final class Collectors {
             final Supplier<M> mapFactory,
             final Collector<? super T, A, D> downstream) {
 
-        @SuppressWarnings("unchecked")
-        final Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
-        Function<Map<K, A>, M> finisher = null;
-        if (downstreamFinisher != null) {
-            finisher = new Function<Map<K, A>, M>() {
-                @Override
-                public M apply(Map<K, A> map) {
-                    // Update values of a map by a finisher function
-                    for (Map.Entry<K, A> entry : map.entrySet()) {
-                        A value = entry.getValue();
-                        value = downstreamFinisher.apply(value);
-                        entry.setValue(value);
-                    }
-                    @SuppressWarnings("unchecked")
-                    M castedMap = (M) map;
-                    return castedMap;
-                }
-            };
-        }
+        final Function<Map<K, A>, M> finisher = Collectors.<K, A, M>mapFinisher(downstream);
+
+        // Downstream functions are resolved once, not for each element
+        final Supplier<A> downstreamSupplier = downstream.supplier();
+        final BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        final BinaryOperator<Map<K, A>> combiner = Collectors.<K, A>mapMerger(downstream);
 
         @SuppressWarnings("unchecked")
         Supplier<Map<K, A>> castedMapFactory = (Supplier<Map<K, A>>) mapFactory;
@@ -505,18 +1073,188 @@ public final class Collectors {
                         A container = map.get(key);
                         if (container == null) {
                             // Put new container (list, map, set, etc)
-                            container = downstream.supplier().get();
+                            container = downstreamSupplier.get();
                             map.put(key, container);
                         }
                         // Add element to container
-                        downstream.accumulator().accept(container, t);
+                        downstreamAccumulator.accept(container, t);
                     }
                 },
                 
-                finisher
+                finisher,
+                
+                combiner,
+                
+                (finisher == null) ? CH_ID : CH_NONE
         );
     }
     
+    /**
+     * Returns a concurrent {@code Collector} that performs grouping operation by given classifier.
+     * 
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier  the classifier function 
+     * @return a {@code Collector}
+     * @see #groupingByConcurrent(com.annimon.stream.function.Function, com.annimon.stream.Collector) 
+     * @see #groupingByConcurrent(com.annimon.stream.function.Function, com.annimon.stream.function.Supplier, com.annimon.stream.Collector) 
+     */
+    public static <T, K> Collector<T, ?, ConcurrentMap<K, List<T>>> groupingByConcurrent(
+            Function<? super T, ? extends K> classifier) {
+        return groupingByConcurrent(classifier, Collectors.<T>toList());
+    }
+    
+    /**
+     * Returns a concurrent {@code Collector} that performs grouping operation by given classifier.
+     * 
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param <A> the accumulation type
+     * @param <D> the result type of downstream reduction
+     * @param classifier  the classifier function 
+     * @param downstream  the collector of mapped elements
+     * @return a {@code Collector}
+     * @see #groupingByConcurrent(com.annimon.stream.function.Function) 
+     * @see #groupingByConcurrent(com.annimon.stream.function.Function, com.annimon.stream.function.Supplier, com.annimon.stream.Collector) 
+     */
+    public static <T, K, A, D> Collector<T, ?, ConcurrentMap<K, D>> groupingByConcurrent(
+            Function<? super T, ? extends K> classifier,
+            Collector<? super T, A, D> downstream) {
+        return groupingByConcurrent(classifier, Collectors.<K, D>concurrentHashMapSupplier(), downstream);
+    }
+    
+    /**
+     * Returns a concurrent {@code Collector} that performs grouping operation by given classifier.
+     * 
+     * <p>The accumulator can be called from multiple threads on the same map.
+     * Containers of the new keys are added atomically by {@code putIfAbsent}.
+     * If the downstream collector is not {@code CONCURRENT}, elements are added
+     * to the container under its own lock, so only threads with the same key contend.
+     * 
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param <A> the accumulation type
+     * @param <D> the result type of downstream reduction
+     * @param <M> the type of the resulting {@code ConcurrentMap}
+     * @param classifier  the classifier function 
+     * @param mapFactory  a supplier function that provides new {@code ConcurrentMap}
+     * @param downstream  the collector of mapped elements
+     * @return a {@code Collector}
+     * @see #groupingByConcurrent(com.annimon.stream.function.Function) 
+     * @see #groupingByConcurrent(com.annimon.stream.function.Function, com.annimon.stream.Collector) 
+     */
+    public static <T, K, D, A, M extends ConcurrentMap<K, D>> Collector<T, ?, M> groupingByConcurrent(
+            final Function<? super T, ? extends K> classifier,
+            final Supplier<M> mapFactory,
+            final Collector<? super T, A, D> downstream) {
+
+        final Function<Map<K, A>, M> finisher = Collectors.<K, A, M>mapFinisher(downstream);
+
+        // Downstream functions are resolved once, not for each element
+        final Supplier<A> downstreamSupplier = downstream.supplier();
+        final BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        final BinaryOperator<Map<K, A>> combiner = Collectors.<K, A>mapMerger(downstream);
+        final boolean concurrentDownstream = characteristics(downstream)
+                .contains(Collector.Characteristics.CONCURRENT);
+
+        @SuppressWarnings("unchecked")
+        Supplier<Map<K, A>> castedMapFactory = (Supplier<Map<K, A>>) (Supplier<?>) mapFactory;
+        return new CollectorsImpl<T, Map<K, A>, M>(
+                castedMapFactory,
+                
+                new BiConsumer<Map<K, A>, T>() {
+                    @Override
+                    public void accept(Map<K, A> map, T t) {
+                        K key = Objects.requireNonNull(classifier.apply(t), "element cannot be mapped to a null key");
+                        A container = map.get(key);
+                        if (container == null) {
+                            // Another thread may put its container first
+                            final A newContainer = downstreamSupplier.get();
+                            container = ((ConcurrentMap<K, A>) map).putIfAbsent(key, newContainer);
+                            if (container == null) {
+                                container = newContainer;
+                            }
+                        }
+                        if (concurrentDownstream) {
+                            downstreamAccumulator.accept(container, t);
+                        } else {
+                            synchronized (container) {
+                                downstreamAccumulator.accept(container, t);
+                            }
+                        }
+                    }
+                },
+                
+                finisher,
+                
+                combiner,
+                
+                (finisher == null) ? CH_CONCURRENT_ID : CH_CONCURRENT_NOID
+        );
+    }
+
+    /**
+     * Returns the function, which applies downstream finisher to each value of a map,
+     * or {@code null} if the downstream collector has no finisher.
+     */
+    private static <K, A, M> Function<Map<K, A>, M> mapFinisher(Collector<?, A, ?> downstream) {
+        @SuppressWarnings("unchecked")
+        final Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
+        if (downstreamFinisher == null) {
+            return null;
+        }
+        return new Function<Map<K, A>, M>() {
+            @Override
+            public M apply(Map<K, A> map) {
+                // Update values of a map by a finisher function
+                for (Map.Entry<K, A> entry : map.entrySet()) {
+                    A value = entry.getValue();
+                    value = downstreamFinisher.apply(value);
+                    entry.setValue(value);
+                }
+                @SuppressWarnings("unchecked")
+                M castedMap = (M) map;
+                return castedMap;
+            }
+        };
+    }
+
+    /**
+     * Returns the function, which merges containers of the second map into the first one,
+     * or {@code null} if the downstream collector has no combiner.
+     */
+    private static <K, A> BinaryOperator<Map<K, A>> mapMerger(Collector<?, A, ?> downstream) {
+        final BinaryOperator<A> downstreamCombiner = Collectors.<A>combiner(downstream);
+        if (downstreamCombiner == null) {
+            return null;
+        }
+        return new BinaryOperator<Map<K, A>>() {
+            @Override
+            public Map<K, A> apply(Map<K, A> map1, Map<K, A> map2) {
+                for (Map.Entry<K, A> entry : map2.entrySet()) {
+                    final K key = entry.getKey();
+                    final A container = map1.get(key);
+                    if (container == null) {
+                        map1.put(key, entry.getValue());
+                    } else {
+                        map1.put(key, downstreamCombiner.apply(container, entry.getValue()));
+                    }
+                }
+                return map1;
+            }
+        };
+    }
+    
+    private static <K, V> Supplier<ConcurrentMap<K, V>> concurrentHashMapSupplier() {
+        return new Supplier<ConcurrentMap<K, V>>() {
+
+            @Override
+            public ConcurrentMap<K, V> get() {
+                return new ConcurrentHashMap<K, V>();
+            }
+        };
+    }
+    
     private static <K, V>  Supplier<Map<K, V>> hashMapSupplier() {
         return new Supplier<Map<K, V>>() {
 
@@ -527,17 +1265,187 @@ public final class Collectors {
         };
     }
     
+    /**
+     * Adds value to the compensated (Kahan) sum.
+     * Index 0 of {@code summation} holds the sum, index 1 the compensation
+     * for lost low-order bits, index 2 the simple sum used to recover infinities.
+     */
+    static void sumWithCompensation(double[] summation, double value) {
+        final double y = value - summation[1];
+        final double sum = summation[0];
+        final double t = sum + y;
+        summation[1] = (t - sum) - y;
+        summation[0] = t;
+        summation[2] += value;
+    }
+    
+    static double computeFinalSum(double[] summation) {
+        final double sum = summation[0] - summation[1];
+        final double simpleSum = summation[2];
+        if (Double.isNaN(sum) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return sum;
+    }
+    
+    /**
+     * Returns supplier of the container for the known number of elements.
+     * Only containers of {@link #toList()} are preallocated, other suppliers are returned as is.
+     */
     @SuppressWarnings("unchecked")
-    static <A, R> Function<A, R> castIdentity() {
-        return new Function<A, R>() {
-            
+    static <A> Supplier<A> sizedSupplier(Supplier<A> supplier, long exactSize) {
+        if (!(supplier instanceof ArrayListSupplier)
+                || exactSize < 0 || exactSize >= Stream.MAX_ARRAY_SIZE) {
+            return supplier;
+        }
+        final int initialCapacity = (int) exactSize;
+        return new Supplier<A>() {
             @Override
-            public R apply(A value) {
-                return (R) value;
+            public A get() {
+                return (A) new ArrayList<Object>(initialCapacity);
             }
         };
     }
+
+    @SuppressWarnings("unchecked")
+    static <A, R> Function<A, R> castIdentity() {
+        return (Function<A, R>) CAST_IDENTITY;
+    }
+
+    private static final Function<Object, Object> CAST_IDENTITY = new Function<Object, Object>() {
+
+        @Override
+        public Object apply(Object value) {
+            return value;
+        }
+    };
     
+    // Holder of the long sum (or count) and the count of elements
+    private static final Supplier<long[]> LONG_2_SUPPLIER = new Supplier<long[]>() {
+
+        @Override
+        public long[] get() {
+            return new long[2];
+        }
+    };
+
+    private static final Function<long[], Long> LONG_FINISHER = new Function<long[], Long>() {
+
+        @Override
+        public Long apply(long[] value) {
+            return value[0];
+        }
+    };
+
+    private static final Function<long[], Double> AVERAGING_FINISHER = new Function<long[], Double>() {
+
+        @Override
+        public Double apply(long[] value) {
+            return (value[1] == 0) ? 0d : (double) value[0] / value[1];
+        }
+    };
+
+    /**
+     * Returns combiner of the collector, or {@code null} if it is not a {@link CombinableCollector}.
+     */
+    @SuppressWarnings("unchecked")
+    static <A> BinaryOperator<A> combiner(Collector<?, A, ?> collector) {
+        if (collector instanceof CombinableCollector) {
+            return ((CombinableCollector<?, A, ?>) collector).combiner();
+        }
+        return null;
+    }
+
+    /**
+     * Returns characteristics of the collector. Collector, which is not a {@link CombinableCollector},
+     * has only {@code IDENTITY_FINISH} characteristic if its finisher is {@code null}.
+     */
+    static Set<Collector.Characteristics> characteristics(Collector<?, ?, ?> collector) {
+        if (collector instanceof CombinableCollector) {
+            return ((CombinableCollector<?, ?, ?>) collector).characteristics();
+        }
+        return (collector.finisher() == null) ? CH_ID : CH_NONE;
+    }
+
+    /**
+     * Adds compensated sum of {@code summation2} to {@code summation1}.
+     */
+    static void combineCompensated(double[] summation1, double[] summation2) {
+        final double simpleSum = summation1[2] + summation2[2];
+        sumWithCompensation(summation1, summation2[0]);
+        sumWithCompensation(summation1, -summation2[1]);
+        summation1[2] = simpleSum;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C extends Collection<?>> BinaryOperator<C> addAllCombiner() {
+        return (BinaryOperator<C>) ADD_ALL_COMBINER;
+    }
+
+    private static final BinaryOperator<Collection<Object>> ADD_ALL_COMBINER = new BinaryOperator<Collection<Object>>() {
+
+        @Override
+        public Collection<Object> apply(Collection<Object> collection1, Collection<Object> collection2) {
+            collection1.addAll(collection2);
+            return collection1;
+        }
+    };
+
+    private static final BinaryOperator<long[]> LONG_2_COMBINER = new BinaryOperator<long[]>() {
+
+        @Override
+        public long[] apply(long[] value1, long[] value2) {
+            value1[0] += value2[0];
+            value1[1] += value2[1];
+            return value1;
+        }
+    };
+
+    private static final BinaryOperator<double[]> SUMMING_DOUBLE_COMBINER = new BinaryOperator<double[]>() {
+
+        @Override
+        public double[] apply(double[] value1, double[] value2) {
+            combineCompensated(value1, value2);
+            return value1;
+        }
+    };
+
+    private static final BinaryOperator<double[]> AVERAGING_DOUBLE_COMBINER = new BinaryOperator<double[]>() {
+
+        @Override
+        public double[] apply(double[] value1, double[] value2) {
+            combineCompensated(value1, value2);
+            value1[3] += value2[3];
+            return value1;
+        }
+    };
+
+    private static final Function<double[], Double> AVERAGING_DOUBLE_FINISHER = new Function<double[], Double>() {
+
+        @Override
+        public Double apply(double[] value) {
+            return (value[3] == 0) ? 0d : computeFinalSum(value) / value[3];
+        }
+    };
+
+    private static final class ArrayListSupplier<T> implements Supplier<List<T>> {
+
+        @Override
+        public List<T> get() {
+            return new ArrayList<T>();
+        }
+    }
+
+    private static final class Joiner {
+
+        final BufferedAppender out;
+        boolean started;
+
+        Joiner(BufferedAppender out) {
+            this.out = out;
+        }
+    }
+
     private static final class Tuple1<A> {
         A a;
         
@@ -546,20 +1454,26 @@ public final class Collectors {
         }
     }
     
-    private static final class CollectorsImpl<T, A, R> implements Collector<T, A, R> {
+    private static final class CollectorsImpl<T, A, R> implements CombinableCollector<T, A, R> {
         
         private final Supplier<A> suppiler;
         private final BiConsumer<A, T> accumulator;
         private final Function<A, R> finisher;
+        private final BinaryOperator<A> combiner;
+        private final Set<Collector.Characteristics> characteristics;
 
-        public CollectorsImpl(Supplier<A> suppiler, BiConsumer<A, T> accumulator) {
-            this(suppiler, accumulator, null);
+        public CollectorsImpl(Supplier<A> suppiler, BiConsumer<A, T> accumulator,
+                              BinaryOperator<A> combiner, Set<Collector.Characteristics> characteristics) {
+            this(suppiler, accumulator, null, combiner, characteristics);
         }
         
-        public CollectorsImpl(Supplier<A> suppiler, BiConsumer<A, T> accumulator, Function<A, R> finisher) {
+        public CollectorsImpl(Supplier<A> suppiler, BiConsumer<A, T> accumulator, Function<A, R> finisher,
+                              BinaryOperator<A> combiner, Set<Collector.Characteristics> characteristics) {
             this.suppiler = suppiler;
             this.accumulator = accumulator;
             this.finisher = finisher;
+            this.combiner = combiner;
+            this.characteristics = characteristics;
         }
         
         @Override
@@ -576,6 +1490,16 @@ public final class Collectors {
         public Function<A, R> finisher() {
             return finisher;
         }
+
+        @Override
+        public BinaryOperator<A> combiner() {
+            return combiner;
+        }
+
+        @Override
+        public Set<Collector.Characteristics> characteristics() {
+            return characteristics;
+        }
         
     }
 }
@@ -0,0 +1,36 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.BinaryOperator;
+import java.util.Set;
+
+/**
+ * The {@code Collector}, which partial results can be merged, with the hints for the stream.
+ *
+ * <p>It is separate from the {@link Collector} interface, so existing implementations of
+ * {@code Collector} remain compatible on Java 6 and 7, where interfaces cannot have default methods.
+ * Streams check for this interface and treat other collectors as not combinable,
+ * with {@code IDENTITY_FINISH} characteristic if their finisher is {@code null}.
+ * All collectors from {@link Collectors} implement it.
+ *
+ * @param <T> the type of input elements to the reduction operation
+ * @param <A> the mutable accumulation type of the reduction operation
+ * @param <R> the result type of the reduction operation
+ * @see Stream#collect(com.annimon.stream.Collector)
+ */
+public interface CombinableCollector<T, A, R> extends Collector<T, A, R> {
+
+    /**
+     * Function merges two partial results. It may return the first container
+     * with the second one folded into it, or the new container.
+     *
+     * @return {@code BinaryOperator}, or {@code null} if partial results cannot be merged
+     */
+    BinaryOperator<A> combiner();
+
+    /**
+     * Returns properties of this collector.
+     *
+     * @return the immutable set of {@code Characteristics}
+     */
+    Set<Collector.Characteristics> characteristics();
+}
@@ -0,0 +1,570 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.DoubleBinaryOperator;
+import com.annimon.stream.function.DoubleConsumer;
+import com.annimon.stream.function.DoubleFunction;
+import com.annimon.stream.function.DoublePredicate;
+import com.annimon.stream.function.DoubleSupplier;
+import com.annimon.stream.function.DoubleUnaryOperator;
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of primitive {@code double} elements supporting aggregate operations.
+ * Unlike {@code Stream<Double>}, elements are never boxed.
+ *
+ * @see Stream
+ */
+public final class DoubleStream implements Closeable {
+
+    /**
+     * Returns an empty stream.
+     *
+     * @return the new empty stream
+     */
+    public static DoubleStream empty() {
+        return of(new double[0]);
+    }
+
+    /**
+     * Creates a {@code DoubleStream} from {@code PrimitiveIterator.OfDouble}.
+     *
+     * @param iterator  the iterator with elements to be passed to stream
+     * @return the new stream
+     */
+    public static DoubleStream of(PrimitiveIterator.OfDouble iterator) {
+        return new DoubleStream(iterator);
+    }
+
+    /**
+     * Creates a {@code DoubleStream} from the specified values.
+     *
+     * @param values  the elements to be passed to stream
+     * @return the new stream
+     */
+    public static DoubleStream of(final double... values) {
+        return new DoubleStream(new PrimitiveIterator.OfDouble() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < values.length;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (index >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                return values[index++];
+            }
+        });
+    }
+
+    /**
+     * Creates a {@code DoubleStream} by elements that generated by {@code DoubleSupplier}.
+     *
+     * @param supplier  the {@code DoubleSupplier} of generated elements
+     * @return the new stream
+     */
+    public static DoubleStream generate(final DoubleSupplier supplier) {
+        return new DoubleStream(new PrimitiveIterator.OfDouble() {
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public double nextDouble() {
+                return supplier.getAsDouble();
+            }
+        });
+    }
+
+    /**
+     * Creates a {@code DoubleStream} by applying {@code DoubleUnaryOperator} operation to an initial element {@code seed}.
+     *
+     * @param seed  the initial value
+     * @param op  operator to produce new element by previous one
+     * @return the new stream
+     */
+    public static DoubleStream iterate(final double seed, final DoubleUnaryOperator op) {
+        return new DoubleStream(new PrimitiveIterator.OfDouble() {
+
+            private boolean firstRun = true;
+            private double current;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (firstRun) {
+                    firstRun = false;
+                    current = seed;
+                } else {
+                    current = op.applyAsDouble(current);
+                }
+                return current;
+            }
+        });
+    }
+
+
+//<editor-fold defaultstate="collapsed" desc="Implementation">
+    private final PrimitiveIterator.OfDouble iterator;
+    // Shared by all streams of the pipeline
+    private final CloseHandlers closeHandlers;
+
+    DoubleStream(PrimitiveIterator.OfDouble iterator) {
+        this(iterator, new CloseHandlers());
+    }
+
+    DoubleStream(PrimitiveIterator.OfDouble iterator, CloseHandlers closeHandlers) {
+        this.iterator = iterator;
+        this.closeHandlers = closeHandlers;
+    }
+
+    /**
+     * Returns internal stream iterator.
+     *
+     * @return internal stream iterator
+     */
+    public PrimitiveIterator.OfDouble getIterator() {
+        return iterator;
+    }
+
+    /**
+     * Returns an equivalent stream with the additional close handler.
+     *
+     * <p>Handlers are shared by all streams of the pipeline, including the {@code Stream},
+     * which this stream was mapped from, so {@link #close()} of any of them runs all handlers.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param closeHandler  the handler to run when the stream is closed
+     * @return the stream with the close handler
+     * @throws NullPointerException if {@code closeHandler} is null
+     * @see #close()
+     */
+    public DoubleStream onClose(Runnable closeHandler) {
+        Objects.requireNonNull(closeHandler);
+        closeHandlers.add(closeHandler);
+        return this;
+    }
+
+    /**
+     * Runs close handlers of the stream pipeline, e.g. unmaps the file of
+     * {@link Stream#ofLines(java.io.File, java.nio.charset.Charset)}, which this stream was mapped from.
+     *
+     * @see #onClose(java.lang.Runnable)
+     * @see Stream#close()
+     */
+    @Override
+    public void close() {
+        closeHandlers.run();
+    }
+
+    /**
+     * Returns {@code Stream} with boxed elements.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @return the new {@code Stream<Double>}
+     */
+    public Stream<Double> boxed() {
+        return Stream.of(iterator, closeHandlers);
+    }
+
+    /**
+     * Returns {@code DoubleStream} with elements that satisfy the given predicate.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param predicate  the predicate used to filter elements
+     * @return the new stream
+     */
+    public DoubleStream filter(final DoublePredicate predicate) {
+        return new DoubleStream(new PrimitiveExtIterator.OfDouble() {
+
+            @Override
+            protected void nextIteration() {
+                while (iterator.hasNext()) {
+                    next = iterator.nextDouble();
+                    if (predicate.test(next)) {
+                        hasNext = true;
+                        return;
+                    }
+                }
+                hasNext = false;
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code DoubleStream} with elements that obtained by applying the given function.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param mapper  the mapper function used to apply to each element
+     * @return the new stream
+     */
+    public DoubleStream map(final DoubleUnaryOperator mapper) {
+        return new DoubleStream(new PrimitiveIterator.OfDouble() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return mapper.applyAsDouble(iterator.nextDouble());
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code Stream} with elements that obtained by applying the given function.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param <R> the type of elements in resulting stream
+     * @param mapper  the mapper function used to apply to each element
+     * @return the new {@code Stream}
+     */
+    public <R> Stream<R> mapToObj(final DoubleFunction<? extends R> mapper) {
+        return Stream.of(new LsaIterator<R>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public R nextIteration() {
+                return mapper.apply(iterator.nextDouble());
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Perform provided action to each elements.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param action  the action to be performed on each element
+     * @return the new stream
+     */
+    public DoubleStream peek(final DoubleConsumer action) {
+        return new DoubleStream(new PrimitiveIterator.OfDouble() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                final double value = iterator.nextDouble();
+                action.accept(value);
+                return value;
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code DoubleStream} with first {@code maxSize} elements.
+     *
+     * <p>This is a short-circuiting stateful intermediate operation.
+     *
+     * @param maxSize  the number of elements to limit
+     * @return the new stream
+     */
+    public DoubleStream limit(final long maxSize) {
+        return new DoubleStream(new PrimitiveIterator.OfDouble() {
+
+            private long index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return (index < maxSize) && iterator.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                index++;
+                return iterator.nextDouble();
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Skips first {@code n} elements and returns {@code DoubleStream} with remaining elements.
+     *
+     * <p>This is a stateful intermediate operation.
+     *
+     * @param n  the number of elements to skip
+     * @return the new stream
+     */
+    public DoubleStream skip(final long n) {
+        return new DoubleStream(new PrimitiveIterator.OfDouble() {
+
+            private long skippedCount;
+
+            @Override
+            public boolean hasNext() {
+                while (skippedCount < n) {
+                    if (!iterator.hasNext()) return false;
+                    iterator.nextDouble();
+                    skippedCount++;
+                }
+                return iterator.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return iterator.nextDouble();
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Performs the given action to each element.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param action  the action to be performed on each element
+     */
+    public void forEach(DoubleConsumer action) {
+        while (iterator.hasNext()) {
+            action.accept(iterator.nextDouble());
+        }
+    }
+
+    /**
+     * Reduces the elements using provided identity value and the associative accumulation function.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param identity  the initial value
+     * @param accumulator  the accumulation function
+     * @return the result of the reduction
+     */
+    public double reduce(double identity, DoubleBinaryOperator accumulator) {
+        double result = identity;
+        while (iterator.hasNext()) {
+            result = accumulator.applyAsDouble(result, iterator.nextDouble());
+        }
+        return result;
+    }
+
+    /**
+     * Reduces the elements using provided associative accumulation function.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param accumulator  the accumulation function
+     * @return the result of the reduction
+     */
+    public OptionalDouble reduce(DoubleBinaryOperator accumulator) {
+        if (!iterator.hasNext()) {
+            return OptionalDouble.empty();
+        }
+        double result = iterator.nextDouble();
+        while (iterator.hasNext()) {
+            result = accumulator.applyAsDouble(result, iterator.nextDouble());
+        }
+        return OptionalDouble.of(result);
+    }
+
+    /**
+     * Collects elements to an {@code double[]} array.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the array with stream elements
+     */
+    public double[] toArray() {
+        double[] array = new double[16];
+        int size = 0;
+        while (iterator.hasNext()) {
+            if (size == array.length) {
+                if (size >= Stream.MAX_ARRAY_SIZE) throw new IllegalArgumentException(Stream.BAD_SIZE);
+                array = Arrays.copyOf(array, (int) Math.min(Stream.MAX_ARRAY_SIZE, size * 2L));
+            }
+            array[size++] = iterator.nextDouble();
+        }
+        return (size == array.length) ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Returns the sum of elements.
+     * Uses compensated (Kahan) summation to reduce numerical error.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the sum of elements
+     */
+    public double sum() {
+        final double[] summation = new double[3];
+        while (iterator.hasNext()) {
+            Collectors.sumWithCompensation(summation, iterator.nextDouble());
+        }
+        return Collectors.computeFinalSum(summation);
+    }
+
+    /**
+     * Returns the average of elements.
+     * Uses compensated (Kahan) summation to reduce numerical error.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return an {@code OptionalDouble} with the average of elements or {@code OptionalDouble.empty()} if stream is empty
+     */
+    public OptionalDouble average() {
+        final double[] summation = new double[3];
+        long count = 0;
+        while (iterator.hasNext()) {
+            Collectors.sumWithCompensation(summation, iterator.nextDouble());
+            count++;
+        }
+        if (count == 0) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(Collectors.computeFinalSum(summation) / count);
+    }
+
+    /**
+     * Returns the count, sum, min, max and average of elements.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the {@code DoubleSummaryStatistics} of elements
+     */
+    public DoubleSummaryStatistics summaryStatistics() {
+        final DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        while (iterator.hasNext()) {
+            statistics.accept(iterator.nextDouble());
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the minimum element.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return an {@code OptionalDouble} with the minimum element or {@code OptionalDouble.empty()} if stream is empty
+     */
+    public OptionalDouble min() {
+        if (!iterator.hasNext()) {
+            return OptionalDouble.empty();
+        }
+        double min = iterator.nextDouble();
+        while (iterator.hasNext()) {
+            final double value = iterator.nextDouble();
+            min = Math.min(min, value);
+        }
+        return OptionalDouble.of(min);
+    }
+
+    /**
+     * Returns the maximum element.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return an {@code OptionalDouble} with the maximum element or {@code OptionalDouble.empty()} if stream is empty
+     */
+    public OptionalDouble max() {
+        if (!iterator.hasNext()) {
+            return OptionalDouble.empty();
+        }
+        double max = iterator.nextDouble();
+        while (iterator.hasNext()) {
+            final double value = iterator.nextDouble();
+            max = Math.max(max, value);
+        }
+        return OptionalDouble.of(max);
+    }
+
+    /**
+     * Counts the number of elements in this stream.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the count of elements
+     */
+    public long count() {
+        long count = 0;
+        while (iterator.hasNext()) {
+            iterator.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Tests whether any elements match the given predicate.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @param predicate  the predicate used to match elements
+     * @return {@code true} if any elements match the given predicate, otherwise {@code false}
+     */
+    public boolean anyMatch(DoublePredicate predicate) {
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.nextDouble()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether all elements match the given predicate.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @param predicate  the predicate used to match elements
+     * @return {@code true} if all elements match the given predicate, otherwise {@code false}
+     */
+    public boolean allMatch(DoublePredicate predicate) {
+        while (iterator.hasNext()) {
+            if (!predicate.test(iterator.nextDouble()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether no elements match the given predicate.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @param predicate  the predicate used to match elements
+     * @return {@code true} if no elements match the given predicate, otherwise {@code false}
+     */
+    public boolean noneMatch(DoublePredicate predicate) {
+        return !anyMatch(predicate);
+    }
+
+    /**
+     * Returns the first element wrapped by {@code OptionalDouble} class.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @return an {@code OptionalDouble} with first element or {@code OptionalDouble.empty()} if stream is empty
+     */
+    public OptionalDouble findFirst() {
+        if (iterator.hasNext()) {
+            return OptionalDouble.of(iterator.nextDouble());
+        }
+        return OptionalDouble.empty();
+    }
+//</editor-fold>
+}
@@ -0,0 +1,98 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.DoubleConsumer;
+
+/**
+ * State object for collecting statistics such as count, min, max, sum and average
+ * of {@code double} values. The sum is calculated with compensated (Kahan) summation.
+ *
+ * @see DoubleStream#summaryStatistics()
+ */
+public class DoubleSummaryStatistics implements DoubleConsumer {
+
+    private long count;
+    private final double[] summation = new double[3];
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Records a new value into the summary information.
+     *
+     * @param value  the input value
+     */
+    @Override
+    public void accept(double value) {
+        ++count;
+        Collectors.sumWithCompensation(summation, value);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Combines the state of another {@code DoubleSummaryStatistics} into this one.
+     *
+     * @param other  another {@code DoubleSummaryStatistics}
+     * @throws NullPointerException if {@code other} is null
+     */
+    public void combine(DoubleSummaryStatistics other) {
+        count += other.count;
+        Collectors.combineCompensated(summation, other.summation);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the count of values recorded.
+     *
+     * @return the count of values
+     */
+    public final long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of values recorded, or zero if no values have been recorded.
+     *
+     * @return the sum of values
+     */
+    public final double getSum() {
+        return Collectors.computeFinalSum(summation);
+    }
+
+    /**
+     * Returns the minimum value recorded, {@code Double.NaN} if any recorded value was NaN,
+     * or {@code Double.POSITIVE_INFINITY} if no values have been recorded.
+     *
+     * @return the minimum value
+     */
+    public final double getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the maximum value recorded, {@code Double.NaN} if any recorded value was NaN,
+     * or {@code Double.NEGATIVE_INFINITY} if no values have been recorded.
+     *
+     * @return the maximum value
+     */
+    public final double getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean of values recorded, or zero if no values have been recorded.
+     *
+     * @return the arithmetic mean of values
+     */
+    public final double getAverage() {
+        return getCount() > 0 ? getSum() / getCount() : 0.0d;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s{count=%d, sum=%f, min=%f, average=%f, max=%f}",
+            getClass().getSimpleName(),
+            getCount(), getSum(), getMin(), getAverage(), getMax());
+    }
+}
@@ -0,0 +1,291 @@
+package com.annimon.stream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Stage of {@code sortedExternal} operation.
+ *
+ * <p>Elements are collected into runs of at most {@code runSize} elements. Each full run is sorted
+ * and written to the temporary file through the buffered file channel. The last run stays in memory.
+ * Sorted runs are merged lazily: the heads of the runs are kept in the priority queue,
+ * so each element is emitted in O(log k) time for k runs and only one buffer per run is in memory.
+ * Equal elements keep the encounter order, as runs are merged in the order they were written.
+ *
+ * <p>At most {@code mergeWidth} files are read at once. If there are more runs, adjacent runs
+ * are merged into the larger ones by intermediate passes, so the number of open files
+ * and read buffers does not depend on the size of the input.
+ *
+ * <p>Temporary file is deleted when its run is merged. Files of the not fully consumed stream
+ * are deleted by {@link #close()}.
+ *
+ * @param <T> the type of the elements
+ */
+final class ExternalSortIterator<T> extends LsaExtIterator<T> implements Closeable {
+
+    static final int MERGE_WIDTH = 16;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String PREFIX = "lsa-sort";
+    private static final String SUFFIX = ".run";
+
+    private final Iterator<? extends T> upstream;
+    private final Comparator<? super T> comparator;
+    private final Serializer<T> serializer;
+    private final int runSize;
+    private final int mergeWidth;
+    private final File directory;
+    // Runs, which files are not deleted yet
+    private final List<FileRun<T>> files = new ArrayList<FileRun<T>>();
+    private Iterator<T> merged;
+
+    /**
+     * @param directory  the directory of temporary files, or {@code null} for the default temporary directory
+     */
+    ExternalSortIterator(Iterator<? extends T> upstream, Comparator<? super T> comparator,
+                         Serializer<T> serializer, int runSize, File directory) {
+        this(upstream, comparator, serializer, runSize, MERGE_WIDTH, directory);
+    }
+
+    ExternalSortIterator(Iterator<? extends T> upstream, Comparator<? super T> comparator,
+                         Serializer<T> serializer, int runSize, int mergeWidth, File directory) {
+        this.upstream = upstream;
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.runSize = runSize;
+        this.mergeWidth = mergeWidth;
+        this.directory = directory;
+    }
+
+    @Override
+    protected void nextIteration() {
+        if (!isInit) {
+            merged = sort();
+        }
+        hasNext = merged.hasNext();
+        if (hasNext) {
+            next = merged.next();
+        }
+    }
+
+    @Override
+    long exactSize(boolean elementsSkipped) {
+        // Comparator may fail on elements, so they cannot be skipped
+        if (isInit || elementsSkipped) return Iterators.UNKNOWN_SIZE;
+        return Iterators.exactSize(upstream, false);
+    }
+
+    /**
+     * Closes and deletes temporary files of the runs, which are not merged yet.
+     */
+    @Override
+    public void close() {
+        for (FileRun<T> run : files) {
+            run.delete();
+        }
+        files.clear();
+        merged = Collections.<T>emptyList().iterator();
+        isInit = true;
+        hasNext = false;
+        next = null;
+    }
+
+    private Iterator<T> sort() {
+        final List<Iterator<T>> runs = new ArrayList<Iterator<T>>();
+        final List<T> run = new ArrayList<T>(Math.min(runSize, BUFFER_SIZE));
+        try {
+            Iterators.forEachRemaining(upstream, new Sink<T>() {
+                @Override
+                void accept(T value) {
+                    run.add(Iterators.retain(value));
+                    if (run.size() == runSize) {
+                        Collections.sort(run, comparator);
+                        runs.add(spill(run.iterator(), run.size()));
+                        run.clear();
+                    }
+                }
+            });
+            Collections.sort(run, comparator);
+            if (runs.isEmpty()) {
+                // Input fits into memory, no files are needed
+                return run.iterator();
+            }
+            while (runs.size() > mergeWidth) {
+                mergePass(runs);
+            }
+        } catch (RuntimeException ex) {
+            close();
+            throw ex;
+        }
+        if (!run.isEmpty()) {
+            runs.add(run.iterator());
+        }
+        return new MergeIterator<T>(runs, comparator);
+    }
+
+    /**
+     * Replaces each group of {@code mergeWidth} adjacent runs by the run of their merged elements.
+     */
+    private void mergePass(List<Iterator<T>> runs) {
+        final List<Iterator<T>> result = new ArrayList<Iterator<T>>();
+        for (int from = 0; from < runs.size(); from += mergeWidth) {
+            final List<Iterator<T>> group = runs.subList(from, Math.min(runs.size(), from + mergeWidth));
+            if (group.size() == 1) {
+                result.add(group.get(0));
+                continue;
+            }
+            long size = 0;
+            for (Iterator<T> run : group) {
+                size += ((FileRun<T>) run).remaining;
+            }
+            // Merged runs delete their files when they are read
+            result.add(spill(new MergeIterator<T>(group, comparator), size));
+        }
+        runs.clear();
+        runs.addAll(result);
+    }
+
+    private Iterator<T> spill(Iterator<T> sortedRun, long size) {
+        try {
+            final File file = File.createTempFile(PREFIX, SUFFIX, directory);
+            final FileRun<T> run = new FileRun<T>(file, size, serializer, files);
+            files.add(run);
+            final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(new FileOutputStream(file).getChannel()), BUFFER_SIZE));
+            try {
+                while (sortedRun.hasNext()) {
+                    serializer.write(output, sortedRun.next());
+                }
+            } finally {
+                output.close();
+            }
+            return run;
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Sorted run, which is read from the temporary file.
+     */
+    private static final class FileRun<T> extends LsaIterator<T> {
+
+        private final File file;
+        private final Serializer<T> serializer;
+        private final List<FileRun<T>> files;
+        private long remaining;
+        private DataInputStream input;
+
+        FileRun(File file, long size, Serializer<T> serializer, List<FileRun<T>> files) {
+            this.file = file;
+            this.remaining = size;
+            this.serializer = serializer;
+            this.files = files;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public T nextIteration() {
+            try {
+                if (input == null) {
+                    input = new DataInputStream(new BufferedInputStream(
+                            Channels.newInputStream(new FileInputStream(file).getChannel()), BUFFER_SIZE));
+                }
+                final T value = serializer.read(input);
+                if (--remaining == 0) {
+                    delete();
+                    files.remove(this);
+                }
+                return value;
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        void delete() {
+            remaining = 0;
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (IOException ignored) {
+                    // File is deleted anyway
+                }
+                input = null;
+            }
+            file.delete();
+        }
+    }
+
+    /**
+     * Lazy k-way merge of sorted runs.
+     */
+    static final class MergeIterator<T> extends LsaIterator<T> {
+
+        private final PriorityQueue<Head<T>> heads;
+
+        MergeIterator(List<? extends Iterator<T>> runs, final Comparator<? super T> comparator) {
+            heads = new PriorityQueue<Head<T>>(Math.max(1, runs.size()), new Comparator<Head<T>>() {
+                @Override
+                public int compare(Head<T> head1, Head<T> head2) {
+                    final int result = comparator.compare(head1.value, head2.value);
+                    if (result != 0) return result;
+                    // Earlier run holds earlier elements
+                    return (head1.index < head2.index) ? -1 : ((head1.index == head2.index) ? 0 : 1);
+                }
+            });
+            for (int i = 0; i < runs.size(); i++) {
+                final Iterator<T> run = runs.get(i);
+                if (run.hasNext()) {
+                    heads.add(new Head<T>(i, run));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T nextIteration() {
+            final Head<T> head = heads.poll();
+            final T value = head.value;
+            if (head.run.hasNext()) {
+                head.value = head.run.next();
+                heads.add(head);
+            }
+            return value;
+        }
+    }
+
+    private static final class Head<T> {
+
+        final int index;
+        final Iterator<T> run;
+        T value;
+
+        Head(int index, Iterator<T> run) {
+            this.index = index;
+            this.run = run;
+            this.value = run.next();
+        }
+    }
+}
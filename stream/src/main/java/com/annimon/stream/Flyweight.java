@@ -0,0 +1,27 @@
+package com.annimon.stream;
+
+/**
+ * Element, which is reused by the stream source for the next elements.
+ *
+ * <p>Sources like {@link Stream#ofRecords(java.nio.ByteBuffer, int)} emit the same instance
+ * for each element and only move it to the next position, so the elements are not allocated.
+ * The value is valid until the next element is requested. Stages, which retain elements
+ * ({@code sorted}, {@code distinct}, {@code groupBy}, {@code chunkBy}, {@code slidingWindow}
+ * and others), store the {@link #copy()} of the flyweight instead of the instance itself.
+ * Terminal operations pass the instance to the user functions as is, so it should be copied
+ * before it is stored, for example by {@code map}.
+ *
+ * <p>This is a class rather than an interface: every element is checked for it,
+ * and a failed {@code instanceof} of an interface is slow on older VMs.
+ *
+ * @param <T> the type of the copy, which should be the element type of the stream
+ */
+public abstract class Flyweight<T> {
+
+    /**
+     * Returns the detached copy of the current value, which is not changed by the source.
+     *
+     * @return the copy of the current value
+     */
+    public abstract T copy();
+}
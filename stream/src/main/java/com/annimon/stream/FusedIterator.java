@@ -0,0 +1,156 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.Consumer;
+import com.annimon.stream.function.Function;
+import com.annimon.stream.function.Predicate;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Single stage for the sequence of adjacent {@code map}, {@code filter} and {@code peek} operations.
+ *
+ * <p>Instead of the chain of iterators, where each one calls {@code hasNext} and {@code next}
+ * of the previous one, all functions are applied to the source element in one loop.
+ * Operation appended to the iterator, which is not started yet, is fused into it.
+ *
+ * @param <T> the type of the resulting elements
+ */
+final class FusedIterator<T> extends LsaIterator<T> {
+
+    private static final int MAP = 0;
+    private static final int FILTER = 1;
+    private static final int PEEK = 2;
+
+    private static final Object FILTERED = new Object();
+
+    static <T, R> Iterator<R> map(Iterator<? extends T> iterator, Function<? super T, ? extends R> mapper) {
+        return append(iterator, MAP, mapper);
+    }
+
+    static <T> Iterator<T> filter(Iterator<? extends T> iterator, Predicate<? super T> predicate) {
+        return append(iterator, FILTER, predicate);
+    }
+
+    static <T> Iterator<T> peek(Iterator<? extends T> iterator, Consumer<? super T> action) {
+        return append(iterator, PEEK, action);
+    }
+
+    private static <R> Iterator<R> append(Iterator<?> iterator, int kind, Object operation) {
+        if (iterator instanceof FusedIterator) {
+            final FusedIterator<?> fused = (FusedIterator<?>) iterator;
+            if (!fused.started) {
+                final int length = fused.kinds.length;
+                final int[] kinds = Arrays.copyOf(fused.kinds, length + 1);
+                final Object[] operations = Arrays.copyOf(fused.operations, length + 1);
+                kinds[length] = kind;
+                operations[length] = operation;
+                return new FusedIterator<R>(fused.source, kinds, operations);
+            }
+        }
+        return new FusedIterator<R>(iterator, new int[] { kind }, new Object[] { operation });
+    }
+
+    private final Iterator<?> source;
+    private final int[] kinds;
+    private final Object[] operations;
+    private final boolean hasFilter;
+
+    private boolean started;
+    private boolean ready;
+    private Object next;
+
+    private FusedIterator(Iterator<?> source, int[] kinds, Object[] operations) {
+        this.source = source;
+        this.kinds = kinds;
+        this.operations = operations;
+        boolean hasFilter = false;
+        for (int kind : kinds) {
+            hasFilter |= (kind == FILTER);
+        }
+        this.hasFilter = hasFilter;
+    }
+
+    @Override
+    public boolean hasNext() {
+        started = true;
+        if (!hasFilter) {
+            // Elements are not skipped, so there is no need to look ahead
+            return source.hasNext();
+        }
+        if (ready) return true;
+        while (source.hasNext()) {
+            final Object value = apply(source.next());
+            if (value != FILTERED) {
+                next = value;
+                ready = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T nextIteration() {
+        if (!hasFilter) {
+            return (T) apply(source.next());
+        }
+        final Object result = next;
+        next = null;
+        ready = false;
+        return (T) result;
+    }
+
+    @Override
+    long exactSize(boolean elementsSkipped) {
+        if (hasFilter) return Iterators.UNKNOWN_SIZE;
+        // Functions must be applied to each element
+        if (elementsSkipped) return Iterators.UNKNOWN_SIZE;
+        return Iterators.exactSize(source, false);
+    }
+
+    @Override
+    void forEachRemaining(final Sink<? super T> sink) {
+        if (ready) {
+            super.forEachRemaining(sink);
+            return;
+        }
+        started = true;
+        Iterators.forEachRemaining(source, new Sink<Object>(sink) {
+            @SuppressWarnings("unchecked")
+            @Override
+            void accept(Object value) {
+                final Object result = apply(value);
+                if (result != FILTERED) {
+                    sink.accept((T) result);
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies fused operations to the source element.
+     *
+     * @return the resulting element, or {@code FILTERED} if element was rejected by filter
+     */
+    @SuppressWarnings("unchecked")
+    private Object apply(Object value) {
+        final int length = kinds.length;
+        for (int i = 0; i < length; i++) {
+            switch (kinds[i]) {
+                case MAP:
+                    value = ((Function<Object, Object>) operations[i]).apply(value);
+                    break;
+                case FILTER:
+                    if (!((Predicate<Object>) operations[i]).test(value)) {
+                        return FILTERED;
+                    }
+                    break;
+                case PEEK:
+                    ((Consumer<Object>) operations[i]).accept(value);
+                    break;
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,609 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.IntBinaryOperator;
+import com.annimon.stream.function.IntConsumer;
+import com.annimon.stream.function.IntFunction;
+import com.annimon.stream.function.IntPredicate;
+import com.annimon.stream.function.IntSupplier;
+import com.annimon.stream.function.IntUnaryOperator;
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of primitive {@code int} elements supporting aggregate operations.
+ * Unlike {@code Stream<Integer>}, elements are never boxed.
+ *
+ * @see Stream
+ */
+public final class IntStream implements Closeable {
+
+    /**
+     * Returns an empty stream.
+     *
+     * @return the new empty stream
+     */
+    public static IntStream empty() {
+        return of(new int[0]);
+    }
+
+    /**
+     * Creates an {@code IntStream} from {@code PrimitiveIterator.OfInt}.
+     *
+     * @param iterator  the iterator with elements to be passed to stream
+     * @return the new stream
+     */
+    public static IntStream of(PrimitiveIterator.OfInt iterator) {
+        return new IntStream(iterator);
+    }
+
+    /**
+     * Creates an {@code IntStream} from the specified values.
+     *
+     * @param values  the elements to be passed to stream
+     * @return the new stream
+     */
+    public static IntStream of(final int... values) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < values.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                return values[index++];
+            }
+        });
+    }
+
+    /**
+     * Creates an {@code IntStream} from not closed range
+     * (from {@code from} inclusive to {@code to} exclusive and incremental step {@code 1}).
+     *
+     * @param from  the initial value (inclusive)
+     * @param to  the upper bound (exclusive)
+     * @return the new stream
+     */
+    public static IntStream range(final int from, final int to) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
+
+            private int index = from;
+
+            @Override
+            public boolean hasNext() {
+                return index < to;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= to) {
+                    throw new NoSuchElementException();
+                }
+                return index++;
+            }
+        });
+    }
+
+    /**
+     * Creates an {@code IntStream} from closed range
+     * (from {@code from} inclusive to {@code to} inclusive and incremental step {@code 1}).
+     *
+     * @param from  the initial value (inclusive)
+     * @param to  the upper bound (inclusive)
+     * @return the new stream
+     */
+    public static IntStream rangeClosed(final int from, final int to) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
+
+            private int index = from;
+            private boolean hasNext = (index <= to);
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                if (index >= to) {
+                    hasNext = false;
+                    return to;
+                }
+                return index++;
+            }
+        });
+    }
+
+    /**
+     * Creates an {@code IntStream} by elements that generated by {@code IntSupplier}.
+     *
+     * @param supplier  the {@code IntSupplier} of generated elements
+     * @return the new stream
+     */
+    public static IntStream generate(final IntSupplier supplier) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                return supplier.getAsInt();
+            }
+        });
+    }
+
+    /**
+     * Creates an {@code IntStream} by applying {@code IntUnaryOperator} operation to an initial element {@code seed}.
+     *
+     * @param seed  the initial value
+     * @param op  operator to produce new element by previous one
+     * @return the new stream
+     */
+    public static IntStream iterate(final int seed, final IntUnaryOperator op) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
+
+            private boolean firstRun = true;
+            private int current;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                if (firstRun) {
+                    firstRun = false;
+                    current = seed;
+                } else {
+                    current = op.applyAsInt(current);
+                }
+                return current;
+            }
+        });
+    }
+
+
+//<editor-fold defaultstate="collapsed" desc="Implementation">
+    private final PrimitiveIterator.OfInt iterator;
+    // Shared by all streams of the pipeline
+    private final CloseHandlers closeHandlers;
+
+    IntStream(PrimitiveIterator.OfInt iterator) {
+        this(iterator, new CloseHandlers());
+    }
+
+    IntStream(PrimitiveIterator.OfInt iterator, CloseHandlers closeHandlers) {
+        this.iterator = iterator;
+        this.closeHandlers = closeHandlers;
+    }
+
+    /**
+     * Returns internal stream iterator.
+     *
+     * @return internal stream iterator
+     */
+    public PrimitiveIterator.OfInt getIterator() {
+        return iterator;
+    }
+
+    /**
+     * Returns an equivalent stream with the additional close handler.
+     *
+     * <p>Handlers are shared by all streams of the pipeline, including the {@code Stream},
+     * which this stream was mapped from, so {@link #close()} of any of them runs all handlers.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param closeHandler  the handler to run when the stream is closed
+     * @return the stream with the close handler
+     * @throws NullPointerException if {@code closeHandler} is null
+     * @see #close()
+     */
+    public IntStream onClose(Runnable closeHandler) {
+        Objects.requireNonNull(closeHandler);
+        closeHandlers.add(closeHandler);
+        return this;
+    }
+
+    /**
+     * Runs close handlers of the stream pipeline, e.g. unmaps the file of
+     * {@link Stream#ofLines(java.io.File, java.nio.charset.Charset)}, which this stream was mapped from.
+     *
+     * @see #onClose(java.lang.Runnable)
+     * @see Stream#close()
+     */
+    @Override
+    public void close() {
+        closeHandlers.run();
+    }
+
+    /**
+     * Returns {@code Stream} with boxed elements.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @return the new {@code Stream<Integer>}
+     */
+    public Stream<Integer> boxed() {
+        return Stream.of(iterator, closeHandlers);
+    }
+
+    /**
+     * Returns {@code IntStream} with elements that satisfy the given predicate.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param predicate  the predicate used to filter elements
+     * @return the new stream
+     */
+    public IntStream filter(final IntPredicate predicate) {
+        return new IntStream(new PrimitiveExtIterator.OfInt() {
+
+            @Override
+            protected void nextIteration() {
+                while (iterator.hasNext()) {
+                    next = iterator.nextInt();
+                    if (predicate.test(next)) {
+                        hasNext = true;
+                        return;
+                    }
+                }
+                hasNext = false;
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code IntStream} with elements that obtained by applying the given function.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param mapper  the mapper function used to apply to each element
+     * @return the new stream
+     */
+    public IntStream map(final IntUnaryOperator mapper) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                return mapper.applyAsInt(iterator.nextInt());
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code Stream} with elements that obtained by applying the given function.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param <R> the type of elements in resulting stream
+     * @param mapper  the mapper function used to apply to each element
+     * @return the new {@code Stream}
+     */
+    public <R> Stream<R> mapToObj(final IntFunction<? extends R> mapper) {
+        return Stream.of(new LsaIterator<R>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public R nextIteration() {
+                return mapper.apply(iterator.nextInt());
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Perform provided action to each elements.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param action  the action to be performed on each element
+     * @return the new stream
+     */
+    public IntStream peek(final IntConsumer action) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                final int value = iterator.nextInt();
+                action.accept(value);
+                return value;
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code IntStream} with first {@code maxSize} elements.
+     *
+     * <p>This is a short-circuiting stateful intermediate operation.
+     *
+     * @param maxSize  the number of elements to limit
+     * @return the new stream
+     */
+    public IntStream limit(final long maxSize) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
+
+            private long index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return (index < maxSize) && iterator.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                index++;
+                return iterator.nextInt();
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Skips first {@code n} elements and returns {@code IntStream} with remaining elements.
+     *
+     * <p>This is a stateful intermediate operation.
+     *
+     * @param n  the number of elements to skip
+     * @return the new stream
+     */
+    public IntStream skip(final long n) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
+
+            private long skippedCount;
+
+            @Override
+            public boolean hasNext() {
+                while (skippedCount < n) {
+                    if (!iterator.hasNext()) return false;
+                    iterator.nextInt();
+                    skippedCount++;
+                }
+                return iterator.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                return iterator.nextInt();
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Performs the given action to each element.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param action  the action to be performed on each element
+     */
+    public void forEach(IntConsumer action) {
+        while (iterator.hasNext()) {
+            action.accept(iterator.nextInt());
+        }
+    }
+
+    /**
+     * Reduces the elements using provided identity value and the associative accumulation function.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param identity  the initial value
+     * @param accumulator  the accumulation function
+     * @return the result of the reduction
+     */
+    public int reduce(int identity, IntBinaryOperator accumulator) {
+        int result = identity;
+        while (iterator.hasNext()) {
+            result = accumulator.applyAsInt(result, iterator.nextInt());
+        }
+        return result;
+    }
+
+    /**
+     * Reduces the elements using provided associative accumulation function.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param accumulator  the accumulation function
+     * @return the result of the reduction
+     */
+    public OptionalInt reduce(IntBinaryOperator accumulator) {
+        if (!iterator.hasNext()) {
+            return OptionalInt.empty();
+        }
+        int result = iterator.nextInt();
+        while (iterator.hasNext()) {
+            result = accumulator.applyAsInt(result, iterator.nextInt());
+        }
+        return OptionalInt.of(result);
+    }
+
+    /**
+     * Collects elements to an {@code int[]} array.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the array with stream elements
+     */
+    public int[] toArray() {
+        int[] array = new int[16];
+        int size = 0;
+        while (iterator.hasNext()) {
+            if (size == array.length) {
+                if (size >= Stream.MAX_ARRAY_SIZE) throw new IllegalArgumentException(Stream.BAD_SIZE);
+                array = Arrays.copyOf(array, (int) Math.min(Stream.MAX_ARRAY_SIZE, size * 2L));
+            }
+            array[size++] = iterator.nextInt();
+        }
+        return (size == array.length) ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Returns the sum of elements.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the sum of elements
+     */
+    public int sum() {
+        int sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.nextInt();
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the count, sum, min, max and average of elements.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the {@code IntSummaryStatistics} of elements
+     */
+    public IntSummaryStatistics summaryStatistics() {
+        final IntSummaryStatistics statistics = new IntSummaryStatistics();
+        while (iterator.hasNext()) {
+            statistics.accept(iterator.nextInt());
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the minimum element.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return an {@code OptionalInt} with the minimum element or {@code OptionalInt.empty()} if stream is empty
+     */
+    public OptionalInt min() {
+        if (!iterator.hasNext()) {
+            return OptionalInt.empty();
+        }
+        int min = iterator.nextInt();
+        while (iterator.hasNext()) {
+            final int value = iterator.nextInt();
+            if (value < min) min = value;
+        }
+        return OptionalInt.of(min);
+    }
+
+    /**
+     * Returns the maximum element.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return an {@code OptionalInt} with the maximum element or {@code OptionalInt.empty()} if stream is empty
+     */
+    public OptionalInt max() {
+        if (!iterator.hasNext()) {
+            return OptionalInt.empty();
+        }
+        int max = iterator.nextInt();
+        while (iterator.hasNext()) {
+            final int value = iterator.nextInt();
+            if (value > max) max = value;
+        }
+        return OptionalInt.of(max);
+    }
+
+    /**
+     * Counts the number of elements in this stream.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the count of elements
+     */
+    public long count() {
+        long count = 0;
+        while (iterator.hasNext()) {
+            iterator.nextInt();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Tests whether any elements match the given predicate.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @param predicate  the predicate used to match elements
+     * @return {@code true} if any elements match the given predicate, otherwise {@code false}
+     */
+    public boolean anyMatch(IntPredicate predicate) {
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.nextInt()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether all elements match the given predicate.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @param predicate  the predicate used to match elements
+     * @return {@code true} if all elements match the given predicate, otherwise {@code false}
+     */
+    public boolean allMatch(IntPredicate predicate) {
+        while (iterator.hasNext()) {
+            if (!predicate.test(iterator.nextInt()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether no elements match the given predicate.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @param predicate  the predicate used to match elements
+     * @return {@code true} if no elements match the given predicate, otherwise {@code false}
+     */
+    public boolean noneMatch(IntPredicate predicate) {
+        return !anyMatch(predicate);
+    }
+
+    /**
+     * Returns the first element wrapped by {@code OptionalInt} class.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @return an {@code OptionalInt} with first element or {@code OptionalInt.empty()} if stream is empty
+     */
+    public OptionalInt findFirst() {
+        if (iterator.hasNext()) {
+            return OptionalInt.of(iterator.nextInt());
+        }
+        return OptionalInt.empty();
+    }
+//</editor-fold>
+}
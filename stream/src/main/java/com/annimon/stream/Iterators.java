@@ -0,0 +1,80 @@
+package com.annimon.stream;
+
+import java.util.Iterator;
+
+/**
+ * Helper methods for internal stream iterators.
+ */
+final class Iterators {
+
+    static final long UNKNOWN_SIZE = -1;
+
+    private Iterators() { }
+
+    /**
+     * Returns the exact number of remaining elements of the iterator without traversing it.
+     *
+     * <p>Size is known for sized sources (arrays, collections, ranges) and is propagated through
+     * the stages which do not change the number of elements.
+     *
+     * @param iterator  the iterator
+     * @param elementsSkipped  {@code true} if the elements will not be traversed at all (for example
+     *        the size is the result of {@code count}), so the stages, which call user functions
+     *        on elements, must report the size as unknown
+     * @return the number of remaining elements, or {@code -1} if it is unknown
+     */
+    static long exactSize(Iterator<?> iterator, boolean elementsSkipped) {
+        if (iterator instanceof LsaIterator) {
+            return ((LsaIterator<?>) iterator).exactSize(elementsSkipped);
+        }
+        if (iterator instanceof LsaExtIterator) {
+            return ((LsaExtIterator<?>) iterator).exactSize(elementsSkipped);
+        }
+        if (iterator instanceof LazyIterator) {
+            return ((LazyIterator<?>) iterator).exactSize();
+        }
+        return UNKNOWN_SIZE;
+    }
+
+    /**
+     * Pushes remaining elements of the iterator to the sink until the sink is cancelled.
+     *
+     * <p>Stages of the stream forward elements to the next stage directly,
+     * so there is no {@code hasNext}/{@code next} pair per element and stage.
+     * Iterator must not be used after this call.
+     *
+     * @param <T> the type of the elements
+     * @param iterator  the iterator
+     * @param sink  the sink to push elements to
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void forEachRemaining(Iterator<? extends T> iterator, Sink<? super T> sink) {
+        if (iterator instanceof LsaIterator) {
+            ((LsaIterator<T>) iterator).forEachRemaining(sink);
+        } else if (iterator instanceof LsaExtIterator) {
+            ((LsaExtIterator<T>) iterator).forEachRemaining(sink);
+        } else {
+            while (!sink.isCancelled() && iterator.hasNext()) {
+                sink.accept(iterator.next());
+            }
+        }
+    }
+
+    /**
+     * Returns the value, which can be retained after the next element is requested.
+     *
+     * <p>The {@link Flyweight} is reused by the source, so its copy is returned.
+     * Other values are returned as is.
+     *
+     * @param <T> the type of the value
+     * @param value  the value to retain
+     * @return the value or its copy
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T retain(T value) {
+        if (value instanceof Flyweight) {
+            return (T) ((Flyweight<?>) value).copy();
+        }
+        return value;
+    }
+}
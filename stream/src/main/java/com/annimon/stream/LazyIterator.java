@@ -1,10 +1,12 @@
 package com.annimon.stream;
 
+import java.util.Collection;
 import java.util.Iterator;
 
 class LazyIterator<T> implements Iterator<T> {
     private final Iterable<? extends T> iterable;
     private Iterator<? extends T> iterator;
+    private long consumed;
 
     public LazyIterator(Iterable<? extends T> iterable) {
         this.iterable = iterable;
@@ -27,12 +29,22 @@ class LazyIterator<T> implements Iterator<T> {
     @Override
     public T next() {
         ensureIterator();
-        return iterator.next();
+        final T result = iterator.next();
+        consumed++;
+        return result;
     }
 
     @Override
     public void remove() {
         ensureIterator();
         iterator.remove();
+        consumed--;
+    }
+
+    long exactSize() {
+        if (iterable instanceof Collection) {
+            return ((Collection<?>) iterable).size() - consumed;
+        }
+        return Iterators.UNKNOWN_SIZE;
     }
 }
@@ -0,0 +1,609 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.LongBinaryOperator;
+import com.annimon.stream.function.LongConsumer;
+import com.annimon.stream.function.LongFunction;
+import com.annimon.stream.function.LongPredicate;
+import com.annimon.stream.function.LongSupplier;
+import com.annimon.stream.function.LongUnaryOperator;
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of primitive {@code long} elements supporting aggregate operations.
+ * Unlike {@code Stream<Long>}, elements are never boxed.
+ *
+ * @see Stream
+ */
+public final class LongStream implements Closeable {
+
+    /**
+     * Returns an empty stream.
+     *
+     * @return the new empty stream
+     */
+    public static LongStream empty() {
+        return of(new long[0]);
+    }
+
+    /**
+     * Creates a {@code LongStream} from {@code PrimitiveIterator.OfLong}.
+     *
+     * @param iterator  the iterator with elements to be passed to stream
+     * @return the new stream
+     */
+    public static LongStream of(PrimitiveIterator.OfLong iterator) {
+        return new LongStream(iterator);
+    }
+
+    /**
+     * Creates a {@code LongStream} from the specified values.
+     *
+     * @param values  the elements to be passed to stream
+     * @return the new stream
+     */
+    public static LongStream of(final long... values) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < values.length;
+            }
+
+            @Override
+            public long nextLong() {
+                if (index >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                return values[index++];
+            }
+        });
+    }
+
+    /**
+     * Creates a {@code LongStream} from not closed range
+     * (from {@code from} inclusive to {@code to} exclusive and incremental step {@code 1}).
+     *
+     * @param from  the initial value (inclusive)
+     * @param to  the upper bound (exclusive)
+     * @return the new stream
+     */
+    public static LongStream range(final long from, final long to) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            private long index = from;
+
+            @Override
+            public boolean hasNext() {
+                return index < to;
+            }
+
+            @Override
+            public long nextLong() {
+                if (index >= to) {
+                    throw new NoSuchElementException();
+                }
+                return index++;
+            }
+        });
+    }
+
+    /**
+     * Creates a {@code LongStream} from closed range
+     * (from {@code from} inclusive to {@code to} inclusive and incremental step {@code 1}).
+     *
+     * @param from  the initial value (inclusive)
+     * @param to  the upper bound (inclusive)
+     * @return the new stream
+     */
+    public static LongStream rangeClosed(final long from, final long to) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            private long index = from;
+            private boolean hasNext = (index <= to);
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                if (index >= to) {
+                    hasNext = false;
+                    return to;
+                }
+                return index++;
+            }
+        });
+    }
+
+    /**
+     * Creates a {@code LongStream} by elements that generated by {@code LongSupplier}.
+     *
+     * @param supplier  the {@code LongSupplier} of generated elements
+     * @return the new stream
+     */
+    public static LongStream generate(final LongSupplier supplier) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public long nextLong() {
+                return supplier.getAsLong();
+            }
+        });
+    }
+
+    /**
+     * Creates a {@code LongStream} by applying {@code LongUnaryOperator} operation to an initial element {@code seed}.
+     *
+     * @param seed  the initial value
+     * @param op  operator to produce new element by previous one
+     * @return the new stream
+     */
+    public static LongStream iterate(final long seed, final LongUnaryOperator op) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            private boolean firstRun = true;
+            private long current;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public long nextLong() {
+                if (firstRun) {
+                    firstRun = false;
+                    current = seed;
+                } else {
+                    current = op.applyAsLong(current);
+                }
+                return current;
+            }
+        });
+    }
+
+
+//<editor-fold defaultstate="collapsed" desc="Implementation">
+    private final PrimitiveIterator.OfLong iterator;
+    // Shared by all streams of the pipeline
+    private final CloseHandlers closeHandlers;
+
+    LongStream(PrimitiveIterator.OfLong iterator) {
+        this(iterator, new CloseHandlers());
+    }
+
+    LongStream(PrimitiveIterator.OfLong iterator, CloseHandlers closeHandlers) {
+        this.iterator = iterator;
+        this.closeHandlers = closeHandlers;
+    }
+
+    /**
+     * Returns internal stream iterator.
+     *
+     * @return internal stream iterator
+     */
+    public PrimitiveIterator.OfLong getIterator() {
+        return iterator;
+    }
+
+    /**
+     * Returns an equivalent stream with the additional close handler.
+     *
+     * <p>Handlers are shared by all streams of the pipeline, including the {@code Stream},
+     * which this stream was mapped from, so {@link #close()} of any of them runs all handlers.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param closeHandler  the handler to run when the stream is closed
+     * @return the stream with the close handler
+     * @throws NullPointerException if {@code closeHandler} is null
+     * @see #close()
+     */
+    public LongStream onClose(Runnable closeHandler) {
+        Objects.requireNonNull(closeHandler);
+        closeHandlers.add(closeHandler);
+        return this;
+    }
+
+    /**
+     * Runs close handlers of the stream pipeline, e.g. unmaps the file of
+     * {@link Stream#ofLines(java.io.File, java.nio.charset.Charset)}, which this stream was mapped from.
+     *
+     * @see #onClose(java.lang.Runnable)
+     * @see Stream#close()
+     */
+    @Override
+    public void close() {
+        closeHandlers.run();
+    }
+
+    /**
+     * Returns {@code Stream} with boxed elements.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @return the new {@code Stream<Long>}
+     */
+    public Stream<Long> boxed() {
+        return Stream.of(iterator, closeHandlers);
+    }
+
+    /**
+     * Returns {@code LongStream} with elements that satisfy the given predicate.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param predicate  the predicate used to filter elements
+     * @return the new stream
+     */
+    public LongStream filter(final LongPredicate predicate) {
+        return new LongStream(new PrimitiveExtIterator.OfLong() {
+
+            @Override
+            protected void nextIteration() {
+                while (iterator.hasNext()) {
+                    next = iterator.nextLong();
+                    if (predicate.test(next)) {
+                        hasNext = true;
+                        return;
+                    }
+                }
+                hasNext = false;
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code LongStream} with elements that obtained by applying the given function.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param mapper  the mapper function used to apply to each element
+     * @return the new stream
+     */
+    public LongStream map(final LongUnaryOperator mapper) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return mapper.applyAsLong(iterator.nextLong());
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code Stream} with elements that obtained by applying the given function.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param <R> the type of elements in resulting stream
+     * @param mapper  the mapper function used to apply to each element
+     * @return the new {@code Stream}
+     */
+    public <R> Stream<R> mapToObj(final LongFunction<? extends R> mapper) {
+        return Stream.of(new LsaIterator<R>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public R nextIteration() {
+                return mapper.apply(iterator.nextLong());
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Perform provided action to each elements.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param action  the action to be performed on each element
+     * @return the new stream
+     */
+    public LongStream peek(final LongConsumer action) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                final long value = iterator.nextLong();
+                action.accept(value);
+                return value;
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code LongStream} with first {@code maxSize} elements.
+     *
+     * <p>This is a short-circuiting stateful intermediate operation.
+     *
+     * @param maxSize  the number of elements to limit
+     * @return the new stream
+     */
+    public LongStream limit(final long maxSize) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            private long index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return (index < maxSize) && iterator.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                index++;
+                return iterator.nextLong();
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Skips first {@code n} elements and returns {@code LongStream} with remaining elements.
+     *
+     * <p>This is a stateful intermediate operation.
+     *
+     * @param n  the number of elements to skip
+     * @return the new stream
+     */
+    public LongStream skip(final long n) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            private long skippedCount;
+
+            @Override
+            public boolean hasNext() {
+                while (skippedCount < n) {
+                    if (!iterator.hasNext()) return false;
+                    iterator.nextLong();
+                    skippedCount++;
+                }
+                return iterator.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return iterator.nextLong();
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Performs the given action to each element.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param action  the action to be performed on each element
+     */
+    public void forEach(LongConsumer action) {
+        while (iterator.hasNext()) {
+            action.accept(iterator.nextLong());
+        }
+    }
+
+    /**
+     * Reduces the elements using provided identity value and the associative accumulation function.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param identity  the initial value
+     * @param accumulator  the accumulation function
+     * @return the result of the reduction
+     */
+    public long reduce(long identity, LongBinaryOperator accumulator) {
+        long result = identity;
+        while (iterator.hasNext()) {
+            result = accumulator.applyAsLong(result, iterator.nextLong());
+        }
+        return result;
+    }
+
+    /**
+     * Reduces the elements using provided associative accumulation function.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param accumulator  the accumulation function
+     * @return the result of the reduction
+     */
+    public OptionalLong reduce(LongBinaryOperator accumulator) {
+        if (!iterator.hasNext()) {
+            return OptionalLong.empty();
+        }
+        long result = iterator.nextLong();
+        while (iterator.hasNext()) {
+            result = accumulator.applyAsLong(result, iterator.nextLong());
+        }
+        return OptionalLong.of(result);
+    }
+
+    /**
+     * Collects elements to an {@code long[]} array.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the array with stream elements
+     */
+    public long[] toArray() {
+        long[] array = new long[16];
+        int size = 0;
+        while (iterator.hasNext()) {
+            if (size == array.length) {
+                if (size >= Stream.MAX_ARRAY_SIZE) throw new IllegalArgumentException(Stream.BAD_SIZE);
+                array = Arrays.copyOf(array, (int) Math.min(Stream.MAX_ARRAY_SIZE, size * 2L));
+            }
+            array[size++] = iterator.nextLong();
+        }
+        return (size == array.length) ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Returns the sum of elements.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the sum of elements
+     */
+    public long sum() {
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.nextLong();
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the count, sum, min, max and average of elements.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the {@code LongSummaryStatistics} of elements
+     */
+    public LongSummaryStatistics summaryStatistics() {
+        final LongSummaryStatistics statistics = new LongSummaryStatistics();
+        while (iterator.hasNext()) {
+            statistics.accept(iterator.nextLong());
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the minimum element.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return an {@code OptionalLong} with the minimum element or {@code OptionalLong.empty()} if stream is empty
+     */
+    public OptionalLong min() {
+        if (!iterator.hasNext()) {
+            return OptionalLong.empty();
+        }
+        long min = iterator.nextLong();
+        while (iterator.hasNext()) {
+            final long value = iterator.nextLong();
+            if (value < min) min = value;
+        }
+        return OptionalLong.of(min);
+    }
+
+    /**
+     * Returns the maximum element.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return an {@code OptionalLong} with the maximum element or {@code OptionalLong.empty()} if stream is empty
+     */
+    public OptionalLong max() {
+        if (!iterator.hasNext()) {
+            return OptionalLong.empty();
+        }
+        long max = iterator.nextLong();
+        while (iterator.hasNext()) {
+            final long value = iterator.nextLong();
+            if (value > max) max = value;
+        }
+        return OptionalLong.of(max);
+    }
+
+    /**
+     * Counts the number of elements in this stream.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @return the count of elements
+     */
+    public long count() {
+        long count = 0;
+        while (iterator.hasNext()) {
+            iterator.nextLong();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Tests whether any elements match the given predicate.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @param predicate  the predicate used to match elements
+     * @return {@code true} if any elements match the given predicate, otherwise {@code false}
+     */
+    public boolean anyMatch(LongPredicate predicate) {
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.nextLong()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether all elements match the given predicate.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @param predicate  the predicate used to match elements
+     * @return {@code true} if all elements match the given predicate, otherwise {@code false}
+     */
+    public boolean allMatch(LongPredicate predicate) {
+        while (iterator.hasNext()) {
+            if (!predicate.test(iterator.nextLong()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether no elements match the given predicate.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @param predicate  the predicate used to match elements
+     * @return {@code true} if no elements match the given predicate, otherwise {@code false}
+     */
+    public boolean noneMatch(LongPredicate predicate) {
+        return !anyMatch(predicate);
+    }
+
+    /**
+     * Returns the first element wrapped by {@code OptionalLong} class.
+     *
+     * <p>This is a short-circuiting terminal operation.
+     *
+     * @return an {@code OptionalLong} with first element or {@code OptionalLong.empty()} if stream is empty
+     */
+    public OptionalLong findFirst() {
+        if (iterator.hasNext()) {
+            return OptionalLong.of(iterator.nextLong());
+        }
+        return OptionalLong.empty();
+    }
+//</editor-fold>
+}
@@ -7,28 +7,55 @@ public abstract class LsaExtIterator<T> implements Iterator<T> {
 
     protected T next;
     protected boolean hasNext, isInit;
+    // Element is returned, the next one is computed on demand
+    private boolean advance;
 
     @Override
     public boolean hasNext() {
         if (!isInit) {
             nextIteration();
             isInit = true;
+        } else if (advance) {
+            // Source is not read ahead: the returned element may be reused by the source
+            // (see Flyweight), and an infinite source may have no next element
+            advance = false;
+            nextIteration();
         }
         return hasNext;
     }
 
     @Override
     public T next() {
-        if (!hasNext) {
+        if (!hasNext()) {
             throw new NoSuchElementException();
         }
-        final T result = next;
-        nextIteration();
-        return result;
+        advance = true;
+        return next;
     }
 
     protected abstract void nextIteration();
 
+    /**
+     * Returns the exact number of remaining elements, or {@code -1} if it is unknown.
+     *
+     * @see Iterators#exactSize(java.util.Iterator, boolean)
+     */
+    long exactSize(boolean elementsSkipped) {
+        return Iterators.UNKNOWN_SIZE;
+    }
+
+    /**
+     * Pushes remaining elements to the sink until it is cancelled.
+     * Stages override it to push elements of the source directly, when nothing is prefetched yet.
+     *
+     * @see Iterators#forEachRemaining(java.util.Iterator, com.annimon.stream.Sink)
+     */
+    void forEachRemaining(Sink<? super T> sink) {
+        while (!sink.isCancelled() && hasNext()) {
+            sink.accept(next());
+        }
+    }
+
     @Override
     public void remove() {
         throw new UnsupportedOperationException("remove not supported");
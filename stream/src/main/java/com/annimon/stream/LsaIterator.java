@@ -23,4 +23,24 @@ abstract class LsaIterator<T> implements Iterator<T> {
     }
 
     public abstract T nextIteration();
+
+    /**
+     * Returns the exact number of remaining elements, or {@code -1} if it is unknown.
+     *
+     * @see Iterators#exactSize(java.util.Iterator, boolean)
+     */
+    long exactSize(boolean elementsSkipped) {
+        return Iterators.UNKNOWN_SIZE;
+    }
+
+    /**
+     * Pushes remaining elements to the sink until it is cancelled.
+     *
+     * @see Iterators#forEachRemaining(java.util.Iterator, com.annimon.stream.Sink)
+     */
+    void forEachRemaining(Sink<? super T> sink) {
+        while (!sink.isCancelled() && hasNext()) {
+            sink.accept(nextIteration());
+        }
+    }
 }
@@ -0,0 +1,364 @@
+package com.annimon.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Iterator over the lines of the memory-mapped file.
+ *
+ * <p>Line breaks are searched directly in the {@link MappedByteBuffer}, the line is converted
+ * to the element only when it is requested. Lines are terminated by {@code \n} or {@code \r\n},
+ * the last line may have no terminator. The file is mapped by segments, so files larger than 2 GB
+ * are supported, but a single line should fit into the segment.
+ *
+ * <p>Iterator covers lines, which start in the range of bytes from {@code from} (inclusive)
+ * to {@code to} (exclusive). The last line of the range may end after {@code to}, and the line,
+ * which starts before {@code from}, is skipped. So the file can be split at any byte offset
+ * without reading it, and each part finds the line boundaries itself on the first traversal.
+ *
+ * @param <T> the type of the elements
+ */
+abstract class MappedLineIterator<T> extends LsaIterator<T> {
+
+    static final int SEGMENT_SIZE = 1 << 30;
+    static final long MIN_SPLIT_SIZE = 1 << 20;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    /**
+     * Returns iterator over the lines decoded to strings.
+     */
+    static MappedLineIterator<String> strings(File file, Charset charset) {
+        requireAsciiLineBreaks(charset);
+        return new OfStrings(file, 0, Long.MAX_VALUE, SEGMENT_SIZE, charset);
+    }
+
+    /**
+     * Returns iterator over the lines as the reusable read-only view of the mapped bytes.
+     * The view is not a {@link Flyweight}, so it is not copied by stages, which retain elements.
+     */
+    static MappedLineIterator<ByteBuffer> buffers(File file) {
+        return new OfBuffers(file, 0, Long.MAX_VALUE, SEGMENT_SIZE);
+    }
+
+    /**
+     * Returns iterator over the lines as the reusable {@code CharSequence} of the mapped bytes.
+     */
+    static MappedLineIterator<CharSequence> views(File file) {
+        return new OfViews(file, 0, Long.MAX_VALUE, SEGMENT_SIZE);
+    }
+
+    static void requireAsciiLineBreaks(Charset charset) {
+        if (!Arrays.equals(new byte[] { LF, CR }, "\n\r".getBytes(charset))) {
+            throw new IllegalArgumentException("Line breaks of " + charset + " are not single bytes");
+        }
+    }
+
+    private final File file;
+    private final int segmentSize;
+    private long from;
+    private long to;
+    private long fileSize = -1;
+    // File offset of the buffer start
+    private long segmentStart;
+    private MappedByteBuffer buffer;
+    // Buffer indices of the current line start, line end and the next line start
+    private int position;
+    private int lineEnd;
+    private int nextPosition;
+    private boolean ready;
+    private boolean finished;
+
+    MappedLineIterator(File file, long from, long to, int segmentSize) {
+        this.file = file;
+        this.from = from;
+        this.to = to;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Converts the line bytes from {@code start} (inclusive) to {@code end} (exclusive) to the element.
+     * The buffer is replaced, when the next segment is mapped.
+     */
+    protected abstract T line(MappedByteBuffer buffer, int start, int end);
+
+    /**
+     * Returns a new iterator over the lines of the same file, which start in the given range.
+     */
+    protected abstract MappedLineIterator<T> slice(File file, long from, long to, int segmentSize);
+
+    /**
+     * Returns the number of bytes, which are not traversed yet.
+     */
+    final long remainingBytes() {
+        if (finished) return 0;
+        if (to == Long.MAX_VALUE) {
+            to = file.length();
+        }
+        return Math.max(0, to - currentOffset());
+    }
+
+    /**
+     * Splits off the lines, which start in at most {@code size} first remaining bytes.
+     * This iterator continues after the returned part.
+     *
+     * @param size  the maximum number of bytes in the prefix
+     * @return iterator over the prefix, or {@code null} if {@code size} is not positive or no bytes remain
+     */
+    final MappedLineIterator<T> trySplit(long size) {
+        final long remaining = remainingBytes();
+        if (size <= 0 || remaining == 0) return null;
+        final long start = currentOffset();
+        final long end = start + Math.min(size, remaining);
+        final MappedLineIterator<T> prefix = slice(file, start, end, segmentSize);
+        // Rest of the range will be aligned to the line start on the next traversal
+        from = end;
+        buffer = null;
+        ready = false;
+        return prefix;
+    }
+
+    private long currentOffset() {
+        // Position points to the line, which is ready or will be searched next
+        return (buffer == null) ? from : segmentStart + position;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready && !finished) {
+            findLine();
+        }
+        return ready;
+    }
+
+    @Override
+    public T nextIteration() {
+        ready = false;
+        final T value = line(buffer, position, lineEnd);
+        position = nextPosition;
+        return value;
+    }
+
+    private void findLine() {
+        if (buffer == null) {
+            if (from > 0) {
+                map(from - 1);
+                skipPartialLine();
+            } else {
+                map(from);
+            }
+        }
+        while (true) {
+            final int limit = buffer.limit();
+            final boolean lastSegment = (segmentStart + limit >= fileSize);
+            if (segmentStart + position >= to || (position >= limit && lastSegment)) {
+                finished = true;
+                return;
+            }
+            int index = position;
+            while (index < limit && buffer.get(index) != LF) {
+                index++;
+            }
+            if (index < limit || lastSegment) {
+                // Line break is found, or the last line of the file has no terminator
+                nextPosition = Math.min(index + 1, limit);
+                lineEnd = (index > position && buffer.get(index - 1) == CR) ? index - 1 : index;
+                ready = true;
+                return;
+            }
+            if (position == 0) {
+                throw new IllegalStateException("Line exceeds " + segmentSize + " bytes");
+            }
+            // Line continues in the next segment
+            map(segmentStart + position);
+        }
+    }
+
+    private void skipPartialLine() {
+        // Line, which starts before the range, belongs to the previous range
+        while (true) {
+            final int limit = buffer.limit();
+            int index = position;
+            while (index < limit && buffer.get(index) != LF) {
+                index++;
+            }
+            if (index < limit) {
+                position = index + 1;
+                return;
+            }
+            if (segmentStart + limit >= fileSize) {
+                position = limit;
+                return;
+            }
+            map(segmentStart + limit);
+        }
+    }
+
+    private void map(long start) {
+        try {
+            final RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                final FileChannel channel = raf.getChannel();
+                fileSize = channel.size();
+                to = Math.min(to, fileSize);
+                final long size = Math.max(0, Math.min(segmentSize, fileSize - start));
+                // Mapping stays valid after the channel is closed
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, Math.min(start, fileSize), size);
+                segmentStart = start;
+                position = 0;
+            } finally {
+                raf.close();
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+
+    private static final class OfStrings extends MappedLineIterator<String> {
+
+        private final CharsetDecoder decoder;
+
+        OfStrings(File file, long from, long to, int segmentSize, Charset charset) {
+            super(file, from, to, segmentSize);
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        @Override
+        protected MappedLineIterator<String> slice(File file, long from, long to, int segmentSize) {
+            // Decoder is not thread-safe, so each part has its own one
+            return new OfStrings(file, from, to, segmentSize, decoder.charset());
+        }
+
+        @Override
+        protected String line(MappedByteBuffer buffer, int start, int end) {
+            final ByteBuffer bytes = buffer.duplicate();
+            bytes.position(start);
+            bytes.limit(end);
+            try {
+                final CharBuffer chars = decoder.decode(bytes);
+                return chars.toString();
+            } catch (CharacterCodingException ex) {
+                // Not thrown, errors are replaced
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private static final class OfBuffers extends MappedLineIterator<ByteBuffer> {
+
+        private MappedByteBuffer source;
+        private ByteBuffer view;
+
+        OfBuffers(File file, long from, long to, int segmentSize) {
+            super(file, from, to, segmentSize);
+        }
+
+        @Override
+        protected MappedLineIterator<ByteBuffer> slice(File file, long from, long to, int segmentSize) {
+            return new OfBuffers(file, from, to, segmentSize);
+        }
+
+        @Override
+        protected ByteBuffer line(MappedByteBuffer buffer, int start, int end) {
+            if (buffer != source) {
+                source = buffer;
+                view = buffer.asReadOnlyBuffer();
+            }
+            view.limit(view.capacity());
+            view.position(start);
+            view.limit(end);
+            return view;
+        }
+    }
+
+    private static final class OfViews extends MappedLineIterator<CharSequence> {
+
+        private final ByteCharSequence view = new ByteCharSequence();
+
+        OfViews(File file, long from, long to, int segmentSize) {
+            super(file, from, to, segmentSize);
+        }
+
+        @Override
+        protected MappedLineIterator<CharSequence> slice(File file, long from, long to, int segmentSize) {
+            return new OfViews(file, from, to, segmentSize);
+        }
+
+        @Override
+        protected CharSequence line(MappedByteBuffer buffer, int start, int end) {
+            view.set(buffer, start, end - start);
+            return view;
+        }
+    }
+
+    /**
+     * Characters of the bytes in ISO-8859-1 encoding, so each byte is a single char.
+     */
+    static final class ByteCharSequence extends Flyweight<CharSequence> implements CharSequence {
+
+        private ByteBuffer buffer;
+        private int offset;
+        private int length;
+
+        ByteCharSequence() { }
+
+        ByteCharSequence(ByteBuffer buffer, int offset, int length) {
+            set(buffer, offset, length);
+        }
+
+        void set(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+            }
+            return (char) (buffer.get(offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length);
+            }
+            return new ByteCharSequence(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public CharSequence copy() {
+            return toString();
+        }
+
+        @Override
+        public String toString() {
+            final char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) (buffer.get(offset + i) & 0xFF);
+            }
+            return new String(chars);
+        }
+    }
+}
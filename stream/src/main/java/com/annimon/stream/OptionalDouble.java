@@ -0,0 +1,143 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.DoubleConsumer;
+import com.annimon.stream.function.DoubleSupplier;
+import com.annimon.stream.function.Supplier;
+import java.util.NoSuchElementException;
+
+/**
+ * A container object which may or may not contain a {@code double} value.
+ *
+ * @see Optional
+ */
+public final class OptionalDouble {
+
+    private static final OptionalDouble EMPTY = new OptionalDouble();
+
+    /**
+     * Returns an {@code OptionalDouble} with the specified present value.
+     *
+     * @param value  the value to be present
+     * @return an {@code OptionalDouble}
+     */
+    public static OptionalDouble of(double value) {
+        return new OptionalDouble(value);
+    }
+
+    /**
+     * Returns an empty {@code OptionalDouble}.
+     *
+     * @return an {@code OptionalDouble}
+     */
+    public static OptionalDouble empty() {
+        return EMPTY;
+    }
+
+    private final boolean isPresent;
+    private final double value;
+
+    private OptionalDouble() {
+        this.isPresent = false;
+        this.value = 0;
+    }
+
+    private OptionalDouble(double value) {
+        this.isPresent = true;
+        this.value = value;
+    }
+
+    /**
+     * Returns inner value if present, otherwise throws {@code NoSuchElementException}.
+     *
+     * @return inner value of {@code OptionalDouble}
+     * @throws NoSuchElementException if value is not present
+     */
+    public double getAsDouble() {
+        if (!isPresent) {
+            throw new NoSuchElementException("No value present");
+        }
+        return value;
+    }
+
+    /**
+     * Checks value present.
+     *
+     * @return {@code true} if value present, {@code false} otherwise
+     */
+    public boolean isPresent() {
+        return isPresent;
+    }
+
+    /**
+     * Invokes consumer function with value if present.
+     *
+     * @param consumer  consumer function
+     */
+    public void ifPresent(DoubleConsumer consumer) {
+        if (isPresent)
+            consumer.accept(value);
+    }
+
+    /**
+     * Returns inner value if present, otherwise returns {@code other}.
+     *
+     * @param other  the value to be returned if inner value is not present
+     * @return inner value if present, otherwise {@code other}
+     */
+    public double orElse(double other) {
+        return isPresent ? value : other;
+    }
+
+    /**
+     * Returns inner value if present, otherwise returns value produced by supplier function.
+     *
+     * @param other  supplier function that produced value if inner value is not present
+     * @return inner value if present, otherwise value produced by supplier function
+     */
+    public double orElseGet(DoubleSupplier other) {
+        return isPresent ? value : other.getAsDouble();
+    }
+
+    /**
+     * Returns inner value if present, otherwise throws the exception provided by supplier function.
+     *
+     * @param <X> the type of exception to be thrown
+     * @param exc  supplier function that produced exception to be thrown
+     * @return inner value if present
+     * @throws X if inner value is not present
+     */
+    public <X extends Throwable> double orElseThrow(Supplier<? extends X> exc) throws X {
+        if (isPresent) return value;
+        else throw exc.get();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof OptionalDouble)) {
+            return false;
+        }
+
+        OptionalDouble other = (OptionalDouble) obj;
+        return (isPresent && other.isPresent)
+                ? Double.compare(value, other.value) == 0
+                : isPresent == other.isPresent;
+    }
+
+    @Override
+    public int hashCode() {
+        if (!isPresent) return 0;
+        final long bits = Double.doubleToLongBits(value);
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return isPresent
+            ? String.format("OptionalDouble[%s]", value)
+            : "OptionalDouble.empty";
+    }
+}
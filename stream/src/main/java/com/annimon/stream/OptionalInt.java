@@ -0,0 +1,141 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.IntConsumer;
+import com.annimon.stream.function.IntSupplier;
+import com.annimon.stream.function.Supplier;
+import java.util.NoSuchElementException;
+
+/**
+ * A container object which may or may not contain an {@code int} value.
+ *
+ * @see Optional
+ */
+public final class OptionalInt {
+
+    private static final OptionalInt EMPTY = new OptionalInt();
+
+    /**
+     * Returns an {@code OptionalInt} with the specified present value.
+     *
+     * @param value  the value to be present
+     * @return an {@code OptionalInt}
+     */
+    public static OptionalInt of(int value) {
+        return new OptionalInt(value);
+    }
+
+    /**
+     * Returns an empty {@code OptionalInt}.
+     *
+     * @return an {@code OptionalInt}
+     */
+    public static OptionalInt empty() {
+        return EMPTY;
+    }
+
+    private final boolean isPresent;
+    private final int value;
+
+    private OptionalInt() {
+        this.isPresent = false;
+        this.value = 0;
+    }
+
+    private OptionalInt(int value) {
+        this.isPresent = true;
+        this.value = value;
+    }
+
+    /**
+     * Returns inner value if present, otherwise throws {@code NoSuchElementException}.
+     *
+     * @return inner value of {@code OptionalInt}
+     * @throws NoSuchElementException if value is not present
+     */
+    public int getAsInt() {
+        if (!isPresent) {
+            throw new NoSuchElementException("No value present");
+        }
+        return value;
+    }
+
+    /**
+     * Checks value present.
+     *
+     * @return {@code true} if value present, {@code false} otherwise
+     */
+    public boolean isPresent() {
+        return isPresent;
+    }
+
+    /**
+     * Invokes consumer function with value if present.
+     *
+     * @param consumer  consumer function
+     */
+    public void ifPresent(IntConsumer consumer) {
+        if (isPresent)
+            consumer.accept(value);
+    }
+
+    /**
+     * Returns inner value if present, otherwise returns {@code other}.
+     *
+     * @param other  the value to be returned if inner value is not present
+     * @return inner value if present, otherwise {@code other}
+     */
+    public int orElse(int other) {
+        return isPresent ? value : other;
+    }
+
+    /**
+     * Returns inner value if present, otherwise returns value produced by supplier function.
+     *
+     * @param other  supplier function that produced value if inner value is not present
+     * @return inner value if present, otherwise value produced by supplier function
+     */
+    public int orElseGet(IntSupplier other) {
+        return isPresent ? value : other.getAsInt();
+    }
+
+    /**
+     * Returns inner value if present, otherwise throws the exception provided by supplier function.
+     *
+     * @param <X> the type of exception to be thrown
+     * @param exc  supplier function that produced exception to be thrown
+     * @return inner value if present
+     * @throws X if inner value is not present
+     */
+    public <X extends Throwable> int orElseThrow(Supplier<? extends X> exc) throws X {
+        if (isPresent) return value;
+        else throw exc.get();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof OptionalInt)) {
+            return false;
+        }
+
+        OptionalInt other = (OptionalInt) obj;
+        return (isPresent && other.isPresent)
+                ? value == other.value
+                : isPresent == other.isPresent;
+    }
+
+    @Override
+    public int hashCode() {
+        return isPresent ? value : 0;
+    }
+
+    @Override
+    public String toString() {
+        return isPresent
+            ? String.format("OptionalInt[%s]", value)
+            : "OptionalInt.empty";
+    }
+}
@@ -0,0 +1,141 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.LongConsumer;
+import com.annimon.stream.function.LongSupplier;
+import com.annimon.stream.function.Supplier;
+import java.util.NoSuchElementException;
+
+/**
+ * A container object which may or may not contain a {@code long} value.
+ *
+ * @see Optional
+ */
+public final class OptionalLong {
+
+    private static final OptionalLong EMPTY = new OptionalLong();
+
+    /**
+     * Returns an {@code OptionalLong} with the specified present value.
+     *
+     * @param value  the value to be present
+     * @return an {@code OptionalLong}
+     */
+    public static OptionalLong of(long value) {
+        return new OptionalLong(value);
+    }
+
+    /**
+     * Returns an empty {@code OptionalLong}.
+     *
+     * @return an {@code OptionalLong}
+     */
+    public static OptionalLong empty() {
+        return EMPTY;
+    }
+
+    private final boolean isPresent;
+    private final long value;
+
+    private OptionalLong() {
+        this.isPresent = false;
+        this.value = 0;
+    }
+
+    private OptionalLong(long value) {
+        this.isPresent = true;
+        this.value = value;
+    }
+
+    /**
+     * Returns inner value if present, otherwise throws {@code NoSuchElementException}.
+     *
+     * @return inner value of {@code OptionalLong}
+     * @throws NoSuchElementException if value is not present
+     */
+    public long getAsLong() {
+        if (!isPresent) {
+            throw new NoSuchElementException("No value present");
+        }
+        return value;
+    }
+
+    /**
+     * Checks value present.
+     *
+     * @return {@code true} if value present, {@code false} otherwise
+     */
+    public boolean isPresent() {
+        return isPresent;
+    }
+
+    /**
+     * Invokes consumer function with value if present.
+     *
+     * @param consumer  consumer function
+     */
+    public void ifPresent(LongConsumer consumer) {
+        if (isPresent)
+            consumer.accept(value);
+    }
+
+    /**
+     * Returns inner value if present, otherwise returns {@code other}.
+     *
+     * @param other  the value to be returned if inner value is not present
+     * @return inner value if present, otherwise {@code other}
+     */
+    public long orElse(long other) {
+        return isPresent ? value : other;
+    }
+
+    /**
+     * Returns inner value if present, otherwise returns value produced by supplier function.
+     *
+     * @param other  supplier function that produced value if inner value is not present
+     * @return inner value if present, otherwise value produced by supplier function
+     */
+    public long orElseGet(LongSupplier other) {
+        return isPresent ? value : other.getAsLong();
+    }
+
+    /**
+     * Returns inner value if present, otherwise throws the exception provided by supplier function.
+     *
+     * @param <X> the type of exception to be thrown
+     * @param exc  supplier function that produced exception to be thrown
+     * @return inner value if present
+     * @throws X if inner value is not present
+     */
+    public <X extends Throwable> long orElseThrow(Supplier<? extends X> exc) throws X {
+        if (isPresent) return value;
+        else throw exc.get();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof OptionalLong)) {
+            return false;
+        }
+
+        OptionalLong other = (OptionalLong) obj;
+        return (isPresent && other.isPresent)
+                ? value == other.value
+                : isPresent == other.isPresent;
+    }
+
+    @Override
+    public int hashCode() {
+        return isPresent ? (int) (value ^ (value >>> 32)) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return isPresent
+            ? String.format("OptionalLong[%s]", value)
+            : "OptionalLong.empty";
+    }
+}
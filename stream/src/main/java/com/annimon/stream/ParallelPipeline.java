@@ -0,0 +1,457 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.BiConsumer;
+import com.annimon.stream.function.BiFunction;
+import com.annimon.stream.function.BinaryOperator;
+import com.annimon.stream.function.Consumer;
+import com.annimon.stream.function.Function;
+import com.annimon.stream.function.Predicate;
+import com.annimon.stream.function.Supplier;
+import com.annimon.stream.function.UnaryOperator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel evaluation engine of {@code Stream}.
+ *
+ * <p>Keeps the source iterator and the stateless stages applied after {@link Stream#parallel()}.
+ * Terminal operation splits the source into chunks, replays the stages on each chunk
+ * in a worker thread and combines partial results in encounter order.
+ * Java 6 has no fork/join pool, so chunks are submitted to a fixed pool of daemon threads
+ * and joined by the caller thread. {@link SplittableIterator} sources are split by index bounds,
+ * {@link MappedLineIterator} sources are split by byte ranges, which are aligned to lines by the workers,
+ * other sources are read by the caller thread into batches of growing size.
+ *
+ * @param <S> the type of the source elements
+ * @param <T> the type of the resulting elements
+ */
+final class ParallelPipeline<S, T> {
+
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+
+    static <T> ParallelPipeline<T, T> of(Iterator<? extends T> source) {
+        return new ParallelPipeline<T, T>(source, UnaryOperator.Util.<Iterator<? extends T>>identity());
+    }
+
+    private final Iterator<? extends S> source;
+    private final Function<Iterator<? extends S>, Iterator<? extends T>> stages;
+
+    private ParallelPipeline(Iterator<? extends S> source,
+            Function<Iterator<? extends S>, Iterator<? extends T>> stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    /**
+     * Appends stateless stage, which will be replayed on each chunk.
+     */
+    <R> ParallelPipeline<S, R> then(Function<Iterator<? extends T>, Iterator<? extends R>> stage) {
+        return new ParallelPipeline<S, R>(source, Function.Util.andThen(stages, stage));
+    }
+
+    void forEach(final Consumer<? super T> action) {
+        evaluate(new CombiningTask<T, Void>() {
+            @Override
+            Void compute(Iterator<? extends T> iterator) {
+                Iterators.forEachRemaining(iterator, new Sink<T>() {
+                    @Override
+                    void accept(T value) {
+                        action.accept(value);
+                    }
+                });
+                return null;
+            }
+
+            @Override
+            Void combine(Void left, Void right) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Evaluates stages in parallel, but passes the resulting elements
+     * to the action in encounter order in the caller thread.
+     * Used by operations, which cannot merge partial results.
+     */
+    void forEachOrdered(final Consumer<? super T> action) {
+        if (!canSplit()) {
+            forEach(action);
+            return;
+        }
+        run(new Task<T, List<T>>() {
+            @Override
+            List<T> compute(Iterator<? extends T> iterator) {
+                return collectToList(iterator);
+            }
+        }, new Consumer<List<T>>() {
+            @Override
+            public void accept(List<T> partial) {
+                for (T value : partial) {
+                    action.accept(value);
+                }
+            }
+        });
+    }
+
+    Optional<T> reduce(final BiFunction<T, T, T> accumulator) {
+        return evaluate(new CombiningTask<T, Optional<T>>() {
+            @Override
+            Optional<T> compute(Iterator<? extends T> iterator) {
+                if (!iterator.hasNext()) {
+                    return Optional.empty();
+                }
+                final List<T> result = new ArrayList<T>(1);
+                result.add(iterator.next());
+                Iterators.forEachRemaining(iterator, new Sink<T>() {
+                    @Override
+                    void accept(T value) {
+                        result.set(0, accumulator.apply(result.get(0), value));
+                    }
+                });
+                return Optional.of(result.get(0));
+            }
+
+            @Override
+            Optional<T> combine(Optional<T> left, Optional<T> right) {
+                if (!left.isPresent()) return right;
+                if (!right.isPresent()) return left;
+                return Optional.of(accumulator.apply(left.get(), right.get()));
+            }
+        });
+    }
+
+    <R> R collect(final Supplier<R> supplier, final BiConsumer<R, ? super T> accumulator,
+            final BiConsumer<R, R> combiner) {
+        return evaluate(new CombiningTask<T, R>() {
+            @Override
+            R compute(Iterator<? extends T> iterator) {
+                final R container = supplier.get();
+                Iterators.forEachRemaining(iterator, new Sink<T>() {
+                    @Override
+                    void accept(T value) {
+                        accumulator.accept(container, value);
+                    }
+                });
+                return container;
+            }
+
+            @Override
+            R combine(R left, R right) {
+                combiner.accept(left, right);
+                return left;
+            }
+        });
+    }
+
+    <R> R collect(final Supplier<R> supplier, final BiConsumer<R, ? super T> accumulator,
+            final BinaryOperator<R> combiner) {
+        return evaluate(new CombiningTask<T, R>() {
+            @Override
+            R compute(Iterator<? extends T> iterator) {
+                final R container = supplier.get();
+                Iterators.forEachRemaining(iterator, new Sink<T>() {
+                    @Override
+                    void accept(T value) {
+                        accumulator.accept(container, value);
+                    }
+                });
+                return container;
+            }
+
+            @Override
+            R combine(R left, R right) {
+                return combiner.apply(left, right);
+            }
+        });
+    }
+
+    List<T> toList() {
+        return evaluate(new CombiningTask<T, List<T>>() {
+            @Override
+            List<T> compute(Iterator<? extends T> iterator) {
+                return collectToList(iterator);
+            }
+
+            @Override
+            List<T> combine(List<T> left, List<T> right) {
+                left.addAll(right);
+                return left;
+            }
+        });
+    }
+
+    long count() {
+        return evaluate(new CombiningTask<T, Long>() {
+            @Override
+            Long compute(Iterator<? extends T> iterator) {
+                final long[] count = { 0 };
+                Iterators.forEachRemaining(iterator, new Sink<T>() {
+                    @Override
+                    void accept(T value) {
+                        count[0]++;
+                    }
+                });
+                return count[0];
+            }
+
+            @Override
+            Long combine(Long left, Long right) {
+                return left + right;
+            }
+        });
+    }
+
+    /**
+     * Tests whether any element matches the predicate.
+     * The first match found in any chunk stops processing of others.
+     */
+    boolean anyMatch(final Predicate<? super T> predicate) {
+        return evaluate(new CombiningTask<T, Boolean>() {
+            @Override
+            Boolean compute(Iterator<? extends T> iterator) {
+                final boolean[] found = { false };
+                Iterators.forEachRemaining(iterator, new Sink<T>() {
+                    @Override
+                    void accept(T value) {
+                        if (predicate.test(value)) {
+                            found[0] = true;
+                            cancel();
+                        } else if (cancelled) {
+                            // Match is found in another chunk
+                            cancel();
+                        }
+                    }
+                });
+                if (found[0]) {
+                    cancel();
+                }
+                return found[0];
+            }
+
+            @Override
+            Boolean combine(Boolean left, Boolean right) {
+                return left || right;
+            }
+        });
+    }
+
+    /**
+     * Evaluates the task on the source chunks and combines partial results.
+     */
+    <R> R evaluate(final CombiningTask<T, R> task) {
+        if (!canSplit()) {
+            return task.compute(stages.apply(source));
+        }
+        final List<R> result = new ArrayList<R>(1);
+        run(task, new Consumer<R>() {
+            @Override
+            public void accept(R partial) {
+                if (result.isEmpty()) {
+                    result.add(partial);
+                } else {
+                    result.set(0, task.combine(result.get(0), partial));
+                }
+            }
+        });
+        if (result.isEmpty()) {
+            return task.compute(stages.apply(Collections.<S>emptyList().iterator()));
+        }
+        return result.get(0);
+    }
+
+    private static boolean canSplit() {
+        // Nested parallel streams run in place to avoid starving the pool
+        return Pool.PARALLELISM > 1 && !(Thread.currentThread() instanceof Worker);
+    }
+
+    /**
+     * Splits the source into chunks, computes each chunk in the pool
+     * and passes partial results to the consumer in encounter order.
+     */
+    private <R> void run(final Task<T, R> task, Consumer<R> partials) {
+        final Deque<Future<R>> pending = new ArrayDeque<Future<R>>();
+        final int maxPending = Pool.PARALLELISM * 4;
+        final boolean splittable = (source instanceof SplittableIterator)
+                || (source instanceof MappedLineIterator);
+        long batchSize = BATCH_UNIT;
+        if (source instanceof SplittableIterator) {
+            // Bounds are known, so split evenly between the pending chunks
+            final long remaining = ((SplittableIterator<?>) source).remaining();
+            batchSize = Math.max(BATCH_UNIT, (remaining + maxPending - 1) / maxPending);
+        } else if (source instanceof MappedLineIterator) {
+            final long remaining = ((MappedLineIterator<?>) source).remainingBytes();
+            batchSize = Math.max(MappedLineIterator.MIN_SPLIT_SIZE, (remaining + maxPending - 1) / maxPending);
+        }
+        try {
+            while (source.hasNext() && !task.cancelled) {
+                final Iterator<? extends S> chunk = nextChunk(batchSize);
+                if (pending.isEmpty() && !source.hasNext()) {
+                    // Last chunk, nothing to wait for
+                    partials.accept(task.compute(stages.apply(chunk)));
+                    return;
+                }
+                pending.addLast(Pool.EXECUTOR.submit(new Callable<R>() {
+                    @Override
+                    public R call() {
+                        return task.compute(stages.apply(chunk));
+                    }
+                }));
+                while (pending.size() > maxPending) {
+                    partials.accept(get(pending.removeFirst()));
+                }
+                if (!splittable) {
+                    batchSize = Math.min(batchSize + BATCH_UNIT, MAX_BATCH);
+                }
+            }
+            while (!pending.isEmpty()) {
+                partials.accept(get(pending.removeFirst()));
+            }
+        } finally {
+            task.cancel();
+            for (Future<R> future : pending) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterator<? extends S> nextChunk(long batchSize) {
+        if (source instanceof SplittableIterator) {
+            return ((SplittableIterator<? extends S>) source).trySplit(batchSize);
+        }
+        if (source instanceof MappedLineIterator) {
+            return ((MappedLineIterator<? extends S>) source).trySplit(batchSize);
+        }
+        return this.<S>chunk(nextBatch((int) batchSize));
+    }
+
+    private Object[] nextBatch(int batchSize) {
+        Object[] batch = new Object[Math.min(batchSize, BATCH_UNIT)];
+        int size = 0;
+        while (size < batchSize && source.hasNext()) {
+            if (size == batch.length) {
+                batch = Arrays.copyOf(batch, Math.min(batchSize, size * 2));
+            }
+            batch[size++] = Iterators.retain(source.next());
+        }
+        return (size == batch.length) ? batch : Arrays.copyOf(batch, size);
+    }
+
+    private <E> Iterator<E> chunk(final Object[] batch) {
+        return new LsaIterator<E>() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < batch.length;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public E nextIteration() {
+                return (E) batch[index++];
+            }
+        };
+    }
+
+    private static <E> List<E> collectToList(Iterator<? extends E> iterator) {
+        final List<E> list = new ArrayList<E>();
+        Iterators.forEachRemaining(iterator, new Sink<E>() {
+            @Override
+            void accept(E value) {
+                list.add(Iterators.retain(value));
+            }
+        });
+        return list;
+    }
+
+    private static <R> R get(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Terminal operation, which is evaluated on each chunk separately.
+     * Partial results are consumed in encounter order.
+     *
+     * @param <T> the type of the elements
+     * @param <R> the type of the partial result
+     */
+    abstract static class Task<T, R> {
+
+        volatile boolean cancelled;
+
+        /**
+         * Processes a chunk. Called in a worker thread.
+         */
+        abstract R compute(Iterator<? extends T> iterator);
+
+        /**
+         * Stops processing of remaining chunks, used by short-circuiting operations.
+         */
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Terminal operation, which partial results are combined into the single result.
+     *
+     * @param <T> the type of the elements
+     * @param <R> the type of the result
+     */
+    abstract static class CombiningTask<T, R> extends Task<T, R> {
+
+        /**
+         * Combines results of two adjacent chunks. Called in encounter order in the caller thread.
+         */
+        abstract R combine(R left, R right);
+    }
+
+    private static final class Worker extends Thread {
+
+        Worker(Runnable target, String name) {
+            super(target, name);
+            setDaemon(true);
+        }
+    }
+
+    private static final class Pool {
+
+        static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(PARALLELISM, new ThreadFactory() {
+
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Worker(runnable, "lsa-parallel-" + counter.incrementAndGet());
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.annimon.stream;
+
+/**
+ * Receives metrics of the stages of the instrumented stream.
+ *
+ * @see Stream#instrumented(com.annimon.stream.PipelineListener)
+ * @see StageMetrics
+ */
+public interface PipelineListener {
+
+    /**
+     * Called when the operation is appended to the instrumented stream.
+     * The metrics are updated while the stream is evaluated, so they can be read at any time.
+     *
+     * @param stage  the metrics of the new stage
+     */
+    void onStageAdded(StageMetrics stage);
+
+    /**
+     * Called once, when all elements of the stage are consumed.
+     * Not called if the stream is short-circuited before the end of the stage,
+     * or if the stage is evaluated in parallel chunks.
+     *
+     * @param stage  the metrics of the completed stage
+     */
+    void onStageCompleted(StageMetrics stage);
+}
@@ -0,0 +1,108 @@
+package com.annimon.stream;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Primitive iterators, which look ahead for the next element only in {@code hasNext},
+ * same as {@link LsaExtIterator}.
+ */
+final class PrimitiveExtIterator {
+
+    private PrimitiveExtIterator() { }
+
+    abstract static class OfInt extends PrimitiveIterator.OfInt {
+
+        protected int next;
+        protected boolean hasNext, isInit;
+        // Element is returned, the next one is computed on demand
+        private boolean advance;
+
+        @Override
+        public boolean hasNext() {
+            if (!isInit) {
+                nextIteration();
+                isInit = true;
+            } else if (advance) {
+                // Source is not read ahead: an infinite source may have no next element
+                advance = false;
+                nextIteration();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advance = true;
+            return next;
+        }
+
+        protected abstract void nextIteration();
+    }
+
+    abstract static class OfLong extends PrimitiveIterator.OfLong {
+
+        protected long next;
+        protected boolean hasNext, isInit;
+        // Element is returned, the next one is computed on demand
+        private boolean advance;
+
+        @Override
+        public boolean hasNext() {
+            if (!isInit) {
+                nextIteration();
+                isInit = true;
+            } else if (advance) {
+                // Source is not read ahead: an infinite source may have no next element
+                advance = false;
+                nextIteration();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advance = true;
+            return next;
+        }
+
+        protected abstract void nextIteration();
+    }
+
+    abstract static class OfDouble extends PrimitiveIterator.OfDouble {
+
+        protected double next;
+        protected boolean hasNext, isInit;
+        // Element is returned, the next one is computed on demand
+        private boolean advance;
+
+        @Override
+        public boolean hasNext() {
+            if (!isInit) {
+                nextIteration();
+                isInit = true;
+            } else if (advance) {
+                // Source is not read ahead: an infinite source may have no next element
+                advance = false;
+                nextIteration();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public double nextDouble() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advance = true;
+            return next;
+        }
+
+        protected abstract void nextIteration();
+    }
+}
@@ -0,0 +1,80 @@
+package com.annimon.stream;
+
+import java.util.Iterator;
+
+/**
+ * Iterators over primitive values, which avoid boxing on each {@code next} call.
+ */
+public final class PrimitiveIterator {
+
+    private PrimitiveIterator() { }
+
+    /**
+     * Iterator over {@code int} values.
+     */
+    public abstract static class OfInt implements Iterator<Integer> {
+
+        /**
+         * Returns the next {@code int} element in iteration.
+         *
+         * @return the next {@code int} element
+         */
+        public abstract int nextInt();
+
+        @Override
+        public Integer next() {
+            return nextInt();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove not supported");
+        }
+    }
+
+    /**
+     * Iterator over {@code long} values.
+     */
+    public abstract static class OfLong implements Iterator<Long> {
+
+        /**
+         * Returns the next {@code long} element in iteration.
+         *
+         * @return the next {@code long} element
+         */
+        public abstract long nextLong();
+
+        @Override
+        public Long next() {
+            return nextLong();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove not supported");
+        }
+    }
+
+    /**
+     * Iterator over {@code double} values.
+     */
+    public abstract static class OfDouble implements Iterator<Double> {
+
+        /**
+         * Returns the next {@code double} element in iteration.
+         *
+         * @return the next {@code double} element
+         */
+        public abstract double nextDouble();
+
+        @Override
+        public Double next() {
+            return nextDouble();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove not supported");
+        }
+    }
+}
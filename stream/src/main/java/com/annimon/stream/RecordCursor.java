@@ -0,0 +1,232 @@
+package com.annimon.stream;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-size binary record of {@link Stream#ofRecords(java.nio.ByteBuffer, int)}.
+ *
+ * <p>Cursor reads the fields directly from the source buffer by the offset within the record,
+ * the bytes are not copied. The cursor is a {@link Flyweight}: the source moves the same instance
+ * to the next record, so the record can be filtered or mapped without allocation,
+ * and should be copied by {@link #copy()} to be stored.
+ *
+ * <pre>
+ * // 16-byte records: long timestamp, int id, float price
+ * Stream.ofRecords(file, 16, ByteOrder.LITTLE_ENDIAN)
+ *     .filter(r -&gt; r.getInt(8) == id)
+ *     .map(r -&gt; r.getFloat(12))
+ *     ...
+ * </pre>
+ *
+ * @see Flyweight
+ */
+public final class RecordCursor extends Flyweight<RecordCursor> {
+
+    private final int size;
+    private ByteBuffer buffer;
+    private int offset;
+    private long index;
+
+    RecordCursor(int size) {
+        this.size = size;
+    }
+
+    RecordCursor(ByteBuffer buffer, int offset, int size, long index) {
+        this.size = size;
+        set(buffer, offset, index);
+    }
+
+    void set(ByteBuffer buffer, int offset, long index) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.index = index;
+    }
+
+    /**
+     * Returns the index of the record in the source.
+     *
+     * @return the index of the record
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the size of the record in bytes.
+     *
+     * @return the size of the record
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the byte order of the multibyte fields.
+     *
+     * @return the byte order
+     */
+    public ByteOrder getOrder() {
+        return buffer.order();
+    }
+
+    /**
+     * Returns the byte at the given offset within the record.
+     *
+     * @param offset  the offset within the record
+     * @return the byte value
+     * @throws IndexOutOfBoundsException if the field is out of the record
+     */
+    public byte getByte(int offset) {
+        return buffer.get(position(offset, 1));
+    }
+
+    /**
+     * Returns the {@code short} at the given offset within the record.
+     *
+     * @param offset  the offset within the record
+     * @return the {@code short} value
+     * @throws IndexOutOfBoundsException if the field is out of the record
+     */
+    public short getShort(int offset) {
+        return buffer.getShort(position(offset, 2));
+    }
+
+    /**
+     * Returns the {@code char} at the given offset within the record.
+     *
+     * @param offset  the offset within the record
+     * @return the {@code char} value
+     * @throws IndexOutOfBoundsException if the field is out of the record
+     */
+    public char getChar(int offset) {
+        return buffer.getChar(position(offset, 2));
+    }
+
+    /**
+     * Returns the {@code int} at the given offset within the record.
+     *
+     * @param offset  the offset within the record
+     * @return the {@code int} value
+     * @throws IndexOutOfBoundsException if the field is out of the record
+     */
+    public int getInt(int offset) {
+        return buffer.getInt(position(offset, 4));
+    }
+
+    /**
+     * Returns the {@code long} at the given offset within the record.
+     *
+     * @param offset  the offset within the record
+     * @return the {@code long} value
+     * @throws IndexOutOfBoundsException if the field is out of the record
+     */
+    public long getLong(int offset) {
+        return buffer.getLong(position(offset, 8));
+    }
+
+    /**
+     * Returns the {@code float} at the given offset within the record.
+     *
+     * @param offset  the offset within the record
+     * @return the {@code float} value
+     * @throws IndexOutOfBoundsException if the field is out of the record
+     */
+    public float getFloat(int offset) {
+        return buffer.getFloat(position(offset, 4));
+    }
+
+    /**
+     * Returns the {@code double} at the given offset within the record.
+     *
+     * @param offset  the offset within the record
+     * @return the {@code double} value
+     * @throws IndexOutOfBoundsException if the field is out of the record
+     */
+    public double getDouble(int offset) {
+        return buffer.getDouble(position(offset, 8));
+    }
+
+    /**
+     * Copies the bytes of the record to the array.
+     *
+     * @param offset  the offset within the record
+     * @param dst  the destination array
+     * @param dstOffset  the offset in the destination array
+     * @param length  the number of bytes to copy
+     * @throws IndexOutOfBoundsException if the bytes are out of the record or the array
+     */
+    public void getBytes(int offset, byte[] dst, int dstOffset, int length) {
+        final int start = position(offset, length);
+        if (dstOffset < 0 || length > dst.length - dstOffset) {
+            throw new IndexOutOfBoundsException("Offset: " + dstOffset + ", Length: " + length
+                    + ", Array length: " + dst.length);
+        }
+        for (int i = 0; i < length; i++) {
+            dst[dstOffset + i] = buffer.get(start + i);
+        }
+    }
+
+    /**
+     * Returns the read-only view of the record bytes.
+     * The view is allocated on each call and refers to the source buffer.
+     *
+     * @return the read-only {@code ByteBuffer} of the record
+     */
+    public ByteBuffer asByteBuffer() {
+        final ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.limit(offset + size);
+        view.position(offset);
+        return view.slice().order(buffer.order());
+    }
+
+    /**
+     * Returns the record, which holds the copy of the bytes and is not moved by the source.
+     *
+     * @return the detached copy of the record
+     */
+    @Override
+    public RecordCursor copy() {
+        final byte[] bytes = new byte[size];
+        getBytes(0, bytes, 0, size);
+        return new RecordCursor(ByteBuffer.wrap(bytes).order(buffer.order()), 0, size, index);
+    }
+
+    /**
+     * Compares the bytes of the records. Records of the different sources
+     * and at the different indices are equal, if they have the same bytes.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof RecordCursor)) return false;
+        final RecordCursor other = (RecordCursor) obj;
+        if (size != other.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (buffer.get(offset + i) != other.buffer.get(other.offset + i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + buffer.get(offset + i);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordCursor{index=" + index + ", size=" + size + '}';
+    }
+
+    private int position(int fieldOffset, int width) {
+        if (fieldOffset < 0 || width < 0 || fieldOffset > size - width) {
+            throw new IndexOutOfBoundsException("Offset: " + fieldOffset + ", Width: " + width
+                    + ", Record size: " + size);
+        }
+        return offset + fieldOffset;
+    }
+}
@@ -0,0 +1,129 @@
+package com.annimon.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Iterator over the fixed-size records of the buffer or the memory-mapped file.
+ *
+ * <p>Each element is the same {@link RecordCursor}, which is moved to the next record,
+ * so no objects are allocated per record. Records are indexed, so the iterator is split
+ * by the ranges of records, and each part has its own cursor. Trailing bytes, which do not
+ * form the whole record, are ignored.
+ *
+ * <p>The file is mapped by segments of the whole number of records, so files larger
+ * than 2 GB are supported.
+ */
+final class RecordIterator extends SplittableIterator<RecordCursor> {
+
+    static final int SEGMENT_SIZE = 1 << 30;
+
+    /**
+     * Returns iterator over the records between the position and the limit of the buffer.
+     * Fields are read in the byte order of the buffer.
+     */
+    static RecordIterator of(ByteBuffer buffer, int recordSize) {
+        final ByteBuffer source = buffer.slice().order(buffer.order());
+        return new RecordIterator(new Source(source, recordSize), 0, source.remaining() / recordSize);
+    }
+
+    /**
+     * Returns iterator over the records of the file.
+     * The size of the file is read on the first traversal.
+     */
+    static RecordIterator of(File file, int recordSize, ByteOrder order) {
+        return of(file, recordSize, order, SEGMENT_SIZE);
+    }
+
+    static RecordIterator of(File file, int recordSize, ByteOrder order, int segmentSize) {
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("recordSize exceeds " + segmentSize + " bytes");
+        }
+        return new RecordIterator(new Source(file, recordSize, order, segmentSize), 0, UNBOUND);
+    }
+
+    private final Source source;
+    private final RecordCursor cursor;
+    private ByteBuffer segment;
+    private long segmentIndex = -1;
+
+    private RecordIterator(Source source, long index, long fence) {
+        super(index, fence);
+        this.source = source;
+        this.cursor = new RecordCursor(source.recordSize);
+    }
+
+    @Override
+    protected long bindFence() {
+        return source.file.length() / source.recordSize;
+    }
+
+    @Override
+    protected RecordCursor get(long position) {
+        final long segmentNumber = position / source.recordsPerSegment;
+        if (segmentNumber != segmentIndex) {
+            segment = source.segment(segmentNumber);
+            segmentIndex = segmentNumber;
+        }
+        final long record = position - segmentNumber * source.recordsPerSegment;
+        cursor.set(segment, (int) (record * source.recordSize), position);
+        return cursor;
+    }
+
+    @Override
+    protected SplittableIterator<RecordCursor> slice(long from, long to) {
+        // Cursor and mapped segment are per part, so parts can be traversed in different threads
+        return new RecordIterator(source, from, to);
+    }
+
+    /**
+     * Immutable description of the records, shared by the parts of the iterator.
+     */
+    private static final class Source {
+
+        final int recordSize;
+        final long recordsPerSegment;
+        final File file;
+        private final ByteBuffer buffer;
+        private final ByteOrder order;
+
+        Source(ByteBuffer buffer, int recordSize) {
+            this.buffer = buffer;
+            this.recordSize = recordSize;
+            this.recordsPerSegment = Long.MAX_VALUE;
+            this.file = null;
+            this.order = buffer.order();
+        }
+
+        Source(File file, int recordSize, ByteOrder order, int segmentSize) {
+            this.buffer = null;
+            this.recordSize = recordSize;
+            this.recordsPerSegment = segmentSize / recordSize;
+            this.file = file;
+            this.order = order;
+        }
+
+        ByteBuffer segment(long number) {
+            // Absolute reads do not change the buffer, so it is shared by the parts
+            if (buffer != null) return buffer;
+            try {
+                final RandomAccessFile raf = new RandomAccessFile(file, "r");
+                try {
+                    final FileChannel channel = raf.getChannel();
+                    final long start = number * recordsPerSegment * recordSize;
+                    final long size = Math.min(recordsPerSegment * recordSize, channel.size() - start);
+                    // Mapping stays valid after the channel is closed
+                    return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(0, size)).order(order);
+                } finally {
+                    raf.close();
+                }
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+}
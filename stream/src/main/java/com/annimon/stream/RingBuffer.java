@@ -0,0 +1,116 @@
+package com.annimon.stream;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-capacity circular buffer, which keeps the window of elements for {@code slidingWindow}.
+ *
+ * <p>Adding and removing elements does not allocate. The window can be copied to the new list
+ * or exposed through the read-only view, which is reused and reflects the window
+ * at the time of the last {@link #view()} call.
+ *
+ * @param <T> the type of the elements
+ */
+final class RingBuffer<T> {
+
+    private final Object[] elements;
+    private final View view;
+    private int head;
+    private int size;
+
+    RingBuffer(int capacity) {
+        elements = new Object[capacity];
+        view = new View();
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == elements.length;
+    }
+
+    /**
+     * Adds the element to the end of the buffer, which should not be full.
+     */
+    void add(T value) {
+        elements[index(size)] = value;
+        size++;
+    }
+
+    /**
+     * Removes up to {@code count} first elements.
+     * Removed slots are overwritten only by the following {@code add} calls.
+     */
+    void removeFirst(int count) {
+        if (count <= 0) return;
+        if (count >= size) {
+            head = 0;
+            size = 0;
+            return;
+        }
+        head = index(count);
+        size -= count;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        return (T) elements[index(index)];
+    }
+
+    /**
+     * Returns the new list with the elements of the buffer.
+     */
+    List<T> toList() {
+        final List<T> list = new ArrayList<T>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    /**
+     * Returns the read-only view of the current elements.
+     * The view is valid until the removed slots are overwritten by {@code add}.
+     */
+    List<T> view() {
+        view.update(head, size);
+        return view;
+    }
+
+    private int index(int offset) {
+        final int index = head + offset;
+        return (index >= elements.length) ? index - elements.length : index;
+    }
+
+    private final class View extends AbstractList<T> implements RandomAccess {
+
+        private int start;
+        private int length;
+
+        void update(int start, int length) {
+            this.start = start;
+            this.length = length;
+            modCount++;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+            }
+            final int i = start + index;
+            return (T) elements[(i >= elements.length) ? i - elements.length : i];
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.annimon.stream;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes elements to the binary output and reads them back.
+ *
+ * @param <T> the type of the elements
+ * @see Stream#sortedExternal(java.util.Comparator, com.annimon.stream.Serializer, int)
+ */
+public interface Serializer<T> {
+
+    /**
+     * Writes the element to the output.
+     *
+     * @param output  the output
+     * @param value  the element to write
+     * @throws IOException if an I/O error occurs
+     */
+    void write(DataOutput output, T value) throws IOException;
+
+    /**
+     * Reads the element, which was written by {@link #write(java.io.DataOutput, java.lang.Object)}.
+     *
+     * @param input  the input
+     * @return the element
+     * @throws IOException if an I/O error occurs
+     */
+    T read(DataInput input) throws IOException;
+
+    class Util {
+
+        private static final String UTF_8 = "UTF-8";
+
+        private Util() { }
+
+        /**
+         * Returns the {@code Serializer} of non-null strings in UTF-8 encoding.
+         * Unlike {@link DataOutput#writeUTF(java.lang.String)}, the length of the string is not limited.
+         *
+         * @return the {@code Serializer}
+         */
+        public static Serializer<String> strings() {
+            return new Serializer<String>() {
+                @Override
+                public void write(DataOutput output, String value) throws IOException {
+                    final byte[] bytes = value.getBytes(UTF_8);
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                }
+
+                @Override
+                public String read(DataInput input) throws IOException {
+                    final byte[] bytes = new byte[input.readInt()];
+                    input.readFully(bytes);
+                    return new String(bytes, UTF_8);
+                }
+            };
+        }
+
+        /**
+         * Returns the {@code Serializer} of non-null integers.
+         *
+         * @return the {@code Serializer}
+         */
+        public static Serializer<Integer> integers() {
+            return new Serializer<Integer>() {
+                @Override
+                public void write(DataOutput output, Integer value) throws IOException {
+                    output.writeInt(value);
+                }
+
+                @Override
+                public Integer read(DataInput input) throws IOException {
+                    return input.readInt();
+                }
+            };
+        }
+
+        /**
+         * Returns the {@code Serializer} of non-null longs.
+         *
+         * @return the {@code Serializer}
+         */
+        public static Serializer<Long> longs() {
+            return new Serializer<Long>() {
+                @Override
+                public void write(DataOutput output, Long value) throws IOException {
+                    output.writeLong(value);
+                }
+
+                @Override
+                public Long read(DataInput input) throws IOException {
+                    return input.readLong();
+                }
+            };
+        }
+    }
+}
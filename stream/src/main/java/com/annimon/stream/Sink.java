@@ -0,0 +1,44 @@
+package com.annimon.stream;
+
+/**
+ * Receiver of elements in push-based evaluation of stream.
+ *
+ * <p>Each stage wraps the sink of the next stage and forwards elements to it by the single
+ * {@link #accept(Object)} call. The chain of sinks shares the cancellation flag of the last one,
+ * so short-circuiting operations can stop the source.
+ *
+ * @param <T> the type of the elements
+ * @see Iterators#forEachRemaining(java.util.Iterator, com.annimon.stream.Sink)
+ */
+abstract class Sink<T> {
+
+    private final Sink<?> root;
+    private boolean cancelled;
+
+    /**
+     * Creates the last sink of the chain.
+     */
+    Sink() {
+        this.root = this;
+    }
+
+    /**
+     * Creates the sink, which forwards elements to the {@code downstream} sink.
+     */
+    Sink(Sink<?> downstream) {
+        this.root = downstream.root;
+    }
+
+    abstract void accept(T value);
+
+    /**
+     * Stops pushing the elements to the chain.
+     */
+    final void cancel() {
+        root.cancelled = true;
+    }
+
+    final boolean isCancelled() {
+        return root.cancelled;
+    }
+}
@@ -0,0 +1,155 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.BinaryOperator;
+
+/**
+ * Aggregate of the sliding window, which is updated in amortized O(1) time
+ * when the element enters or leaves the window.
+ *
+ * @param <T> the type of the elements
+ */
+abstract class SlidingReducer<T> {
+
+    /**
+     * Returns the reducer, which removes evicted elements from the aggregate by {@code inverse} function.
+     */
+    static <T> SlidingReducer<T> invertible(int windowSize, BinaryOperator<T> accumulator,
+                                            BinaryOperator<T> inverse) {
+        return new Invertible<T>(windowSize, accumulator, inverse);
+    }
+
+    /**
+     * Returns the reducer for the associative function without an inverse, like {@code min} or {@code max}.
+     */
+    static <T> SlidingReducer<T> associative(int windowSize, BinaryOperator<T> accumulator) {
+        return new TwoStacks<T>(windowSize, accumulator);
+    }
+
+    /**
+     * Returns the number of elements in the window.
+     */
+    abstract int size();
+
+    /**
+     * Adds the element to the end of the window, which should not be full.
+     */
+    abstract void add(T value);
+
+    /**
+     * Removes the first element of the window.
+     */
+    abstract void evict();
+
+    /**
+     * Returns the aggregate of the non-empty window.
+     */
+    abstract T result();
+
+    /**
+     * Keeps elements in the ring buffer and the running aggregate.
+     * Evicted element is subtracted from the aggregate.
+     */
+    private static final class Invertible<T> extends SlidingReducer<T> {
+
+        private final RingBuffer<T> elements;
+        private final BinaryOperator<T> accumulator;
+        private final BinaryOperator<T> inverse;
+        private T value;
+
+        Invertible(int windowSize, BinaryOperator<T> accumulator, BinaryOperator<T> inverse) {
+            this.elements = new RingBuffer<T>(windowSize);
+            this.accumulator = accumulator;
+            this.inverse = inverse;
+        }
+
+        @Override
+        int size() {
+            return elements.size();
+        }
+
+        @Override
+        void add(T value) {
+            if (elements.size() == 0) {
+                this.value = value;
+            } else {
+                this.value = accumulator.apply(this.value, value);
+            }
+            elements.add(value);
+        }
+
+        @Override
+        void evict() {
+            final T first = elements.get(0);
+            elements.removeFirst(1);
+            value = inverse.apply(value, first);
+        }
+
+        @Override
+        T result() {
+            return value;
+        }
+    }
+
+    /**
+     * Queue of two stacks. New elements are pushed to the back stack with its running aggregate.
+     * When the front stack is empty, all elements are moved there with the aggregates of their suffixes,
+     * so the top of the front stack holds the aggregate of all older elements.
+     */
+    private static final class TwoStacks<T> extends SlidingReducer<T> {
+
+        private final BinaryOperator<T> accumulator;
+        private final Object[] back;
+        private final Object[] front;
+        private int backSize;
+        private int frontSize;
+        private T backValue;
+
+        TwoStacks(int windowSize, BinaryOperator<T> accumulator) {
+            this.accumulator = accumulator;
+            back = new Object[windowSize];
+            front = new Object[windowSize];
+        }
+
+        @Override
+        int size() {
+            return backSize + frontSize;
+        }
+
+        @Override
+        void add(T value) {
+            if (backSize == 0) {
+                backValue = value;
+            } else {
+                backValue = accumulator.apply(backValue, value);
+            }
+            back[backSize++] = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        void evict() {
+            if (frontSize == 0) {
+                // Move elements in reverse order, so the oldest one is on top
+                T suffix = null;
+                for (int i = backSize - 1; i >= 0; i--) {
+                    final T element = (T) back[i];
+                    suffix = (i == backSize - 1) ? element : accumulator.apply(element, suffix);
+                    front[frontSize++] = suffix;
+                    back[i] = null;
+                }
+                backSize = 0;
+                backValue = null;
+            }
+            front[--frontSize] = null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        T result() {
+            if (frontSize == 0) return backValue;
+            final T frontValue = (T) front[frontSize - 1];
+            if (backSize == 0) return frontValue;
+            return accumulator.apply(frontValue, backValue);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.BiConsumer;
+import com.annimon.stream.function.Supplier;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Stage of {@code sorted} operation, optionally followed by {@code limit}.
+ *
+ * <p>When the number of elements is limited, only the first {@code limit} elements are retained
+ * in the {@link BoundedHeap}, which takes O(n log k) time and O(k) memory instead of
+ * sorting the whole input.
+ *
+ * @param <T> the type of the elements
+ */
+final class SortedIterator<T> extends LsaExtIterator<T> {
+
+    private static final long UNLIMITED = -1;
+
+    private final Stream<T> upstream;
+    private final Comparator<? super T> comparator;
+    private final long limit;
+    private Iterator<T> sortedIterator;
+
+    SortedIterator(Stream<T> upstream, Comparator<? super T> comparator) {
+        this(upstream, comparator, UNLIMITED);
+    }
+
+    private SortedIterator(Stream<T> upstream, Comparator<? super T> comparator, long limit) {
+        this.upstream = upstream;
+        this.comparator = comparator;
+        this.limit = limit;
+    }
+
+    boolean isStarted() {
+        return isInit;
+    }
+
+    /**
+     * Returns the stage, which sorts and retains at most {@code maxSize} first elements.
+     */
+    SortedIterator<T> limit(long maxSize) {
+        final long size = Math.max(0, maxSize);
+        final long newLimit = (limit == UNLIMITED) ? size : Math.min(limit, size);
+        return new SortedIterator<T>(upstream, comparator, newLimit);
+    }
+
+    @Override
+    protected void nextIteration() {
+        if (!isInit) {
+            sortedIterator = sort().iterator();
+        }
+        hasNext = sortedIterator.hasNext();
+        if (hasNext) {
+            next = sortedIterator.next();
+        }
+    }
+
+    @Override
+    long exactSize(boolean elementsSkipped) {
+        // Comparator may fail on elements, so they cannot be skipped
+        if (isInit || elementsSkipped) return Iterators.UNKNOWN_SIZE;
+        final long size = Iterators.exactSize(upstream.getIterator(), false);
+        if (size < 0 || limit == UNLIMITED) return size;
+        return Math.min(size, limit);
+    }
+
+    @Override
+    void forEachRemaining(Sink<? super T> sink) {
+        if (isInit) {
+            super.forEachRemaining(sink);
+            return;
+        }
+        isInit = true;
+        hasNext = false;
+        for (T value : sort()) {
+            if (sink.isCancelled()) break;
+            sink.accept(value);
+        }
+    }
+
+    private List<T> sort() {
+        if (limit == 0) {
+            // Upstream is not evaluated, as by plain limit(0)
+            return Collections.emptyList();
+        }
+        if (limit != UNLIMITED && limit < Stream.MAX_ARRAY_SIZE) {
+            final long size = Iterators.exactSize(upstream.getIterator(), false);
+            if (size < 0 || limit < size) {
+                return topK((int) limit);
+            }
+        }
+        final List<T> list = upstream.collectToList();
+        Collections.sort(list, comparator);
+        if (limit != UNLIMITED && limit < list.size()) {
+            return list.subList(0, (int) limit);
+        }
+        return list;
+    }
+
+    private List<T> topK(final int k) {
+        return upstream.collect(new Supplier<BoundedHeap<T>>() {
+            @Override
+            public BoundedHeap<T> get() {
+                return new BoundedHeap<T>(k, comparator);
+            }
+        }, new BiConsumer<BoundedHeap<T>, T>() {
+            @Override
+            public void accept(BoundedHeap<T> heap, T value) {
+                heap.offer(value);
+            }
+        }, new BiConsumer<BoundedHeap<T>, BoundedHeap<T>>() {
+            @Override
+            public void accept(BoundedHeap<T> heap1, BoundedHeap<T> heap2) {
+                heap1.addAll(heap2);
+            }
+        }).toSortedList();
+    }
+}
@@ -0,0 +1,359 @@
+package com.annimon.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+/**
+ * Iterator over an indexed source, which knows its bounds and can be split cheaply.
+ *
+ * <p>Iterates positions from {@code index} (inclusive) to {@code fence} (exclusive).
+ * Splitting does not touch the elements, it only divides the range of positions,
+ * so arrays, random access lists and ranges can be processed by parts independently.
+ *
+ * @param <T> the type of the elements
+ */
+abstract class SplittableIterator<T> extends LsaIterator<T> {
+
+    static final long UNBOUND = -1;
+
+    /**
+     * Returns {@code SplittableIterator} over the array elements.
+     *
+     * @param <T> the type of the elements
+     * @param array  the source array
+     * @return the new {@code SplittableIterator}
+     */
+    static <T> SplittableIterator<T> ofArray(final T[] array) {
+        return new OfArray<T>(array, 0, array.length);
+    }
+
+    private static final Class<?> ARRAYS_LIST = Arrays.asList().getClass();
+
+    /**
+     * Checks whether the list can be iterated by index instead of its own iterator.
+     *
+     * <p>Only {@code ArrayList} and {@code Arrays.asList} are accepted: their {@code get}
+     * does not depend on the iteration state. Other lists, e.g. {@code CopyOnWriteArrayList},
+     * iterate a snapshot or check modifications in their iterators, which should be kept.
+     *
+     * @param list  the list to check
+     * @return {@code true} if the list can be passed to {@link #ofList(java.util.List)}
+     */
+    static boolean isIndexable(Object list) {
+        final Class<?> listClass = (list == null) ? null : list.getClass();
+        return (listClass == ArrayList.class) || (listClass == ARRAYS_LIST);
+    }
+
+    /**
+     * Returns {@code SplittableIterator} over the list elements.
+     * The size of the list is read on the first traversal, so the list
+     * may be modified until terminal operation is executed. Modification, which changes
+     * the size of the list during the traversal, throws {@code ConcurrentModificationException}.
+     *
+     * @param <T> the type of the elements
+     * @param list  the source list, which should be {@link #isIndexable(java.lang.Object) indexable}
+     * @return the new {@code SplittableIterator}
+     */
+    static <T> SplittableIterator<T> ofList(final List<? extends T> list) {
+        return new OfList<T>(list, 0, UNBOUND, UNBOUND);
+    }
+
+    /**
+     * Returns {@code SplittableIterator} over the {@code int} range.
+     *
+     * @param from  the first value (inclusive)
+     * @param to  the last value (exclusive)
+     * @return the new {@code SplittableIterator}
+     */
+    static SplittableIterator<Integer> ofRange(int from, int to) {
+        return new OfIntRange(from, 0, Math.max(0L, (long) to - from));
+    }
+
+    /**
+     * Returns {@code SplittableIterator} over the {@code int} closed range.
+     *
+     * @param from  the first value (inclusive)
+     * @param to  the last value (inclusive)
+     * @return the new {@code SplittableIterator}
+     */
+    static SplittableIterator<Integer> ofRangeClosed(int from, int to) {
+        return new OfIntRange(from, 0, Math.max(0L, (long) to - from + 1));
+    }
+
+    /**
+     * Returns {@code SplittableIterator} over the {@code long} range.
+     *
+     * @param from  the first value (inclusive)
+     * @param to  the last value (exclusive)
+     * @return the new {@code SplittableIterator}
+     *         or {@code null} if the range size exceeds {@code Long.MAX_VALUE}
+     */
+    static SplittableIterator<Long> ofRange(long from, long to) {
+        if (from >= to) return new OfLongRange(from, 0, 0);
+        final long size = to - from;
+        if (size < 0) return null;
+        return new OfLongRange(from, 0, size);
+    }
+
+    /**
+     * Returns {@code SplittableIterator} over the {@code long} closed range.
+     *
+     * @param from  the first value (inclusive)
+     * @param to  the last value (inclusive)
+     * @return the new {@code SplittableIterator}
+     *         or {@code null} if the range size exceeds {@code Long.MAX_VALUE}
+     */
+    static SplittableIterator<Long> ofRangeClosed(long from, long to) {
+        if (from > to) return new OfLongRange(from, 0, 0);
+        final long size = to - from + 1;
+        if (size <= 0) return null;
+        return new OfLongRange(from, 0, size);
+    }
+
+    protected long index;
+    private long fence;
+    // Applied to the late-binding iterator when the fence is bound
+    private long pendingSkip = 0;
+    private long pendingLimit = Long.MAX_VALUE;
+
+    /**
+     * @param index  the first position (inclusive)
+     * @param fence  the last position (exclusive), or {@code -1} if it should be bound
+     *               by {@link #bindFence()} on the first use
+     */
+    SplittableIterator(long index, long fence) {
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * Returns an element at the given position.
+     */
+    protected abstract T get(long position);
+
+    /**
+     * Returns a new iterator over the same source with the given bounds.
+     */
+    protected abstract SplittableIterator<T> slice(long from, long to);
+
+    /**
+     * Computes the fence of late-binding iterator.
+     */
+    protected long bindFence() {
+        throw new IllegalStateException("Fence is not bound");
+    }
+
+    final long getFence() {
+        if (fence == UNBOUND) {
+            final long bound = bindFence();
+            index = Math.min(saturatedAdd(index, pendingSkip), bound);
+            fence = Math.min(bound, saturatedAdd(index, pendingLimit));
+        }
+        return fence;
+    }
+
+    /**
+     * Returns iterator over the remaining elements without the first {@code n} ones.
+     * Elements are skipped by moving the bound, so it takes O(1) time.
+     *
+     * @param n  the number of elements to skip
+     * @return the new {@code SplittableIterator}
+     */
+    final SplittableIterator<T> skip(long n) {
+        if (n <= 0) return this;
+        if (fence == UNBOUND) {
+            final SplittableIterator<T> result = slice(index, UNBOUND);
+            result.pendingSkip = saturatedAdd(pendingSkip, Math.min(n, pendingLimit));
+            result.pendingLimit = (pendingLimit == Long.MAX_VALUE)
+                    ? Long.MAX_VALUE
+                    : Math.max(0, pendingLimit - n);
+            return result;
+        }
+        return slice(Math.min(saturatedAdd(index, n), fence), fence);
+    }
+
+    /**
+     * Returns iterator over at most {@code maxSize} first remaining elements.
+     *
+     * @param maxSize  the number of elements to limit
+     * @return the new {@code SplittableIterator}
+     */
+    final SplittableIterator<T> limit(long maxSize) {
+        final long size = Math.max(0, maxSize);
+        if (fence == UNBOUND) {
+            final SplittableIterator<T> result = slice(index, UNBOUND);
+            result.pendingSkip = pendingSkip;
+            result.pendingLimit = Math.min(pendingLimit, size);
+            return result;
+        }
+        return slice(index, Math.min(fence, saturatedAdd(index, size)));
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        final long result = a + b;
+        return (result < a) ? Long.MAX_VALUE : result;
+    }
+
+    /**
+     * Returns the number of elements, which are not traversed yet.
+     *
+     * @return the number of remaining elements
+     */
+    final long remaining() {
+        return Math.max(0L, getFence() - index);
+    }
+
+    /**
+     * Splits off the first half of remaining elements.
+     *
+     * @return iterator over the first half, or {@code null} if there are too few elements
+     */
+    final SplittableIterator<T> trySplit() {
+        return trySplit(remaining() >>> 1);
+    }
+
+    /**
+     * Splits off at most {@code size} first remaining elements.
+     * This iterator continues after the returned part.
+     *
+     * @param size  the maximum number of elements in the prefix
+     * @return iterator over the prefix, or {@code null} if {@code size} is not positive
+     */
+    final SplittableIterator<T> trySplit(long size) {
+        if (size <= 0) return null;
+        final long from = index;
+        final long to = from + Math.min(size, remaining());
+        index = to;
+        return slice(from, to);
+    }
+
+    @Override
+    public boolean hasNext() {
+        // Binding of the fence may move the index
+        final long to = getFence();
+        return index < to;
+    }
+
+    @Override
+    public T nextIteration() {
+        return get(index++);
+    }
+
+    @Override
+    long exactSize(boolean elementsSkipped) {
+        return remaining();
+    }
+
+    @Override
+    void forEachRemaining(Sink<? super T> sink) {
+        final long to = getFence();
+        while (index < to && !sink.isCancelled()) {
+            sink.accept(get(index++));
+        }
+    }
+
+
+    private static final class OfArray<T> extends SplittableIterator<T> {
+
+        private final T[] array;
+
+        OfArray(T[] array, long index, long fence) {
+            super(index, fence);
+            this.array = array;
+        }
+
+        @Override
+        protected T get(long position) {
+            return array[(int) position];
+        }
+
+        @Override
+        protected SplittableIterator<T> slice(long from, long to) {
+            return new OfArray<T>(array, from, to);
+        }
+    }
+
+    private static final class OfList<T> extends SplittableIterator<T> {
+
+        private final List<? extends T> list;
+        // Size of the list, when the traversal is started
+        private long expectedSize;
+
+        OfList(List<? extends T> list, long index, long fence, long expectedSize) {
+            super(index, fence);
+            this.list = list;
+            this.expectedSize = expectedSize;
+        }
+
+        @Override
+        protected long bindFence() {
+            expectedSize = list.size();
+            return expectedSize;
+        }
+
+        @Override
+        protected T get(long position) {
+            checkSize();
+            return list.get((int) position);
+        }
+
+        @Override
+        protected SplittableIterator<T> slice(long from, long to) {
+            return new OfList<T>(list, from, to, expectedSize);
+        }
+
+        @Override
+        void forEachRemaining(Sink<? super T> sink) {
+            super.forEachRemaining(sink);
+            checkSize();
+        }
+
+        private void checkSize() {
+            if (expectedSize != UNBOUND && list.size() != expectedSize) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private static final class OfIntRange extends SplittableIterator<Integer> {
+
+        private final int start;
+
+        OfIntRange(int start, long index, long fence) {
+            super(index, fence);
+            this.start = start;
+        }
+
+        @Override
+        protected Integer get(long position) {
+            return (int) (start + position);
+        }
+
+        @Override
+        protected SplittableIterator<Integer> slice(long from, long to) {
+            return new OfIntRange(start, from, to);
+        }
+    }
+
+    private static final class OfLongRange extends SplittableIterator<Long> {
+
+        private final long start;
+
+        OfLongRange(long start, long index, long fence) {
+            super(index, fence);
+            this.start = start;
+        }
+
+        @Override
+        protected Long get(long position) {
+            return start + position;
+        }
+
+        @Override
+        protected SplittableIterator<Long> slice(long from, long to) {
+            return new OfLongRange(start, from, to);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.annimon.stream;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of the single stage of the instrumented stream.
+ *
+ * <p>Values are updated while the stream is evaluated, including the worker threads of a parallel stream.
+ * Time of the stage excludes time spent in the previous stages, so the slowest stage
+ * is the one with the greatest {@link #getNanoTime()}.
+ *
+ * @see Stream#instrumented(com.annimon.stream.PipelineListener)
+ */
+public final class StageMetrics {
+
+    static final int STREAMING = 0;
+    static final int BUFFERS_INPUT = 1;
+    static final int BUFFERS_OUTPUT = 2;
+
+    private final PipelineListener listener;
+    private final StageMetrics previous;
+    private final int index;
+    private final String name;
+    private final int buffering;
+    private final AtomicLong elementsOut;
+    private final AtomicLong nanoTime;
+    private final AtomicBoolean completed;
+
+    StageMetrics(PipelineListener listener, StageMetrics previous, String name, int buffering) {
+        this.listener = listener;
+        this.previous = previous;
+        this.index = (previous == null) ? 0 : previous.index + 1;
+        this.name = name;
+        this.buffering = buffering;
+        elementsOut = new AtomicLong();
+        nanoTime = new AtomicLong();
+        completed = new AtomicBoolean();
+    }
+
+    /**
+     * Returns the position of the stage in the stream, the source stage has index 0.
+     *
+     * @return the index of the stage
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the name of the operation, like {@code filter} or {@code sorted}.
+     *
+     * @return the name of the stage
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of elements received from the previous stage.
+     *
+     * @return the number of input elements
+     */
+    public long getElementsIn() {
+        if (previous == null) return getElementsOut();
+        return previous.getElementsOut();
+    }
+
+    /**
+     * Returns the number of elements passed to the next stage.
+     *
+     * @return the number of output elements
+     */
+    public long getElementsOut() {
+        return elementsOut.get();
+    }
+
+    /**
+     * Returns the time spent in the stage and its functions, excluding the previous stages.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanoTime() {
+        return nanoTime.get();
+    }
+
+    /**
+     * Returns the number of elements held in memory by the stage,
+     * like the elements to sort for {@code sorted} or the seen elements for {@code distinct}.
+     *
+     * @return the number of buffered elements, or {@code -1} if the stage does not buffer elements
+     */
+    public long getBufferedSize() {
+        switch (buffering) {
+            case BUFFERS_INPUT:
+                return getElementsIn();
+            case BUFFERS_OUTPUT:
+                return getElementsOut();
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Checks whether all elements of the stage are consumed.
+     *
+     * @return {@code true} if the stage is completed
+     */
+    public boolean isCompleted() {
+        return completed.get();
+    }
+
+    StageMetrics next(String name, int buffering) {
+        final StageMetrics stage = new StageMetrics(listener, this, name, buffering);
+        listener.onStageAdded(stage);
+        return stage;
+    }
+
+    void addElement() {
+        elementsOut.incrementAndGet();
+    }
+
+    void addNanoTime(long time) {
+        nanoTime.addAndGet(time);
+    }
+
+    void complete() {
+        if (completed.compareAndSet(false, true)) {
+            listener.onStageCompleted(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StageMetrics[%d %s: in=%d, out=%d, time=%dns, buffered=%d]",
+                index, name, getElementsIn(), getElementsOut(), getNanoTime(), getBufferedSize());
+    }
+}
@@ -0,0 +1,114 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.Function;
+import java.util.Iterator;
+
+/**
+ * Output of the instrumented stage, which counts elements and measures time of the stage.
+ *
+ * <p>Stream is instrumented if its iterator is a probe, so operations of not instrumented stream
+ * only check the type of the iterator when the stage is created.
+ * Time spent in the probe of the previous stage is subtracted, so each stage
+ * records only its own time. A probe is used by a single thread,
+ * so each chunk of a parallel stream gets its own probes of the shared {@link StageMetrics}.
+ *
+ * @param <T> the type of the elements
+ */
+final class StageProbe<T> extends LsaIterator<T> {
+
+    /**
+     * Returns the probe of the source stage.
+     */
+    static <T> StageProbe<T> source(Iterator<? extends T> iterator, PipelineListener listener) {
+        final StageMetrics metrics = new StageMetrics(listener, null, "source", StageMetrics.STREAMING);
+        listener.onStageAdded(metrics);
+        return new StageProbe<T>(iterator, null, metrics, true);
+    }
+
+    /**
+     * Returns the probe of the new stage if the {@code upstream} is instrumented,
+     * or the iterator of the stage itself otherwise.
+     */
+    static <T> Iterator<? extends T> wrap(Iterator<?> upstream, String name, int buffering,
+                                         Iterator<? extends T> iterator) {
+        if (!(upstream instanceof StageProbe)) {
+            return iterator;
+        }
+        final StageProbe<?> probe = (StageProbe<?>) upstream;
+        return new StageProbe<T>(iterator, probe, probe.metrics.next(name, buffering), true);
+    }
+
+    /**
+     * Returns the stage function of the parallel pipeline, which adds probe of the
+     * instrumented {@code output} to each chunk, or the {@code stage} itself otherwise.
+     */
+    static <T, R> Function<Iterator<? extends T>, Iterator<? extends R>> chunks(
+            Iterator<?> output, final Function<Iterator<? extends T>, Iterator<? extends R>> stage) {
+        if (!(output instanceof StageProbe)) {
+            return stage;
+        }
+        final StageMetrics metrics = ((StageProbe<?>) output).metrics;
+        return new Function<Iterator<? extends T>, Iterator<? extends R>>() {
+            @Override
+            public Iterator<? extends R> apply(Iterator<? extends T> iterator) {
+                final StageProbe<?> upstream = (iterator instanceof StageProbe)
+                        ? (StageProbe<?>) iterator
+                        : null;
+                // Chunk is only a part of the stage, so it does not complete it
+                return new StageProbe<R>(stage.apply(iterator), upstream, metrics, false);
+            }
+        };
+    }
+
+    private final Iterator<? extends T> iterator;
+    private final StageProbe<?> upstream;
+    private final StageMetrics metrics;
+    private final boolean completesStage;
+    private long nanoTime;
+
+    private StageProbe(Iterator<? extends T> iterator, StageProbe<?> upstream,
+                       StageMetrics metrics, boolean completesStage) {
+        this.iterator = iterator;
+        this.upstream = upstream;
+        this.metrics = metrics;
+        this.completesStage = completesStage;
+    }
+
+    @Override
+    public boolean hasNext() {
+        final long upstreamTime = upstreamTime();
+        final long start = System.nanoTime();
+        final boolean hasNext = iterator.hasNext();
+        record(start, upstreamTime);
+        if (!hasNext && completesStage) {
+            metrics.complete();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public T nextIteration() {
+        final long upstreamTime = upstreamTime();
+        final long start = System.nanoTime();
+        final T value = iterator.next();
+        record(start, upstreamTime);
+        metrics.addElement();
+        return value;
+    }
+
+    @Override
+    long exactSize(boolean elementsSkipped) {
+        // Size shortcuts of count and toArray would skip the probes, so the elements are traversed
+        return Iterators.UNKNOWN_SIZE;
+    }
+
+    private long upstreamTime() {
+        return (upstream == null) ? 0 : upstream.nanoTime;
+    }
+
+    private void record(long start, long upstreamTime) {
+        final long elapsed = System.nanoTime() - start;
+        nanoTime += elapsed;
+        metrics.addNanoTime(elapsed - (upstreamTime() - upstreamTime));
+    }
+}
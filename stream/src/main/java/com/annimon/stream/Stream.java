@@ -1,16 +1,20 @@
 package com.annimon.stream;
 
 import com.annimon.stream.function.*;
+import java.io.Closeable;
+import java.io.File;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 
 /**
@@ -18,7 +22,7 @@ import java.util.Set;
  *
  * @param <T> the type of the stream elements
  */
-public class Stream<T> {
+public class Stream<T> implements Closeable {
 
     /**
      * Returns an empty stream.
@@ -51,7 +55,7 @@ public class Stream<T> {
      */		
     // TODO: Only for binary level compatibility. Remove this method on next breaking-change version.
     public static <T> Stream<T> of(final List<? extends T> list) {
-        return of((Iterable) list);
+        return of((Iterable<? extends T>) list);
     }
 
     /**
@@ -65,6 +69,13 @@ public class Stream<T> {
         return new Stream<T>(iterator);
     }
 
+    /**
+     * Creates a sequential {@code Stream}, which shares the close handlers of a primitive stream.
+     */
+    static <T> Stream<T> of(Iterator<? extends T> iterator, CloseHandlers closeHandlers) {
+        return new Stream<T>(iterator, null, closeHandlers);
+    }
+
     /**
      * Creates a {@code Stream} from any class that implements {@code Iterable} interface.
      *
@@ -73,6 +84,9 @@ public class Stream<T> {
      * @return the new stream
      */
     public static <T> Stream<T> of(Iterable<? extends T> iterable) {
+        if (SplittableIterator.isIndexable(iterable)) {
+            return new Stream<T>(SplittableIterator.<T>ofList((List<? extends T>) iterable));
+        }
         return new Stream<T>(iterable);
     }
 
@@ -84,20 +98,137 @@ public class Stream<T> {
      * @return the new stream
      */
     public static <T> Stream<T> of(final T... elements) {
-        return new Stream<T>(new LsaIterator<T>() {
+        return new Stream<T>(SplittableIterator.ofArray(elements));
+    }
 
-            private int index = 0;
+    /**
+     * Creates a {@code Stream} of lines of the file.
+     *
+     * <p>The file is memory-mapped on the first traversal, line breaks ({@code \n} or {@code \r\n})
+     * are searched in the mapped bytes and each line is decoded only when it is passed to the stream.
+     * Charset should encode line breaks as single bytes, like {@code UTF-8} or {@code ISO-8859-1}.
+     * I/O errors are rethrown as {@code RuntimeException} by the terminal operation.
+     *
+     * <p>Parallel stream splits the file into byte ranges without reading it, each worker
+     * aligns its range to the line boundaries and processes the lines of the range independently.
+     *
+     * <p>Example:
+     * <pre>
+     * Stream.ofLines(file, charset)
+     *     .parallel()
+     *     .filter(isError)
+     *     .collect(Collectors.groupingByConcurrent(errorCode, Collectors.counting()))
+     * </pre>
+     *
+     * @param file  the file to read
+     * @param charset  the charset of the file
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code charset} encodes line breaks in several bytes
+     * @see #ofLineViews(java.io.File)
+     * @see #ofLineBuffers(java.io.File)
+     */
+    public static Stream<String> ofLines(File file, Charset charset) {
+        return new Stream<String>(MappedLineIterator.strings(file, charset));
+    }
 
-            @Override
-            public boolean hasNext() {
-                return index < elements.length;
-            }
+    /**
+     * Creates a {@code Stream} of lines of the file without copying them.
+     *
+     * <p>Same as {@link #ofLines(java.io.File, java.nio.charset.Charset)}, but each line is
+     * the same reusable {@code CharSequence}, which reads characters directly from the mapped bytes
+     * as {@code ISO-8859-1}, so {@code filter} can reject the line without creating a string.
+     * Multibyte characters of {@code UTF-8} are seen as several characters, while ASCII characters
+     * are the same. The view is a {@link Flyweight}, which is valid until the next line is read:
+     * stateful operations like {@code sorted} retain its string copy, but it should be converted
+     * by {@code toString()} before it is passed to {@code collect}.
+     *
+     * <p>Example:
+     * <pre>
+     * Stream.ofLineViews(file)
+     *     .filter(containsError)
+     *     .map(toString)
+     *     .collect(Collectors.toList())
+     * </pre>
+     *
+     * @param file  the file to read
+     * @return the new stream
+     * @see #ofLines(java.io.File, java.nio.charset.Charset)
+     */
+    public static Stream<CharSequence> ofLineViews(File file) {
+        return new Stream<CharSequence>(MappedLineIterator.views(file));
+    }
 
-            @Override
-            public T nextIteration() {
-                return elements[index++];
-            }
-        });
+    /**
+     * Creates a {@code Stream} of lines of the file as the bytes without copying them.
+     *
+     * <p>Each line is the same reusable read-only {@code ByteBuffer}, which position and limit
+     * bound the bytes of the line, without line break. The buffer is valid until the next line is read.
+     * Parallel stream splits the file as {@link #ofLines(java.io.File, java.nio.charset.Charset)} does.
+     *
+     * <p>Unlike {@link #ofLineViews(java.io.File)}, the buffer is not a {@link Flyweight}, so the stages,
+     * which retain elements ({@code sorted}, {@code distinct}, {@code groupBy}, {@code toArray} and others),
+     * would keep the same buffer for all lines. Each line should be copied before such stages,
+     * e.g. by {@code map} to a byte array, or reduced to a value, which does not refer to the buffer.
+     *
+     * @param file  the file to read
+     * @return the new stream
+     * @see #ofLines(java.io.File, java.nio.charset.Charset)
+     */
+    public static Stream<ByteBuffer> ofLineBuffers(File file) {
+        return new Stream<ByteBuffer>(MappedLineIterator.buffers(file));
+    }
+
+    /**
+     * Creates a {@code Stream} of fixed-size binary records of the buffer.
+     *
+     * <p>Records are read from the position to the limit of the buffer, trailing bytes, which
+     * do not form the whole record, are ignored. Each element is the same {@link RecordCursor},
+     * which is moved to the next record, so records are not allocated and {@code filter}
+     * can reject the record before it is copied. Fields are read in the byte order of the buffer.
+     * The size of the stream is known, {@code skip} and {@code limit} do not read the records,
+     * and parallel stream splits the records by ranges.
+     *
+     * <p>Cursor is a {@link Flyweight}: stateful operations like {@code sorted} or {@code distinct}
+     * retain its copies, but it should be copied by {@link RecordCursor#copy()} or mapped
+     * to the field values before it is passed to {@code collect} or {@code reduce}.
+     *
+     * @param buffer  the buffer of records
+     * @param recordSize  the size of a record in bytes
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code recordSize} is not positive
+     * @see #ofRecords(java.io.File, int, java.nio.ByteOrder)
+     */
+    public static Stream<RecordCursor> ofRecords(ByteBuffer buffer, int recordSize) {
+        if (recordSize <= 0) throw new IllegalArgumentException("recordSize must be positive");
+        return new Stream<RecordCursor>(RecordIterator.of(buffer, recordSize));
+    }
+
+    /**
+     * Creates a {@code Stream} of fixed-size binary records of the memory-mapped file.
+     *
+     * <p>Same as {@link #ofRecords(java.nio.ByteBuffer, int)}, but the file is mapped by segments
+     * on traversal, so files larger than 2 GB are supported. The size of the file is read
+     * when terminal operation is executed.
+     *
+     * <p>Example:
+     * <pre>
+     * // 64-byte ticks: long timestamp, int instrument, double price, ...
+     * Stream.ofRecords(file, 64, ByteOrder.LITTLE_ENDIAN)
+     *     .filter(r -&gt; r.getInt(8) == instrument)
+     *     .map(r -&gt; r.getDouble(12))
+     *     .collect(Collectors.averagingDouble(...))
+     * </pre>
+     *
+     * @param file  the file of records
+     * @param recordSize  the size of a record in bytes
+     * @param order  the byte order of the fields
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code recordSize} is not positive
+     * @see #ofRecords(java.nio.ByteBuffer, int)
+     */
+    public static Stream<RecordCursor> ofRecords(File file, int recordSize, ByteOrder order) {
+        if (recordSize <= 0) throw new IllegalArgumentException("recordSize must be positive");
+        return new Stream<RecordCursor>(RecordIterator.of(file, recordSize, order));
     }
 
     /**
@@ -107,22 +238,10 @@ public class Stream<T> {
      * @param from  the initial value (inclusive)
      * @param to  the upper bound (exclusive)
      * @return the new stream
+     * @see IntStream#range(int, int)
      */
     public static Stream<Integer> range(final int from, final int to) {
-        return new Stream<Integer>(new LsaIterator<Integer>() {
-
-            private int index = from;
-
-            @Override
-            public boolean hasNext() {
-                return index < to;
-            }
-
-            @Override
-            public Integer nextIteration() {
-                return index++;
-            }
-        });
+        return new Stream<Integer>(SplittableIterator.ofRange(from, to));
     }
 
     /**
@@ -146,8 +265,14 @@ public class Stream<T> {
      * @param from  the initial value (inclusive)
      * @param to  the upper bound (exclusive)
      * @return the new stream
+     * @see LongStream#range(long, long)
      */
     public static Stream<Long> range(final long from, final long to) {
+        final SplittableIterator<Long> splittable = SplittableIterator.ofRange(from, to);
+        if (splittable != null) {
+            return new Stream<Long>(splittable);
+        }
+        // Range size exceeds Long.MAX_VALUE
         return new Stream<Long>(new LsaIterator<Long>() {
 
             private long index = from;
@@ -185,27 +310,10 @@ public class Stream<T> {
      * @param from  the initial value (inclusive)
      * @param to  the upper bound (inclusive)
      * @return the new stream
+     * @see IntStream#rangeClosed(int, int)
      */
     public static Stream<Integer> rangeClosed(final int from, final int to) {
-        return new Stream<Integer>(new LsaIterator<Integer>() {
-
-            private int index = from;
-            private boolean hasNext = (index <= to);
-
-            @Override
-            public boolean hasNext() {
-                return hasNext;
-            }
-
-            @Override
-            public Integer nextIteration() {
-                if (index >= to) {
-                    hasNext = false;
-                    return to;
-                }
-                return index++;
-            }
-        });
+        return new Stream<Integer>(SplittableIterator.ofRangeClosed(from, to));
     }
 
     /**
@@ -229,8 +337,14 @@ public class Stream<T> {
      * @param from  the initial value (inclusive)
      * @param to  the upper bound (inclusive)
      * @return the new stream
+     * @see LongStream#rangeClosed(long, long)
      */
     public static Stream<Long> rangeClosed(final long from, final long to) {
+        final SplittableIterator<Long> splittable = SplittableIterator.ofRangeClosed(from, to);
+        if (splittable != null) {
+            return new Stream<Long>(splittable);
+        }
+        // Range size exceeds Long.MAX_VALUE
         return new Stream<Long>(new LsaIterator<Long>() {
 
             private long index = from;
@@ -331,7 +445,7 @@ public class Stream<T> {
     public static <T> Stream<T> concat(Stream<? extends T> stream1, Stream<? extends T> stream2) {
         final Iterator<? extends T> it1 = stream1.iterator;
         final Iterator<? extends T> it2 = stream2.iterator;
-        return new Stream<T>(new LsaExtIterator<T>() {
+        final Stream<T> result = new Stream<T>(new LsaExtIterator<T>() {
 
             @Override
             protected void nextIteration() {
@@ -348,6 +462,7 @@ public class Stream<T> {
                 hasNext = false;
             }
         });
+        return result.onClose(CloseHandlers.closing(stream1, stream2));
     }
 
     /**
@@ -364,7 +479,7 @@ public class Stream<T> {
     public static <F, S, R> Stream<R> zip(Stream<? extends F> stream1, Stream<? extends S> stream2, final BiFunction<? super F, ? super S, ? extends R> combiner) {
         final Iterator<? extends F> it1 = stream1.iterator;
         final Iterator<? extends S> it2 = stream2.iterator;
-        return new Stream<R>(new LsaIterator<R>() {
+        final Stream<R> result = new Stream<R>(new LsaIterator<R>() {
             @Override
             public boolean hasNext() {
                 return it1.hasNext() && it2.hasNext();
@@ -375,6 +490,7 @@ public class Stream<T> {
                 return combiner.apply(it1.next(), it2.next());
             }
         });
+        return result.onClose(CloseHandlers.closing(stream1, stream2));
     }
 
 
@@ -383,9 +499,35 @@ public class Stream<T> {
     static final String BAD_SIZE = "Stream size exceeds max array size";
 
     private final Iterator<? extends T> iterator;
+    private final ParallelPipeline<?, T> pipeline;
+    // Shared by all streams of the pipeline
+    private final CloseHandlers closeHandlers;
 
     private Stream(Iterator<? extends T> iterator) {
+        this(iterator, null, new CloseHandlers());
+    }
+
+    private Stream(Iterator<? extends T> iterator, ParallelPipeline<?, T> pipeline,
+                   CloseHandlers closeHandlers) {
         this.iterator = iterator;
+        this.pipeline = pipeline;
+        this.closeHandlers = closeHandlers;
+    }
+
+    /**
+     * Creates stream after the stateful operation, keeping execution mode
+     * and instrumentation of the {@code parent} stream.
+     */
+    private Stream(Stream<?> parent, String stageName, Iterator<? extends T> iterator) {
+        this(parent, stageName, StageMetrics.STREAMING, iterator);
+    }
+
+    private Stream(Stream<?> parent, String stageName, int buffering, Iterator<? extends T> iterator) {
+        this(parent, StageProbe.wrap(parent.iterator, stageName, buffering, iterator));
+    }
+
+    private Stream(Stream<?> parent, Iterator<? extends T> iterator) {
+        this(iterator, parent.isParallel() ? ParallelPipeline.<T>of(iterator) : null, parent.closeHandlers);
     }
 
     private Stream(Iterable<? extends T> iterable) {
@@ -401,6 +543,118 @@ public class Stream<T> {
         return iterator;
     }
 
+    /**
+     * Returns an equivalent stream, which is evaluated in parallel.
+     *
+     * <p>Elements of the source are split into chunks, which pass stateless intermediate
+     * operations ({@code filter}, {@code map}, {@code flatMap}, {@code peek}) and terminal
+     * operation in a shared pool of worker threads. Stateful intermediate operations
+     * ({@code sorted}, {@code distinct}, {@code limit} etc.) are evaluated sequentially
+     * and the stream stays parallel after them. Partial results are combined in encounter order.
+     *
+     * <p>Functions passed to parallel stream must be non-interfering and stateless.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @return the parallel stream
+     * @see #sequential()
+     */
+    public Stream<T> parallel() {
+        if (isParallel()) return this;
+        return new Stream<T>(iterator, ParallelPipeline.<T>of(iterator), closeHandlers);
+    }
+
+    /**
+     * Returns an equivalent stream, which is evaluated sequentially in the calling thread.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @return the sequential stream
+     * @see #parallel()
+     */
+    public Stream<T> sequential() {
+        if (!isParallel()) return this;
+        return new Stream<T>(iterator, null, closeHandlers);
+    }
+
+    /**
+     * Returns an equivalent stream, which reports metrics of its stages to the {@code listener}.
+     *
+     * <p>Each following operation is a stage with its own {@link StageMetrics}: number of elements
+     * passed in and out, time spent in the stage and its functions, and the number of elements
+     * buffered by {@code sorted}, {@code distinct} and {@code groupBy}. The stream before this call
+     * is reported as the {@code source} stage. Stages of the instrumented stream are not fused,
+     * so time is attributed to each operation, e.g. {@code sorted().limit(n)} sorts all elements.
+     *
+     * <p>Elements of the instrumented stream are always traversed, e.g. {@code count} does not
+     * use the known size of the source, so the metrics show the actual work of the stages.
+     *
+     * <p>Not instrumented stream has no overhead, operations only check whether the stream
+     * is instrumented when they are appended. Metrics of primitive streams are not collected.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * <p>Example:
+     * <pre>
+     * listener: collects metrics
+     * stream: [1, 2, 3, 4]
+     * stream.instrumented(listener).filter(isEven).toList()
+     * metrics: [source: in=4, out=4], [filter: in=4, out=2]
+     * </pre>
+     *
+     * @param listener  the listener of the stage metrics
+     * @return the instrumented stream
+     * @throws NullPointerException if {@code listener} is null
+     */
+    public Stream<T> instrumented(PipelineListener listener) {
+        Objects.requireNonNull(listener);
+        final Iterator<? extends T> source = StageProbe.<T>source(iterator, listener);
+        return new Stream<T>(source, isParallel() ? ParallelPipeline.<T>of(source) : null, closeHandlers);
+    }
+
+    /**
+     * Returns an equivalent stream with the additional close handler.
+     *
+     * <p>Handlers are shared by all streams of the pipeline, so {@link #close()} of any of them
+     * runs the handlers, which were registered before and after this operation.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param closeHandler  the handler to run when the stream is closed
+     * @return the stream with the close handler
+     * @throws NullPointerException if {@code closeHandler} is null
+     * @see #close()
+     */
+    public Stream<T> onClose(Runnable closeHandler) {
+        Objects.requireNonNull(closeHandler);
+        closeHandlers.add(closeHandler);
+        return this;
+    }
+
+    /**
+     * Runs close handlers of the stream pipeline, e.g. deletes temporary files of
+     * {@link #sortedExternal(java.util.Comparator, com.annimon.stream.Serializer, int)}.
+     *
+     * <p>Handlers are run once in the order they were registered. If a handler throws an exception,
+     * the remaining handlers are still run, and the first exception is rethrown.
+     * Closing is not required for the streams, which do not hold resources.
+     *
+     * @see #onClose(java.lang.Runnable)
+     */
+    @Override
+    public void close() {
+        closeHandlers.run();
+    }
+
+    /**
+     * Checks whether terminal operation of this stream will be evaluated in parallel.
+     *
+     * @return {@code true} if stream is parallel, {@code false} otherwise
+     */
+    public boolean isParallel() {
+        return pipeline != null;
+    }
+
     /**
      * Applies custom operator on stream.
      *
@@ -469,18 +723,11 @@ public class Stream<T> {
      * @return the new stream
      */
     public Stream<T> filter(final Predicate<? super T> predicate) {
-        return new Stream<T>(new LsaExtIterator<T>() {
+        return chain("filter", new Function<Iterator<? extends T>, Iterator<? extends T>>() {
 
             @Override
-            protected void nextIteration() {
-                while (iterator.hasNext()) {
-                    next = iterator.next();
-                    if (predicate.test(next)) {
-                        hasNext = true;
-                        return;
-                    }
-                }
-                hasNext = false;
+            public Iterator<? extends T> apply(Iterator<? extends T> iterator) {
+                return FusedIterator.filter(iterator, predicate);
             }
         });
     }
@@ -527,7 +774,30 @@ public class Stream<T> {
      * @return the new stream
      */
     public <R> Stream<R> map(final Function<? super T, ? extends R> mapper) {
-        return new Stream<R>(new LsaIterator<R>() {
+        return chain("map", new Function<Iterator<? extends T>, Iterator<? extends R>>() {
+
+            @Override
+            public Iterator<? extends R> apply(Iterator<? extends T> iterator) {
+                return FusedIterator.map(iterator, mapper);
+            }
+        });
+    }
+
+    /**
+     * Returns {@code IntStream} with elements that obtained by applying the given function.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * <p>The returned stream is evaluated sequentially, also when this stream is parallel.
+     * It shares the close handlers of this stream, so closing it closes the source,
+     * e.g. the file of {@link #ofLines(java.io.File, java.nio.charset.Charset)}.
+     *
+     * @param mapper  the mapper function used to apply to each element
+     * @return the new {@code IntStream}
+     * @see #map(com.annimon.stream.function.Function)
+     */
+    public IntStream mapToInt(final ToIntFunction<? super T> mapper) {
+        return new IntStream(new PrimitiveIterator.OfInt() {
 
             @Override
             public boolean hasNext() {
@@ -535,10 +805,66 @@ public class Stream<T> {
             }
 
             @Override
-            public R nextIteration() {
-                return mapper.apply(iterator.next());
+            public int nextInt() {
+                return mapper.applyAsInt(iterator.next());
             }
-        });
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code LongStream} with elements that obtained by applying the given function.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * <p>The returned stream is evaluated sequentially, also when this stream is parallel.
+     * It shares the close handlers of this stream, so closing it closes the source,
+     * e.g. the file of {@link #ofLines(java.io.File, java.nio.charset.Charset)}.
+     *
+     * @param mapper  the mapper function used to apply to each element
+     * @return the new {@code LongStream}
+     * @see #map(com.annimon.stream.function.Function)
+     */
+    public LongStream mapToLong(final ToLongFunction<? super T> mapper) {
+        return new LongStream(new PrimitiveIterator.OfLong() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return mapper.applyAsLong(iterator.next());
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns {@code DoubleStream} with elements that obtained by applying the given function.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * <p>The returned stream is evaluated sequentially, also when this stream is parallel.
+     * It shares the close handlers of this stream, so closing it closes the source,
+     * e.g. the file of {@link #ofLines(java.io.File, java.nio.charset.Charset)}.
+     *
+     * @param mapper  the mapper function used to apply to each element
+     * @return the new {@code DoubleStream}
+     * @see #map(com.annimon.stream.function.Function)
+     */
+    public DoubleStream mapToDouble(final ToDoubleFunction<? super T> mapper) {
+        return new DoubleStream(new PrimitiveIterator.OfDouble() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return mapper.applyAsDouble(iterator.next());
+            }
+        }, closeHandlers);
     }
 
     /**
@@ -551,32 +877,63 @@ public class Stream<T> {
      * @return the new stream
      */
     public <R> Stream<R> flatMap(final Function<? super T, ? extends Stream<? extends R>> mapper) {
-        return new Stream<R>(new LsaExtIterator<R>() {
-
-            private Iterator<? extends R> inner;
+        return chain("flatMap", new Function<Iterator<? extends T>, Iterator<? extends R>>() {
 
             @Override
-            protected void nextIteration() {
-                if ((inner != null) && inner.hasNext()) {
-                    next = inner.next();
-                    hasNext = true;
-                    return;
-                }
-                while (iterator.hasNext()) {
-                    if (inner == null || !inner.hasNext()) {
-                        final T arg = iterator.next();
-                        final Stream <? extends R> result = mapper.apply(arg);
-                        if (result != null) {
-                            inner = result.iterator;
+            public Iterator<? extends R> apply(final Iterator<? extends T> iterator) {
+                return new LsaExtIterator<R>() {
+
+                    private Iterator<? extends R> inner;
+
+                    @Override
+                    protected void nextIteration() {
+                        if ((inner != null) && inner.hasNext()) {
+                            next = inner.next();
+                            hasNext = true;
+                            return;
                         }
+                        while (iterator.hasNext()) {
+                            if (inner == null || !inner.hasNext()) {
+                                final T arg = iterator.next();
+                                final Stream <? extends R> result = mapper.apply(arg);
+                                if (result != null) {
+                                    inner = result.iterator;
+                                }
+                            }
+                            if ((inner != null) && inner.hasNext()) {
+                                next = inner.next();
+                                hasNext = true;
+                                return;
+                            }
+                        }
+                        hasNext = false;
                     }
-                    if ((inner != null) && inner.hasNext()) {
-                        next = inner.next();
-                        hasNext = true;
-                        return;
+
+                    @Override
+                    void forEachRemaining(final Sink<? super R> sink) {
+                        if (isInit) {
+                            super.forEachRemaining(sink);
+                            return;
+                        }
+                        Iterators.forEachRemaining(iterator, new Sink<T>(sink) {
+                            @Override
+                            void accept(T value) {
+                                final Stream<? extends R> result = mapper.apply(value);
+                                if (result == null) return;
+                                // Inner stream may be short-circuited itself, so it gets its own chain
+                                Iterators.forEachRemaining(result.iterator, new Sink<R>() {
+                                    @Override
+                                    void accept(R value) {
+                                        sink.accept(value);
+                                        if (sink.isCancelled()) {
+                                            cancel();
+                                        }
+                                    }
+                                });
+                            }
+                        });
                     }
-                }
-                hasNext = false;
+                };
             }
         });
     }
@@ -585,27 +942,154 @@ public class Stream<T> {
      * Returns {@code Stream} with distinct elements (as determinated by {@code equals} method).
      *
      * <p>This is a stateful intermediate operation.
+     * <p>Each element is emitted the first time it is encountered, so the encounter order is kept
+     * and the stream can be short-circuited by {@code limit} or {@code findFirst}
+     * even if this stream is infinite. Only the set of already seen elements is kept in memory.
      *
      * @return the new stream
      */
     public Stream<T> distinct() {
-        return new Stream<T>(new LsaExtIterator<T>() {
+        return new Stream<T>(this, "distinct", StageMetrics.BUFFERS_OUTPUT, new LsaIterator<T>() {
+
+            private final Set<T> seen = new HashSet<T>();
+            private boolean ready;
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                // Next distinct element is searched only when it is requested,
+                // so the infinite stream without new elements is not read after the last one
+                if (ready) return true;
+                while (iterator.hasNext()) {
+                    final T value = iterator.next();
+                    if (seen.add(Iterators.retain(value))) {
+                        next = value;
+                        ready = true;
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public T nextIteration() {
+                final T result = next;
+                next = null;
+                ready = false;
+                return result;
+            }
+
+            @Override
+            void forEachRemaining(final Sink<? super T> sink) {
+                if (ready) {
+                    super.forEachRemaining(sink);
+                    return;
+                }
+                Iterators.forEachRemaining(iterator, new Sink<T>(sink) {
+                    @Override
+                    void accept(T value) {
+                        if (seen.add(Iterators.retain(value))) {
+                            sink.accept(value);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Returns {@code Stream} with approximately distinct elements.
+     * Same as {@link #distinct()}, but uses fixed amount of memory,
+     * trading it for a chance to drop the element, which was not seen before.
+     *
+     * <p>This is a stateful intermediate operation.
+     *
+     * @param expectedInsertions  the expected number of distinct elements
+     * @param falsePositiveRate  the probability of dropping the new element, in range (0, 1)
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code expectedInsertions} is not positive
+     *         or {@code falsePositiveRate} is out of range
+     * @see #distinctApproximate(long, double, com.annimon.stream.function.Function, boolean)
+     */
+    public Stream<T> distinctApproximate(long expectedInsertions, double falsePositiveRate) {
+        return distinctApproximate(expectedInsertions, falsePositiveRate, UnaryOperator.Util.<T>identity(), false);
+    }
+
+    /**
+     * Returns {@code Stream} with elements, which keys are approximately distinct.
+     *
+     * <p>This is a stateful intermediate operation.
+     *
+     * @param <K> the type of the key
+     * @param expectedInsertions  the expected number of distinct keys
+     * @param falsePositiveRate  the probability of dropping the element with a new key, in range (0, 1)
+     * @param keyExtractor  the function that extracts the key from element
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code expectedInsertions} is not positive
+     *         or {@code falsePositiveRate} is out of range
+     * @see #distinctApproximate(long, double, com.annimon.stream.function.Function, boolean)
+     */
+    public <K> Stream<T> distinctApproximate(long expectedInsertions, double falsePositiveRate,
+                                             Function<? super T, ? extends K> keyExtractor) {
+        return distinctApproximate(expectedInsertions, falsePositiveRate, keyExtractor, false);
+    }
 
-            private Iterator<T> distinctIterator;
+    /**
+     * Returns {@code Stream} with elements, which keys are approximately distinct.
+     *
+     * <p>This is a stateful intermediate operation.
+     * <p>Seen keys are tracked by the Bloom filter, which size depends only on
+     * {@code expectedInsertions} and {@code falsePositiveRate}: about 9.6 bits per key for 1% rate.
+     * Element is dropped if its key was seen before, or with probability near {@code falsePositiveRate}
+     * if it was not. The rate grows if there are more distinct keys than expected.
+     * The bit array can be allocated in the direct {@code ByteBuffer} outside of the heap.
+     *
+     * <p>Example:
+     * <pre>
+     * expectedInsertions: 1000000, falsePositiveRate: 0.01
+     * elements: [1, 2, 1, 3, 2, 4]
+     * result: [1, 2, 3, 4]  (with 1% chance of losing each of them except first)
+     * </pre>
+     *
+     * @param <K> the type of the key
+     * @param expectedInsertions  the expected number of distinct keys
+     * @param falsePositiveRate  the probability of dropping the element with a new key, in range (0, 1)
+     * @param keyExtractor  the function that extracts the key from element
+     * @param offHeap  {@code true} to allocate the filter in the direct {@code ByteBuffer}
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code expectedInsertions} is not positive
+     *         or {@code falsePositiveRate} is out of range
+     */
+    public <K> Stream<T> distinctApproximate(long expectedInsertions, double falsePositiveRate,
+                                             final Function<? super T, ? extends K> keyExtractor,
+                                             boolean offHeap) {
+        final BloomFilter filter = new BloomFilter(expectedInsertions, falsePositiveRate, offHeap);
+        return new Stream<T>(this, "distinctApproximate", new LsaExtIterator<T>() {
 
             @Override
             protected void nextIteration() {
-                if (!isInit) {
-                    final Set<T> set = new HashSet<T>();
-                    while (iterator.hasNext()) {
-                        set.add(iterator.next());
+                while (hasNext = iterator.hasNext()) {
+                    next = iterator.next();
+                    if (filter.add(keyExtractor.apply(next))) {
+                        return;
                     }
-                    distinctIterator = set.iterator();
                 }
-                hasNext = distinctIterator.hasNext();
-                if (hasNext) {
-                    next = distinctIterator.next();
+            }
+
+            @Override
+            void forEachRemaining(final Sink<? super T> sink) {
+                if (isInit) {
+                    super.forEachRemaining(sink);
+                    return;
                 }
+                Iterators.forEachRemaining(iterator, new Sink<T>(sink) {
+                    @Override
+                    void accept(T value) {
+                        if (filter.add(keyExtractor.apply(value))) {
+                            sink.accept(value);
+                        }
+                    }
+                });
             }
         });
     }
@@ -641,23 +1125,78 @@ public class Stream<T> {
      * @return the new stream
      */
     public Stream<T> sorted(final Comparator<? super T> comparator) {
-        return new Stream<T>(new LsaExtIterator<T>() {
+        return new Stream<T>(this, "sorted", StageMetrics.BUFFERS_INPUT, new SortedIterator<T>(this, comparator));
+    }
 
-            private Iterator<T> sortedIterator;
+    /**
+     * Returns {@code Stream} with the first {@code k} elements in the order of provided {@code Comparator}.
+     * The result is the same as {@code sorted(comparator).limit(k)}, but only {@code k} elements
+     * are kept in memory and the time is O(n log k) instead of O(n log n).
+     *
+     * <p>This is a stateful intermediate operation.
+     *
+     * @param k  the number of elements to retain
+     * @param comparator  the {@code Comparator} to compare elements
+     * @return the new stream
+     * @see #sorted(java.util.Comparator)
+     */
+    public Stream<T> topK(int k, Comparator<? super T> comparator) {
+        return sorted(comparator).limit(k);
+    }
 
-            @Override
-            protected void nextIteration() {
-                if (!isInit) {
-                    final List<T> list = collectToList();
-                    Collections.sort(list, comparator);
-                    sortedIterator = list.iterator();
-                }
-                hasNext = sortedIterator.hasNext();
-                if (hasNext) {
-                    next = sortedIterator.next();
-                }
-            }
-        });
+    /**
+     * Returns {@code Stream} with sorted elements, which are not all kept in memory.
+     * Same as {@link #sortedExternal(java.util.Comparator, com.annimon.stream.Serializer, int, java.io.File)},
+     * but stores runs in the default temporary directory.
+     *
+     * <p>This is a stateful intermediate operation.
+     *
+     * @param comparator  the {@code Comparator} to compare elements
+     * @param serializer  the {@code Serializer} to write elements to the temporary files
+     * @param maxElementsInMemory  the maximum number of elements in the sorted run
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code maxElementsInMemory} is zero or negative
+     */
+    public Stream<T> sortedExternal(Comparator<? super T> comparator, Serializer<T> serializer,
+                                    int maxElementsInMemory) {
+        return sortedExternal(comparator, serializer, maxElementsInMemory, null);
+    }
+
+    /**
+     * Returns {@code Stream} with sorted elements, which are not all kept in memory.
+     *
+     * <p>Elements are sorted in runs of {@code maxElementsInMemory} elements, which are written
+     * to the temporary files by the {@code serializer}. Runs are merged lazily, so elements are
+     * emitted as the merge advances. If the stream fits into a single run, it is sorted in memory.
+     * At most 16 files are merged at once, more runs are merged by several passes.
+     * Sort is stable, temporary files are deleted when all elements of the run are emitted.
+     * If the stream is not fully consumed, e.g. by {@code findFirst}, the remaining files
+     * are deleted by {@link #close()}:
+     * <pre>
+     * Stream&lt;String&gt; stream = Stream.ofLines(file, charset).sortedExternal(...);
+     * try {
+     *     first = stream.findFirst();
+     * } finally {
+     *     stream.close();
+     * }
+     * </pre>
+     *
+     * <p>This is a stateful intermediate operation.
+     *
+     * @param comparator  the {@code Comparator} to compare elements
+     * @param serializer  the {@code Serializer} to write elements to the temporary files
+     * @param maxElementsInMemory  the maximum number of elements in the sorted run
+     * @param tempDirectory  the directory of temporary files, or {@code null} for the default temporary directory
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code maxElementsInMemory} is zero or negative
+     * @see #sorted(java.util.Comparator)
+     */
+    public Stream<T> sortedExternal(Comparator<? super T> comparator, Serializer<T> serializer,
+                                    int maxElementsInMemory, File tempDirectory) {
+        if (maxElementsInMemory <= 0) throw new IllegalArgumentException("maxElementsInMemory must be positive");
+        final ExternalSortIterator<T> sorter = new ExternalSortIterator<T>(
+                iterator, comparator, serializer, maxElementsInMemory, tempDirectory);
+        return new Stream<T>(this, "sortedExternal", sorter).onClose(CloseHandlers.closing(sorter));
     }
 
     /**
@@ -689,7 +1228,15 @@ public class Stream<T> {
      * @return the new stream
      */
     public <K> Stream<Map.Entry<K, List<T>>> groupBy(final Function<? super T, ? extends K> classifier) {
-        return Stream.of( collect(Collectors.groupingBy(classifier)) );
+        final Map<K, List<T>> groups = collect(Collectors.groupingBy(classifier,
+                Collectors.mapping(new Function<T, T>() {
+                    @Override
+                    public T apply(T value) {
+                        return Iterators.retain(value);
+                    }
+                }, Collectors.<T>toList())));
+        return new Stream<Map.Entry<K, List<T>>>(this, "groupBy", StageMetrics.BUFFERS_INPUT,
+                new LazyIterator<Map.Entry<K, List<T>>>(groups.entrySet()));
     }
 
     /**
@@ -706,7 +1253,7 @@ public class Stream<T> {
      * @return the new stream
      */
     public <K> Stream<List<T>> chunkBy(final Function<? super T, ? extends K> classifier) {
-        return new Stream<List<T>>(new LsaIterator<List<T>>() {
+        return new Stream<List<T>>(this, "chunkBy", new LsaIterator<List<T>>() {
             private T next;
             private boolean peekedNext;
 
@@ -721,7 +1268,8 @@ public class Stream<T> {
 
                 List<T> list = new ArrayList<T>();
                 do {
-                    list.add(takeNext());
+                    // Copy of the flyweight is made before the next element is peeked
+                    list.add(Iterators.retain(takeNext()));
                 }
                 while (iterator.hasNext() && key.equals(classifier.apply(peek())));
 
@@ -753,7 +1301,7 @@ public class Stream<T> {
      * @return the new stream
      */
     public Stream<T> sample(final int stepWidth) {
-        return slidingWindow(1, stepWidth).map(new Function<List<T>, T>() {
+        return slidingWindowView(1, stepWidth).map(new Function<List<T>, T>() {
             @Override
             public T apply(List<T> list) {
                 return list.get(0);
@@ -806,8 +1354,51 @@ public class Stream<T> {
      * @return the new stream
      */
     public Stream<List<T>> slidingWindow(final int windowSize, final int stepWidth) {
-        return new Stream<List<T>>(new LsaIterator<List<T>>() {
-            private final Queue<T> queue = new LinkedList<T>();
+        return slidingWindow(windowSize, stepWidth, false);
+    }
+
+    /**
+     * Same as {@link #slidingWindow(int)}, but emits read-only views over the internal buffer
+     * instead of the new lists. Each view is valid only until the next window is requested.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param windowSize  number of elements that will be emitted together in a list
+     * @return the new stream
+     * @see #slidingWindowView(int, int)
+     */
+    public Stream<List<T>> slidingWindowView(final int windowSize) {
+        return slidingWindowView(windowSize, 1);
+    }
+
+    /**
+     * Same as {@link #slidingWindow(int, int)}, but emits read-only views over the internal buffer
+     * instead of the new lists. Each view is valid only until the next window is requested,
+     * so it should be processed immediately and copied if it is needed later.
+     *
+     * <p>This is an intermediate operation.
+     * <p>Windows are kept in the fixed-size circular buffer and the same view instance is reused,
+     * so the operation does not allocate memory per element or per window.
+     *
+     * <p>Example:
+     * <pre>
+     * elements: [1, 2, 3, 4, 5, 6]             windowSize: 3   stepWidth: 1
+     *
+     * =&gt; [1, 2, 3], [2, 3, 4], [3, 4, 5], [4, 5, 6]  (the same List instance)
+     * </pre>
+     *
+     * @param windowSize  number of elements that will be emitted together in a list
+     * @param stepWidth  step width
+     * @return the new stream
+     * @see #slidingWindow(int, int)
+     */
+    public Stream<List<T>> slidingWindowView(final int windowSize, final int stepWidth) {
+        return slidingWindow(windowSize, stepWidth, true);
+    }
+
+    private Stream<List<T>> slidingWindow(final int windowSize, final int stepWidth, final boolean view) {
+        return new Stream<List<T>>(this, "slidingWindow", new LsaIterator<List<T>>() {
+            private final RingBuffer<T> buffer = new RingBuffer<T>(Math.max(0, windowSize));
 
             @Override
             public boolean hasNext() {
@@ -816,20 +1407,15 @@ public class Stream<T> {
 
             @Override
             public List<T> nextIteration() {
-                int i = queue.size();
-                while (iterator.hasNext() && i < windowSize) {
-                    queue.offer(iterator.next());
-                    i++;
+                while (!buffer.isFull() && iterator.hasNext()) {
+                    buffer.add(Iterators.retain(iterator.next()));
                 }
 
-                // the elements that are currently in the queue are the elements of our current window
-                List<T> list = new ArrayList<T>(queue);
+                // the elements that are currently in the buffer are the elements of our current window
+                final List<T> list = view ? buffer.view() : buffer.toList();
 
-                // remove stepWidth elements from the queue
-                int queueSize = queue.size();
-                for (int j = 0; j < stepWidth && j < queueSize; j++) {
-                    queue.poll();
-                }
+                // remove stepWidth elements, their slots are reused only by the next window
+                buffer.removeFirst(stepWidth);
 
                 // if the stepWidth is greater than the windowSize, skip (stepWidth - windowSize) elements
                 for (int j = windowSize; iterator.hasNext() && j < stepWidth; j++) {
@@ -842,15 +1428,77 @@ public class Stream<T> {
     }
 
     /**
-     * Perform provided action to each elements.
+     * Reduces each window of {@code windowSize} elements, sliding over the elements by 1.
+     * Yields the same results as {@code slidingWindow(windowSize).map(reduce(window))},
+     * but each step takes amortized O(1) time instead of O(windowSize).
      *
      * <p>This is an intermediate operation.
+     * <p>The accumulator must be associative, but not necessarily commutative, like {@code min},
+     * {@code max} or string concatenation. Aggregates of the window parts are kept in two stacks,
+     * so each step needs amortized three applications of the accumulator.
+     *
+     * <p>Example:
+     * <pre>
+     * windowSize: 3, accumulator: max
+     * elements: [1, 3, 2, 1, 1, 4]
+     * result: [3, 3, 2, 4]
+     * </pre>
      *
-     * @param action  the action to be performed on each element
+     * @param windowSize  number of elements in the window
+     * @param accumulator  the associative accumulation function
      * @return the new stream
+     * @throws IllegalArgumentException if {@code windowSize} is not positive
+     * @see #slidingWindow(int)
+     * @see #slidingReduce(int, com.annimon.stream.function.BinaryOperator, com.annimon.stream.function.BinaryOperator)
      */
-    public Stream<T> peek(final Consumer<? super T> action) {
-        return new Stream<T>(new LsaIterator<T>() {
+    public Stream<T> slidingReduce(final int windowSize, final BinaryOperator<T> accumulator) {
+        if (windowSize <= 0) throw new IllegalArgumentException("windowSize must be positive");
+        return slidingReduce(windowSize, new Supplier<SlidingReducer<T>>() {
+            @Override
+            public SlidingReducer<T> get() {
+                return SlidingReducer.associative(windowSize, accumulator);
+            }
+        });
+    }
+
+    /**
+     * Reduces each window of {@code windowSize} elements, sliding over the elements by 1.
+     * The element leaving the window is removed from the aggregate by the {@code inverse} function,
+     * so each step takes O(1) time.
+     *
+     * <p>This is an intermediate operation.
+     * <p>The {@code inverse} function should satisfy {@code inverse(accumulator(a, b), a) == b}
+     * for the aggregate {@code b} of newer elements, like subtraction for the sum.
+     * Note that rounding errors of floating point numbers may accumulate.
+     *
+     * <p>Example:
+     * <pre>
+     * windowSize: 3, accumulator: (a, b) -&gt; a + b, inverse: (a, b) -&gt; a - b
+     * elements: [1, 2, 3, 4, 5]
+     * result: [6, 9, 12]
+     * </pre>
+     *
+     * @param windowSize  number of elements in the window
+     * @param accumulator  the accumulation function
+     * @param inverse  the function that removes the element from the aggregate
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code windowSize} is not positive
+     * @see #slidingReduce(int, com.annimon.stream.function.BinaryOperator)
+     */
+    public Stream<T> slidingReduce(final int windowSize, final BinaryOperator<T> accumulator,
+                                   final BinaryOperator<T> inverse) {
+        if (windowSize <= 0) throw new IllegalArgumentException("windowSize must be positive");
+        return slidingReduce(windowSize, new Supplier<SlidingReducer<T>>() {
+            @Override
+            public SlidingReducer<T> get() {
+                return SlidingReducer.invertible(windowSize, accumulator, inverse);
+            }
+        });
+    }
+
+    private Stream<T> slidingReduce(final int windowSize, final Supplier<SlidingReducer<T>> reducerSupplier) {
+        return new Stream<T>(this, "slidingReduce", new LsaIterator<T>() {
+            private SlidingReducer<T> reducer;
 
             @Override
             public boolean hasNext() {
@@ -859,9 +1507,33 @@ public class Stream<T> {
 
             @Override
             public T nextIteration() {
-                final T value = iterator.next();
-                action.accept(value);
-                return value;
+                if (reducer == null) {
+                    reducer = reducerSupplier.get();
+                } else if (reducer.size() == windowSize) {
+                    reducer.evict();
+                }
+                do {
+                    reducer.add(Iterators.retain(iterator.next()));
+                } while (reducer.size() < windowSize && iterator.hasNext());
+                return reducer.result();
+            }
+        });
+    }
+
+    /**
+     * Perform provided action to each elements.
+     *
+     * <p>This is an intermediate operation.
+     *
+     * @param action  the action to be performed on each element
+     * @return the new stream
+     */
+    public Stream<T> peek(final Consumer<? super T> action) {
+        return chain("peek", new Function<Iterator<? extends T>, Iterator<? extends T>>() {
+
+            @Override
+            public Iterator<? extends T> apply(Iterator<? extends T> iterator) {
+                return FusedIterator.peek(iterator, action);
             }
         });
     }
@@ -875,7 +1547,7 @@ public class Stream<T> {
      * @return the new stream
      */
     public Stream<T> takeWhile(final Predicate<? super T> predicate) {
-        return new Stream<T>(new LsaExtIterator<T>() {
+        return new Stream<T>(this, "takeWhile", new LsaExtIterator<T>() {
 
             @Override
             protected void nextIteration() {
@@ -893,7 +1565,7 @@ public class Stream<T> {
      * @return the new stream
      */
     public Stream<T> dropWhile(final Predicate<? super T> predicate) {
-        return new Stream<T>(new LsaExtIterator<T>() {
+        return new Stream<T>(this, "dropWhile", new LsaExtIterator<T>() {
 
             @Override
             protected void nextIteration() {
@@ -924,7 +1596,15 @@ public class Stream<T> {
      * @return the new stream
      */
     public Stream<T> limit(final long maxSize) {
-        return new Stream<T>(new LsaIterator<T>() {
+        if ((iterator instanceof SortedIterator) && !((SortedIterator<?>) iterator).isStarted()) {
+            // sorted().limit(k) retains only k elements
+            return new Stream<T>(this, "limit", ((SortedIterator<? extends T>) iterator).limit(maxSize));
+        }
+        if (iterator instanceof SplittableIterator) {
+            // Indexed source is limited by moving the bound
+            return new Stream<T>(this, "limit", ((SplittableIterator<? extends T>) iterator).limit(maxSize));
+        }
+        return new Stream<T>(this, "limit", new LsaIterator<T>() {
 
             private long index = 0;
 
@@ -938,6 +1618,27 @@ public class Stream<T> {
                 index++;
                 return iterator.next();
             }
+
+            @Override
+            long exactSize(boolean elementsSkipped) {
+                final long size = Iterators.exactSize(iterator, elementsSkipped);
+                if (size < 0) return size;
+                return Math.max(0, Math.min(size, maxSize - index));
+            }
+
+            @Override
+            void forEachRemaining(final Sink<? super T> sink) {
+                if (index >= maxSize) return;
+                Iterators.forEachRemaining(iterator, new Sink<T>(sink) {
+                    @Override
+                    void accept(T value) {
+                        sink.accept(value);
+                        if (++index >= maxSize) {
+                            cancel();
+                        }
+                    }
+                });
+            }
         });
     }
 
@@ -950,7 +1651,11 @@ public class Stream<T> {
      * @return the new stream
      */
     public Stream<T> skip(final long n) {
-        return new Stream<T>(new LsaIterator<T>() {
+        if (iterator instanceof SplittableIterator) {
+            // Indexed source skips elements in O(1) without reading them
+            return new Stream<T>(this, "skip", ((SplittableIterator<? extends T>) iterator).skip(n));
+        }
+        return new Stream<T>(this, "skip", new LsaIterator<T>() {
 
             private long skippedCount;
 
@@ -970,6 +1675,27 @@ public class Stream<T> {
             public T nextIteration() {
                 return iterator.next();
             }
+
+            @Override
+            long exactSize(boolean elementsSkipped) {
+                final long size = Iterators.exactSize(iterator, elementsSkipped);
+                if (size < 0) return size;
+                return Math.max(0, size - Math.max(0, n - skippedCount));
+            }
+
+            @Override
+            void forEachRemaining(final Sink<? super T> sink) {
+                Iterators.forEachRemaining(iterator, new Sink<T>(sink) {
+                    @Override
+                    void accept(T value) {
+                        if (skippedCount < n) {
+                            skippedCount++;
+                        } else {
+                            sink.accept(value);
+                        }
+                    }
+                });
+            }
         });
     }
 
@@ -981,9 +1707,96 @@ public class Stream<T> {
      * @param action  the action to be performed on each element
      */
     public void forEach(final Consumer<? super T> action) {
-        while (iterator.hasNext()) {
-            action.accept(iterator.next());
+        if (isParallel()) {
+            pipeline.forEach(action);
+            return;
+        }
+        Iterators.forEachRemaining(iterator, new Sink<T>() {
+            @Override
+            void accept(T value) {
+                action.accept(value);
+            }
+        });
+    }
+
+    /**
+     * Performs the given action to each element in encounter order.
+     * Unlike {@link #forEach(com.annimon.stream.function.Consumer)}, for parallel stream
+     * the action is performed sequentially in the calling thread.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param action  the action to be performed on each element
+     */
+    public void forEachOrdered(final Consumer<? super T> action) {
+        if (isParallel()) {
+            pipeline.forEachOrdered(action);
+            return;
         }
+        forEach(action);
+    }
+
+    /**
+     * Writes each element to the {@code Writer} as a line.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param writer  the {@code Writer} to write to
+     * @see #forEachTo(java.io.Writer, java.lang.CharSequence, int)
+     */
+    public void forEachTo(Writer writer) {
+        forEachTo(writer, "\n");
+    }
+
+    /**
+     * Writes each element to the {@code Writer} followed by the separator.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param writer  the {@code Writer} to write to
+     * @param separator  the separator, which is written after each element
+     * @see #forEachTo(java.io.Writer, java.lang.CharSequence, int)
+     */
+    public void forEachTo(Writer writer, CharSequence separator) {
+        forEachTo(writer, separator, BufferedAppender.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes each element to the {@code Writer} followed by the separator.
+     *
+     * <p>{@code CharSequence} elements are written as is, other elements are converted
+     * by {@code String.valueOf}. Characters are copied into the buffer of {@code bufferSize}
+     * characters, which is written to the {@code writer} when it is full, so the memory
+     * does not depend on the size of the output and no string is created for {@code CharSequence}
+     * elements, e.g. for {@link #ofLineViews(java.io.File)}. When all elements are written,
+     * the {@code writer} is flushed, but not closed. Parallel stream writes elements
+     * in encounter order in the calling thread. {@code IOException} is rethrown
+     * as {@code RuntimeException}.
+     *
+     * <p>This is a terminal operation.
+     *
+     * <p>Example:
+     * <pre>
+     * Stream.ofLineViews(input)
+     *     .filter(containsError)
+     *     .forEachTo(writer, "\n", 65536)
+     * </pre>
+     *
+     * @param writer  the {@code Writer} to write to
+     * @param separator  the separator, which is written after each element
+     * @param bufferSize  the size of the buffer in characters
+     * @throws IllegalArgumentException if {@code bufferSize} is not positive
+     * @see Collectors#joiningTo(java.lang.Appendable, java.lang.CharSequence, java.lang.CharSequence, java.lang.CharSequence, int)
+     */
+    public void forEachTo(Writer writer, final CharSequence separator, int bufferSize) {
+        final BufferedAppender out = new BufferedAppender(writer, bufferSize);
+        forEachOrdered(new Consumer<T>() {
+            @Override
+            public void accept(T value) {
+                out.append(value).append(separator);
+            }
+        });
+        out.flush();
     }
 
     /**
@@ -996,13 +1809,19 @@ public class Stream<T> {
      * @param accumulator  the accumulation function
      * @return the result of the reduction
      */
-    public <R> R reduce(R identity, BiFunction<? super R, ? super T, ? extends R> accumulator) {
-        R result = identity;
-        while (iterator.hasNext()) {
-            final T value = iterator.next();
-            result = accumulator.apply(result, value);
-        }
-        return result;
+    public <R> R reduce(R identity, final BiFunction<? super R, ? super T, ? extends R> accumulator) {
+        // No combiner, so the accumulation goes in encounter order
+        final Object[] result = { identity };
+        forEachOrdered(new Consumer<T>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public void accept(T value) {
+                result[0] = accumulator.apply((R) result[0], value);
+            }
+        });
+        @SuppressWarnings("unchecked")
+        final R value = (R) result[0];
+        return value;
     }
 
     /**
@@ -1013,19 +1832,27 @@ public class Stream<T> {
      * @param accumulator  the accumulation function
      * @return the result of the reduction
      */
-    public Optional<T> reduce(BiFunction<T, T, T> accumulator) {
-        boolean foundAny = false;
-        T result = null;
-        while (iterator.hasNext()) {
-            final T value = iterator.next();
-            if (!foundAny) {
-                foundAny = true;
-                result = value;
-            } else {
-                result = accumulator.apply(result, value);
-            }
+    public Optional<T> reduce(final BiFunction<T, T, T> accumulator) {
+        if (isParallel()) {
+            return pipeline.reduce(accumulator);
         }
-        return foundAny ? Optional.of(result) : Optional.<T>empty();
+        final boolean[] foundAny = { false };
+        final Object[] result = { null };
+        Iterators.forEachRemaining(iterator, new Sink<T>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            void accept(T value) {
+                if (!foundAny[0]) {
+                    foundAny[0] = true;
+                    result[0] = value;
+                } else {
+                    result[0] = accumulator.apply((T) result[0], value);
+                }
+            }
+        });
+        @SuppressWarnings("unchecked")
+        final T value = (T) result[0];
+        return foundAny[0] ? Optional.of(value) : Optional.<T>empty();
     }
 
     /**
@@ -1056,6 +1883,25 @@ public class Stream<T> {
      * @return the result of collect elements
      */
     public <R> R[] toArray(IntFunction<R[]> generator) {
+        final long exactSize = Iterators.exactSize(iterator, false);
+        if (exactSize >= 0 && !isParallel()) {
+            if (exactSize >= MAX_ARRAY_SIZE) throw new IllegalArgumentException(BAD_SIZE);
+
+            // Fill the resulting array directly
+            final R[] result = generator.apply((int) exactSize);
+            Iterators.forEachRemaining(iterator, new Sink<T>() {
+
+                private int index = 0;
+
+                @SuppressWarnings("unchecked")
+                @Override
+                void accept(T value) {
+                    result[index++] = (R) Iterators.retain(value);
+                }
+            });
+            return result;
+        }
+
         final List<T> container = collectToList();
         final int size = container.size();
 
@@ -1081,18 +1927,47 @@ public class Stream<T> {
      * @return the result of collect elements
      * @see #collect(com.annimon.stream.Collector)
      */
-    public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator) {
-        R result = supplier.get();
-        while (iterator.hasNext()) {
-            final T value = iterator.next();
-            accumulator.accept(result, value);
-        }
+    public <R> R collect(Supplier<R> supplier, final BiConsumer<R, ? super T> accumulator) {
+        final R result = supplier.get();
+        forEachOrdered(new Consumer<T>() {
+            @Override
+            public void accept(T value) {
+                accumulator.accept(result, value);
+            }
+        });
         return result;
     }
 
+    /**
+     * Collects elements to {@code supplier} provided container by applying the given accumulation function.
+     * For parallel stream each chunk is collected to its own container
+     * and the containers are merged by the {@code combiner} function.
+     *
+     * <p>This is a terminal operation.
+     *
+     * @param <R> the type of the result
+     * @param supplier  the supplier function that provides container
+     * @param accumulator  the accumulation function
+     * @param combiner  the function that merges the second container into the first one
+     * @return the result of collect elements
+     * @see #collect(com.annimon.stream.function.Supplier, com.annimon.stream.function.BiConsumer)
+     */
+    public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator,
+            BiConsumer<R, R> combiner) {
+        if (isParallel()) {
+            return pipeline.collect(supplier, accumulator, combiner);
+        }
+        return collect(supplier, accumulator);
+    }
+
     /**
      * Collects elements with {@code collector} that encapsulates supplier, accumulator and combiner functions.
      *
+     * <p>Parallel stream uses {@link CombinableCollector} properties: {@code CONCURRENT} and {@code UNORDERED}
+     * collector is filled from all threads into the single container, collector with the combiner
+     * accumulates each chunk separately and merges partial containers. Other collectors
+     * accumulate elements sequentially in encounter order.
+     *
      * <p>This is a terminal operation.
      *
      * @param <R> the type of result
@@ -1102,13 +1977,30 @@ public class Stream<T> {
      * @see #collect(com.annimon.stream.function.Supplier, com.annimon.stream.function.BiConsumer)
      */
     public <R, A> R collect(Collector<? super T, A, R> collector) {
-        A container = collector.supplier().get();
-        while (iterator.hasNext()) {
-            final T value = iterator.next();
-            collector.accumulator().accept(container, value);
+        // Collector functions are resolved once per operation
+        final Set<Collector.Characteristics> characteristics = Collectors.characteristics(collector);
+        final BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        final A container;
+        if (isParallel() && characteristics.contains(Collector.Characteristics.CONCURRENT)
+                && characteristics.contains(Collector.Characteristics.UNORDERED)) {
+            container = collector.supplier().get();
+            pipeline.forEach(new Consumer<T>() {
+                @Override
+                public void accept(T value) {
+                    accumulator.accept(container, value);
+                }
+            });
+        } else if (isParallel() && Collectors.combiner(collector) != null) {
+            container = pipeline.collect(collector.supplier(), accumulator,
+                    Collectors.<A>combiner(collector));
+        } else {
+            final Supplier<A> supplier = Collectors.sizedSupplier(
+                    collector.supplier(), Iterators.exactSize(iterator, false));
+            container = collect(supplier, accumulator);
         }
-        if (collector.finisher() != null)
-            return collector.finisher().apply(container);
+        final Function<A, R> finisher = collector.finisher();
+        if (finisher != null && !characteristics.contains(Collector.Characteristics.IDENTITY_FINISH))
+            return finisher.apply(container);
         return Collectors.<A, R>castIdentity().apply(container);
     }
 
@@ -1144,12 +2036,21 @@ public class Stream<T> {
      * @return the count of elements
      */
     public long count() {
-        long count = 0;
-        while (iterator.hasNext()) {
-            iterator.next();
-            count++;
+        final long exactSize = Iterators.exactSize(iterator, true);
+        if (exactSize >= 0) {
+            return exactSize;
+        }
+        if (isParallel()) {
+            return pipeline.count();
         }
-        return count;
+        final long[] count = { 0 };
+        Iterators.forEachRemaining(iterator, new Sink<T>() {
+            @Override
+            void accept(T value) {
+                count[0]++;
+            }
+        });
+        return count[0];
     }
 
     /**
@@ -1207,36 +2108,48 @@ public class Stream<T> {
     private static final int MATCH_ALL = 1;
     private static final int MATCH_NONE = 2;
 
-    private boolean match(Predicate<? super T> predicate, int matchKind) {
+    private boolean match(final Predicate<? super T> predicate, int matchKind) {
         final boolean kindAny = (matchKind == MATCH_ANY);
         final boolean kindAll = (matchKind == MATCH_ALL);
 
-        while (iterator.hasNext()) {
-            final T value = iterator.next();
-
-            /*if (predicate.test(value)) {
-                // anyMatch -> true
-                // noneMatch -> false
-                if (!kindAll) {
-                    return matchAny;
-                }
-            } else {
-                // allMatch -> false
-                if (kindAll) {
-                    return false;
-                }
-            }*/
-            // match && !kindAll -> kindAny
-            // !match && kindAll -> false
-            final boolean match = predicate.test(value);
-            if (match ^ kindAll) {
-                return kindAny && match; // (match ? kindAny : false);
+        if (isParallel()) {
+            // allMatch -> no elements that do not match
+            if (kindAll) {
+                return !pipeline.anyMatch(Predicate.Util.<T>negate(predicate));
             }
+            final boolean found = pipeline.anyMatch(predicate);
+            return kindAny ? found : !found;
         }
+
         // anyMatch -> false
         // allMatch -> true
         // noneMatch -> true
-        return !kindAny;
+        final boolean[] result = { !kindAny };
+        Iterators.forEachRemaining(iterator, new Sink<T>() {
+            @Override
+            void accept(T value) {
+                /*if (predicate.test(value)) {
+                    // anyMatch -> true
+                    // noneMatch -> false
+                    if (!kindAll) {
+                        return matchAny;
+                    }
+                } else {
+                    // allMatch -> false
+                    if (kindAll) {
+                        return false;
+                    }
+                }*/
+                // match && !kindAll -> kindAny
+                // !match && kindAll -> false
+                final boolean match = predicate.test(value);
+                if (match ^ kindAll) {
+                    result[0] = kindAny && match; // (match ? kindAny : false);
+                    cancel();
+                }
+            }
+        });
+        return result[0];
     }
 
     @SafeVarargs
@@ -1244,11 +2157,29 @@ public class Stream<T> {
         return Arrays.copyOf(array, length);
     }
 
-    private List<T> collectToList() {
-        final List<T> container = new ArrayList<T>();
-        while (iterator.hasNext()) {
-            container.add(iterator.next());
+    private <R> Stream<R> chain(String stageName, Function<Iterator<? extends T>, Iterator<? extends R>> stage) {
+        final Iterator<? extends R> result = StageProbe.wrap(iterator, stageName, StageMetrics.STREAMING,
+                stage.apply(iterator));
+        if (isParallel()) {
+            return new Stream<R>(result, pipeline.then(StageProbe.chunks(result, stage)), closeHandlers);
+        }
+        return new Stream<R>(result, null, closeHandlers);
+    }
+
+    List<T> collectToList() {
+        if (isParallel()) {
+            return pipeline.toList();
         }
+        final long exactSize = Iterators.exactSize(iterator, false);
+        final List<T> container = (exactSize >= 0 && exactSize < MAX_ARRAY_SIZE)
+                ? new ArrayList<T>((int) exactSize)
+                : new ArrayList<T>();
+        Iterators.forEachRemaining(iterator, new Sink<T>() {
+            @Override
+            void accept(T value) {
+                container.add(Iterators.retain(value));
+            }
+        });
         return container;
     }
 
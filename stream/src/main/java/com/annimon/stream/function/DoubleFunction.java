@@ -0,0 +1,19 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents a function which produces result from {@code double}-valued input argument.
+ *
+ * @param <R> the type of the result of the function
+ * @see Function
+ */
+@FunctionalInterface
+public interface DoubleFunction<R> {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value  the function argument
+     * @return the function result
+     */
+    R apply(double value);
+}
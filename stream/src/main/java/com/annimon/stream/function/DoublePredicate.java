@@ -0,0 +1,18 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents a predicate (function with boolean type result) with {@code double} argument.
+ *
+ * @see Predicate
+ */
+@FunctionalInterface
+public interface DoublePredicate {
+
+    /**
+     * Tests the value for satisfying predicate.
+     *
+     * @param value  the value to be tested
+     * @return {@code true} if the value matches the predicate, otherwise {@code false}
+     */
+    boolean test(double value);
+}
@@ -0,0 +1,17 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents a function which supply a {@code double}-valued result.
+ *
+ * @see Supplier
+ */
+@FunctionalInterface
+public interface DoubleSupplier {
+
+    /**
+     * Gets a result.
+     *
+     * @return a result
+     */
+    double getAsDouble();
+}
@@ -0,0 +1,19 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents an operation on a single {@code double}-valued operand
+ * that produces a {@code double}-valued result.
+ *
+ * @see UnaryOperator
+ */
+@FunctionalInterface
+public interface DoubleUnaryOperator {
+
+    /**
+     * Applies this operator to the given operand.
+     *
+     * @param operand  the operand
+     * @return the operator result
+     */
+    double applyAsDouble(double operand);
+}
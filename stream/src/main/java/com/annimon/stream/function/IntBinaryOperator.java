@@ -0,0 +1,20 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents an operation on two {@code int}-valued operands
+ * that produces an {@code int}-valued result.
+ *
+ * @see BinaryOperator
+ */
+@FunctionalInterface
+public interface IntBinaryOperator {
+
+    /**
+     * Applies this operator to the given operands.
+     *
+     * @param left  the first operand
+     * @param right  the second operand
+     * @return the operator result
+     */
+    int applyAsInt(int left, int right);
+}
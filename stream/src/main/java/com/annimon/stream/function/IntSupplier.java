@@ -0,0 +1,17 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents a function which supply an {@code int}-valued result.
+ *
+ * @see Supplier
+ */
+@FunctionalInterface
+public interface IntSupplier {
+
+    /**
+     * Gets a result.
+     *
+     * @return a result
+     */
+    int getAsInt();
+}
@@ -0,0 +1,19 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents an operation on a single {@code int}-valued operand
+ * that produces an {@code int}-valued result.
+ *
+ * @see UnaryOperator
+ */
+@FunctionalInterface
+public interface IntUnaryOperator {
+
+    /**
+     * Applies this operator to the given operand.
+     *
+     * @param operand  the operand
+     * @return the operator result
+     */
+    int applyAsInt(int operand);
+}
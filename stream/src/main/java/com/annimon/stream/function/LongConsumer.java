@@ -0,0 +1,17 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents an operation on {@code long}-valued input argument.
+ *
+ * @see Consumer
+ */
+@FunctionalInterface
+public interface LongConsumer {
+
+    /**
+     * Performs operation on the given argument.
+     *
+     * @param value  the input argument
+     */
+    void accept(long value);
+}
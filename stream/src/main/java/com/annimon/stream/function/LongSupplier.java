@@ -0,0 +1,17 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents a function which supply a {@code long}-valued result.
+ *
+ * @see Supplier
+ */
+@FunctionalInterface
+public interface LongSupplier {
+
+    /**
+     * Gets a result.
+     *
+     * @return a result
+     */
+    long getAsLong();
+}
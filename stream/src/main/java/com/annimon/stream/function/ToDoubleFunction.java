@@ -0,0 +1,19 @@
+package com.annimon.stream.function;
+
+/**
+ * Represents a function which produces a {@code double}-valued result from input argument.
+ *
+ * @param <T> the type of the input of the function
+ * @see Function
+ */
+@FunctionalInterface
+public interface ToDoubleFunction<T> {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param t  an argument
+     * @return the function result
+     */
+    double applyAsDouble(T t);
+}
@@ -0,0 +1,82 @@
+package com.annimon.stream;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code BloomFilter}.
+ *
+ * @see com.annimon.stream.BloomFilter
+ */
+public class BloomFilterTest {
+
+    @Test
+    public void testSize() {
+        final BloomFilter filter = new BloomFilter(1000, 0.01, false);
+        // 9585 optimal bits, rounded up to 64-bit words
+        assertEquals(9600, filter.bitSize());
+        assertEquals(7, filter.hashFunctions());
+    }
+
+    @Test
+    public void testAddedElementsAreRemembered() {
+        final BloomFilter filter = new BloomFilter(1000, 0.01, false);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(filter.add(i));
+        }
+        assertFalse(filter.add(999L));
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        final BloomFilter filter = new BloomFilter(10000, 0.01, false);
+        for (int i = 0; i < 10000; i++) {
+            filter.add("key" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 10000; i < 11000; i++) {
+            if (!filter.add("key" + i)) {
+                falsePositives++;
+            }
+        }
+        // About 10 expected, but checks are also added to the filter
+        assertTrue(falsePositives < 40);
+    }
+
+    @Test
+    public void testBitsAreAllocatedOnFirstAdd() {
+        final BloomFilter filter = new BloomFilter(1000, 0.01, false);
+        assertFalse(filter.isAllocated());
+        assertTrue(filter.add("a"));
+        assertTrue(filter.isAllocated());
+    }
+
+    @Test
+    public void testNotEvaluatedStreamDoesNotAllocateFilter() {
+        // Filter of 16 GB would not fit into the heap of the test
+        final Stream<Integer> stream = Stream.of(1, 2, 1).distinctApproximate(10000000000L, 0.000001);
+        assertNotNull(stream);
+    }
+
+    @Test
+    public void testOffHeap() {
+        final BloomFilter filter = new BloomFilter(100, 0.001, true);
+        assertTrue(filter.add("a"));
+        assertTrue(filter.add(null));
+        assertFalse(filter.add("a"));
+        assertFalse(filter.add(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidExpectedInsertions() {
+        new BloomFilter(0, 0.01, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFalsePositiveRate() {
+        new BloomFilter(10, 1.0, false);
+    }
+}
@@ -0,0 +1,88 @@
+package com.annimon.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code BoundedHeap}.
+ *
+ * @see com.annimon.stream.BoundedHeap
+ */
+public class BoundedHeapTest {
+
+    @Test
+    public void testRetainsSmallestElements() {
+        final BoundedHeap<Integer> heap = new BoundedHeap<Integer>(3, Functions.naturalOrder());
+        for (int value : new int[] {5, 1, 9, 3, 7, 2, 8}) {
+            heap.offer(value);
+        }
+        assertEquals(Arrays.asList(1, 2, 3), heap.toSortedList());
+    }
+
+    @Test
+    public void testLessElementsThanCapacity() {
+        final BoundedHeap<Integer> heap = new BoundedHeap<Integer>(100, Functions.naturalOrder());
+        heap.offer(2);
+        heap.offer(1);
+        assertEquals(Arrays.asList(1, 2), heap.toSortedList());
+    }
+
+    @Test
+    public void testZeroCapacity() {
+        final BoundedHeap<Integer> heap = new BoundedHeap<Integer>(0, Functions.naturalOrder());
+        heap.offer(1);
+        assertTrue(heap.toSortedList().isEmpty());
+    }
+
+    @Test
+    public void testEqualElementsAreStable() {
+        final BoundedHeap<String> heap = new BoundedHeap<String>(3, byFirstChar());
+        for (String value : new String[] {"b1", "a1", "b2", "a2", "a3", "a4"}) {
+            heap.offer(value);
+        }
+        assertEquals(Arrays.asList("a1", "a2", "a3"), heap.toSortedList());
+    }
+
+    @Test
+    public void testAddAllKeepsEncounterOrder() {
+        final BoundedHeap<String> first = new BoundedHeap<String>(3, byFirstChar());
+        first.offer("b1");
+        first.offer("a1");
+        final BoundedHeap<String> second = new BoundedHeap<String>(3, byFirstChar());
+        second.offer("a2");
+        second.offer("b2");
+        second.offer("a3");
+        first.addAll(second);
+        assertEquals(Arrays.asList("a1", "a2", "a3"), first.toSortedList());
+    }
+
+    @Test
+    public void testSameAsSort() {
+        final Random random = new Random(42);
+        final List<Integer> input = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            input.add(random.nextInt(100));
+        }
+        final BoundedHeap<Integer> heap = new BoundedHeap<Integer>(50, Functions.naturalOrder());
+        for (Integer value : input) {
+            heap.offer(value);
+        }
+        Collections.sort(input);
+        assertEquals(input.subList(0, 50), heap.toSortedList());
+    }
+
+    private static Comparator<String> byFirstChar() {
+        return new Comparator<String>() {
+            @Override
+            public int compare(String s1, String s2) {
+                return s1.charAt(0) - s2.charAt(0);
+            }
+        };
+    }
+}
@@ -1,16 +1,25 @@
 package com.annimon.stream;
 
+import com.annimon.stream.function.BiConsumer;
 import com.annimon.stream.function.BinaryOperator;
 import com.annimon.stream.function.Function;
 import com.annimon.stream.function.Supplier;
+import com.annimon.stream.function.ToDoubleFunction;
+import com.annimon.stream.function.ToIntFunction;
+import com.annimon.stream.function.ToLongFunction;
 import com.annimon.stream.function.UnaryOperator;
 import static com.annimon.stream.test.CommonMatcher.hasOnlyPrivateConstructors;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 import org.junit.Test;
@@ -22,6 +31,13 @@ import org.junit.Test;
  */
 public class CollectorsTest {
 
+    private static final ToIntFunction<Student> COURSE = new ToIntFunction<Student>() {
+        @Override
+        public int applyAsInt(Student student) {
+            return student.getCourse();
+        }
+    };
+
     @Test
     public void testToCollection() {
         Collection<Integer> result = Stream.range(0, 5)
@@ -121,6 +137,83 @@ public class CollectorsTest {
         assertEquals("prefix|a, b, c, def, , g|suffix", text);
     }
 
+    @Test
+    public void testJoiningTo() {
+        final StringBuilder sb = new StringBuilder("start:");
+        final StringBuilder result = Stream.of("a", "b", "c", "def", "", "g")
+                .collect(Collectors.joiningTo(sb, ", ", "prefix|", "|suffix"));
+        assertSame(sb, result);
+        assertEquals("start:prefix|a, b, c, def, , g|suffix", sb.toString());
+    }
+
+    @Test
+    public void testJoiningToEmptyStream() {
+        final StringBuilder sb = Stream.<String>empty()
+                .collect(Collectors.joiningTo(new StringBuilder(), ", ", "prefix|", "|suffix"));
+        assertEquals("prefix||suffix", sb.toString());
+    }
+
+    @Test
+    public void testJoiningToWritesThroughBuffer() {
+        final RecordingWriter writer = new RecordingWriter();
+        final Collector<CharSequence, ?, RecordingWriter> collector =
+                Collectors.joiningTo(writer, ",", "[", "]", 4);
+        final Stream<CharSequence> stream = Stream.<CharSequence>of("ab", "cdefghij", "k", new StringBuilder("lm"));
+        stream.collect(collector);
+        assertEquals("[ab,cdefghij,k,lm]", writer.text.toString());
+        assertEquals(4, writer.maxWrite);
+        assertEquals(1, writer.flushes);
+        assertFalse(writer.closed);
+        assertNull(Collectors.combiner(collector));
+    }
+
+    @Test
+    public void testJoiningToParallel() {
+        final StringBuilder sb = Stream.range(0, 10000)
+                .parallel()
+                .map(new Function<Integer, CharSequence>() {
+                    @Override
+                    public CharSequence apply(Integer value) {
+                        return value.toString();
+                    }
+                })
+                .collect(Collectors.joiningTo(new StringBuilder(), ",", "", "", 16));
+        final String expected = Stream.range(0, 10000)
+                .map(new Function<Integer, CharSequence>() {
+                    @Override
+                    public CharSequence apply(Integer value) {
+                        return value.toString();
+                    }
+                })
+                .collect(Collectors.joining(","));
+        assertEquals(expected, sb.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testJoiningToInvalidBufferSize() {
+        Collectors.joiningTo(new StringBuilder(), ",", "", "", 0);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testJoiningToRethrowsIOException() {
+        Stream.<CharSequence>of("a").collect(Collectors.joiningTo(new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) throws IOException {
+                throw new IOException();
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) throws IOException {
+                throw new IOException();
+            }
+
+            @Override
+            public Appendable append(char c) throws IOException {
+                throw new IOException();
+            }
+        }));
+    }
+
     @Test
     public void testAveraging() {
         double avg = Stream.of(10, 20, 30, 40)
@@ -133,6 +226,30 @@ public class CollectorsTest {
         assertThat(avg, closeTo(2.5, 0.001));
     }
 
+    @Test
+    public void testAveragingIsCompensated() {
+        double avg = Stream.range(0, 10)
+                .collect(Collectors.averaging(new Function<Integer, Double>() {
+                    @Override
+                    public Double apply(Integer value) {
+                        return 0.1;
+                    }
+                }));
+        assertEquals(0.1, avg, 0.0);
+    }
+
+    @Test
+    public void testAveragingOfEmptyStreamIsZero() {
+        double avg = Stream.<Integer>empty()
+                .collect(Collectors.averaging(new Function<Integer, Double>() {
+                    @Override
+                    public Double apply(Integer value) {
+                        return value / 10d;
+                    }
+                }));
+        assertEquals(0d, avg, 0.0);
+    }
+
     @Test
     public void testCounting() {
         long count = Stream.range(0, 20)
@@ -140,6 +257,128 @@ public class CollectorsTest {
         assertEquals(20, count);
     }
 
+    @Test
+    public void testCountingInGroups() {
+        Map<String, Long> bySpeciality = Stream.of(Students.ALL)
+                .collect(Collectors.groupingBy(Students.speciality, Collectors.counting()));
+        assertThat(bySpeciality, allOf(
+                hasEntry("CS", 4L),
+                hasEntry("Economics", 3L),
+                hasEntry("Law", 2L)
+        ));
+    }
+
+    @Test
+    public void testSummingInt() {
+        int sum = Stream.of(Students.ALL).collect(Collectors.summingInt(COURSE));
+        assertEquals(19, sum);
+        assertEquals(0, (int) Stream.<Student>empty().collect(Collectors.summingInt(COURSE)));
+    }
+
+    @Test
+    public void testSummingLong() {
+        long sum = Stream.of(Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .collect(Collectors.summingLong(new ToLongFunction<Integer>() {
+                    @Override
+                    public long applyAsLong(Integer value) {
+                        return value;
+                    }
+                }));
+        assertEquals(2L * Integer.MAX_VALUE, sum);
+    }
+
+    @Test
+    public void testSummingDoubleIsCompensated() {
+        double sum = Stream.range(0, 10)
+                .collect(Collectors.summingDouble(new ToDoubleFunction<Integer>() {
+                    @Override
+                    public double applyAsDouble(Integer value) {
+                        return 0.1;
+                    }
+                }));
+        assertEquals(1.0, sum, 0.0);
+    }
+
+    @Test
+    public void testAveragingInt() {
+        double avg = Stream.of(Students.ALL).collect(Collectors.averagingInt(COURSE));
+        double large = Stream.of(Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .collect(Collectors.averagingInt(new ToIntFunction<Integer>() {
+                    @Override
+                    public int applyAsInt(Integer value) {
+                        return value;
+                    }
+                }));
+        assertEquals(Integer.MAX_VALUE, large, 0.0);
+        assertThat(avg, closeTo(19 / 9d, 0.0001));
+        assertEquals(0d, Stream.<Student>empty().collect(Collectors.averagingInt(COURSE)), 0.0);
+    }
+
+    @Test
+    public void testAveragingLong() {
+        double avg = Stream.of(1462060800000L, 1462060800003L)
+                .collect(Collectors.averagingLong(new ToLongFunction<Long>() {
+                    @Override
+                    public long applyAsLong(Long value) {
+                        return value;
+                    }
+                }));
+        assertEquals(1462060800001.5, avg, 0.0);
+    }
+
+    @Test
+    public void testAveragingDouble() {
+        final ToDoubleFunction<Integer> half = new ToDoubleFunction<Integer>() {
+            @Override
+            public double applyAsDouble(Integer value) {
+                return value / 2d;
+            }
+        };
+        assertEquals(1.25, Stream.of(1, 2, 3, 4).collect(Collectors.averagingDouble(half)), 0.0);
+        assertEquals(0d, Stream.<Integer>empty().collect(Collectors.averagingDouble(half)), 0.0);
+    }
+
+    @Test
+    public void testSummarizingInt() {
+        IntSummaryStatistics stats = Stream.of(Students.ALL).collect(Collectors.summarizingInt(COURSE));
+        assertEquals(9, stats.getCount());
+        assertEquals(19, stats.getSum());
+        assertEquals(1, stats.getMin());
+        assertEquals(4, stats.getMax());
+        assertThat(stats.getAverage(), closeTo(19 / 9d, 0.0001));
+    }
+
+    @Test
+    public void testSummarizingLong() {
+        LongSummaryStatistics stats = Stream.of(4L, -2L, 10L, 8L)
+                .collect(Collectors.summarizingLong(new ToLongFunction<Long>() {
+                    @Override
+                    public long applyAsLong(Long value) {
+                        return value;
+                    }
+                }));
+        assertEquals(4, stats.getCount());
+        assertEquals(20L, stats.getSum());
+        assertEquals(-2L, stats.getMin());
+        assertEquals(10L, stats.getMax());
+    }
+
+    @Test
+    public void testSummarizingDouble() {
+        DoubleSummaryStatistics stats = Stream.of("a", "bb", "ccc")
+                .collect(Collectors.summarizingDouble(new ToDoubleFunction<String>() {
+                    @Override
+                    public double applyAsDouble(String value) {
+                        return value.length() / 2d;
+                    }
+                }));
+        assertEquals(3, stats.getCount());
+        assertEquals(3d, stats.getSum(), 0.0);
+        assertEquals(0.5, stats.getMin(), 0.0);
+        assertEquals(1.5, stats.getMax(), 0.0);
+        assertEquals(1d, stats.getAverage(), 0.0);
+    }
+
     @Test
     public void testReducingMultiply() {
         long production = Stream.of(1, 2, 3, 4, 5).collect(
@@ -200,6 +439,51 @@ public class CollectorsTest {
         ));
     }
 
+    @Test
+    public void testGroupingByResolvesDownstreamOnce() {
+        final int[] calls = new int[3];
+        final Collector<Integer, List<Integer>, List<Integer>> downstream =
+                new Collector<Integer, List<Integer>, List<Integer>>() {
+            @Override
+            public Supplier<List<Integer>> supplier() {
+                calls[0]++;
+                return new Supplier<List<Integer>>() {
+                    @Override
+                    public List<Integer> get() {
+                        return new LinkedList<Integer>();
+                    }
+                };
+            }
+
+            @Override
+            public BiConsumer<List<Integer>, Integer> accumulator() {
+                calls[1]++;
+                return new BiConsumer<List<Integer>, Integer>() {
+                    @Override
+                    public void accept(List<Integer> list, Integer value) {
+                        list.add(value);
+                    }
+                };
+            }
+
+            @Override
+            public Function<List<Integer>, List<Integer>> finisher() {
+                calls[2]++;
+                return null;
+            }
+        };
+        Map<Integer, List<Integer>> byRemainder = Stream.range(0, 100)
+                .collect(Collectors.groupingBy(new Function<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value) {
+                        return value % 10;
+                    }
+                }, downstream));
+        assertEquals(10, byRemainder.size());
+        assertEquals(Arrays.asList(3, 13, 23, 33, 43, 53, 63, 73, 83, 93), byRemainder.get(3));
+        assertArrayEquals(new int[] {1, 1, 1}, calls);
+    }
+
     @Test
     public void testGroupingByStudentSpeciality() {
         Map<String, List<Student>> bySpeciality = Stream.of(Students.ALL)
@@ -322,8 +606,291 @@ public class CollectorsTest {
         assertThat(result, instanceOf(LinkedList.class));
     }
 
+    @Test
+    public void testCharacteristics() {
+        assertEquals(EnumSet.of(Collector.Characteristics.IDENTITY_FINISH),
+                characteristicsOf(Collectors.<Integer>toList()));
+        assertEquals(EnumSet.of(Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH),
+                characteristicsOf(Collectors.<Integer>toSet()));
+        assertTrue(characteristicsOf(Collectors.joining()).isEmpty());
+        assertTrue(characteristicsOf(Collectors.collectingAndThen(Collectors.<Integer>toList(),
+                UnaryOperator.Util.<List<Integer>>identity())).isEmpty());
+    }
+
+    @Test
+    public void testCharacteristicsOfPlainCollector() {
+        final Collector<Integer, int[], int[]> collector = new Collector<Integer, int[], int[]>() {
+            @Override
+            public Supplier<int[]> supplier() {
+                return null;
+            }
+
+            @Override
+            public BiConsumer<int[], Integer> accumulator() {
+                return null;
+            }
+
+            @Override
+            public Function<int[], int[]> finisher() {
+                return null;
+            }
+        };
+        assertEquals(EnumSet.of(Collector.Characteristics.IDENTITY_FINISH),
+                Collectors.characteristics(collector));
+        assertNull(Collectors.combiner(collector));
+    }
+
+    @Test
+    public void testCombinerToList() {
+        List<Integer> result = combineHalves(Collectors.<Integer>toList(),
+                Arrays.asList(1, 2), Arrays.asList(3, 4));
+        assertThat(result, contains(1, 2, 3, 4));
+    }
+
+    @Test
+    public void testCombinerJoining() {
+        final Collector<CharSequence, ?, String> joining = Collectors.joining(", ", "[", "]");
+        assertEquals("[a, b, c]", combineHalves(joining,
+                Arrays.<CharSequence>asList("a", "b"), Arrays.<CharSequence>asList("c")));
+        assertEquals("[c]", combineHalves(joining,
+                Arrays.<CharSequence>asList(), Arrays.<CharSequence>asList("c")));
+        assertEquals("[a]", combineHalves(joining,
+                Arrays.<CharSequence>asList("a"), Arrays.<CharSequence>asList()));
+    }
+
+    @Test
+    public void testCombinerToMapKeepsFirstValue() {
+        final Collector<String, ?, Map<Integer, String>> toMap = Collectors.toMap(
+                new Function<String, Integer>() {
+                    @Override
+                    public Integer apply(String value) {
+                        return value.length();
+                    }
+                }, UnaryOperator.Util.<String>identity());
+        Map<Integer, String> result = combineHalves(toMap,
+                Arrays.asList("a", "bb"), Arrays.asList("c", "ddd"));
+        assertEquals(3, result.size());
+        assertEquals("a", result.get(1));
+        assertEquals("bb", result.get(2));
+        assertEquals("ddd", result.get(3));
+    }
+
+    @Test
+    public void testCombinerGroupingBy() {
+        final Collector<Integer, ?, Map<Integer, Long>> grouping = Collectors.groupingBy(
+                new Function<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value) {
+                        return value % 3;
+                    }
+                }, Collectors.<Integer>counting());
+        Map<Integer, Long> result = combineHalves(grouping,
+                Arrays.asList(0, 1, 2, 3), Arrays.asList(4, 5, 6, 7, 9));
+        assertEquals(Long.valueOf(4), result.get(0));
+        assertEquals(Long.valueOf(3), result.get(1));
+        assertEquals(Long.valueOf(2), result.get(2));
+    }
+
+    @Test
+    public void testCombinerAveraging() {
+        final Collector<Integer, ?, Double> averaging = Collectors.averagingDouble(
+                new ToDoubleFunction<Integer>() {
+                    @Override
+                    public double applyAsDouble(Integer value) {
+                        return value;
+                    }
+                });
+        assertEquals(2.5, combineHalves(averaging, Arrays.asList(1, 2, 3), Arrays.asList(4)), 0.00001);
+    }
+
+    @Test
+    public void testParallelCollectEqualsSequential() {
+        final Function<Integer, Integer> remainder = new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                return value % 7;
+            }
+        };
+        final ToLongFunction<Integer> toLong = new ToLongFunction<Integer>() {
+            @Override
+            public long applyAsLong(Integer value) {
+                return value;
+            }
+        };
+        assertEquals(Stream.range(0, 50000).collect(Collectors.<Integer>toList()),
+                Stream.range(0, 50000).parallel().collect(Collectors.<Integer>toList()));
+        assertEquals(Stream.range(0, 50000).collect(Collectors.groupingBy(remainder)),
+                Stream.range(0, 50000).parallel().collect(Collectors.groupingBy(remainder)));
+        assertEquals(Stream.range(0, 50000).collect(Collectors.summingLong(toLong)),
+                Stream.range(0, 50000).parallel().collect(Collectors.summingLong(toLong)));
+        assertEquals(
+                Stream.range(0, 5000).map(Functions.<Integer>convertToString()).collect(Collectors.joining(",")),
+                Stream.range(0, 5000).parallel().map(Functions.<Integer>convertToString())
+                        .collect(Collectors.joining(",")));
+    }
+
+    @Test
+    public void testToConcurrentMap() {
+        ConcurrentMap<Integer, String> result = Stream.of("a", "bb", "c", "ddd")
+                .collect(Collectors.toConcurrentMap(new Function<String, Integer>() {
+                    @Override
+                    public Integer apply(String value) {
+                        return value.length();
+                    }
+                }, UnaryOperator.Util.<String>identity()));
+        assertThat(result, instanceOf(ConcurrentHashMap.class));
+        assertEquals(3, result.size());
+        assertEquals("a", result.get(1));
+        assertEquals("bb", result.get(2));
+        assertEquals("ddd", result.get(3));
+        assertTrue(characteristicsOf(Collectors.toConcurrentMap(
+                UnaryOperator.Util.<String>identity(), UnaryOperator.Util.<String>identity()))
+                .contains(Collector.Characteristics.CONCURRENT));
+    }
+
+    @Test
+    public void testGroupingByConcurrent() {
+        ConcurrentMap<Integer, List<Student>> byCourse = Stream.of(Students.ALL)
+                .collect(Collectors.groupingByConcurrent(new Function<Student, Integer>() {
+                    @Override
+                    public Integer apply(Student student) {
+                        return student.getCourse();
+                    }
+                }));
+        assertEquals(Stream.of(Students.ALL).collect(Collectors.groupingBy(new Function<Student, Integer>() {
+            @Override
+            public Integer apply(Student student) {
+                return student.getCourse();
+            }
+        })), byCourse);
+    }
+
+    @Test
+    public void testGroupingByConcurrentWithFinisher() {
+        ConcurrentMap<Integer, Double> averageAge = Stream.range(0, 10)
+                .collect(Collectors.groupingByConcurrent(new Function<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value) {
+                        return value % 2;
+                    }
+                }, Collectors.averagingInt(new ToIntFunction<Integer>() {
+                    @Override
+                    public int applyAsInt(Integer value) {
+                        return value;
+                    }
+                })));
+        assertEquals(4d, averageAge.get(0), 0.00001);
+        assertEquals(5d, averageAge.get(1), 0.00001);
+        assertEquals(EnumSet.of(Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED),
+                characteristicsOf(Collectors.groupingByConcurrent(
+                        UnaryOperator.Util.<Integer>identity(), Collectors.<Integer>counting())));
+    }
+
+    @Test
+    public void testGroupingByConcurrentFromManyThreads() throws InterruptedException {
+        final Collector<Integer, ?, ConcurrentMap<Integer, Long>> collector = Collectors.groupingByConcurrent(
+                new Function<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value) {
+                        return value % 10;
+                    }
+                }, Collectors.<Integer>counting());
+        final ConcurrentMap<Integer, Long> result = accumulateFromThreads(collector, 8, 10000);
+        assertEquals(10, result.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Long.valueOf(8000), result.get(i));
+        }
+    }
+
+    @Test
+    public void testParallelGroupingByConcurrent() {
+        final Function<Integer, Integer> remainder = new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                return value % 7;
+            }
+        };
+        Map<Integer, Long> expected = Stream.range(0, 50000)
+                .collect(Collectors.groupingBy(remainder, Collectors.<Integer>counting()));
+        Map<Integer, Long> actual = Stream.range(0, 50000).parallel()
+                .collect(Collectors.groupingByConcurrent(remainder, Collectors.<Integer>counting()));
+        assertEquals(expected, actual);
+    }
+
     @Test
     public void testPrivateConstructor() throws Exception {
         assertThat(Collectors.class, hasOnlyPrivateConstructors());
     }
+
+    private static <T, A, R> Set<Collector.Characteristics> characteristicsOf(Collector<T, A, R> collector) {
+        return ((CombinableCollector<T, A, R>) collector).characteristics();
+    }
+
+    private static <T, A, R> R combineHalves(Collector<T, A, R> collector, List<? extends T> first,
+                                             List<? extends T> second) {
+        final CombinableCollector<T, A, R> combinable = (CombinableCollector<T, A, R>) collector;
+        final A left = combinable.supplier().get();
+        for (T value : first) {
+            combinable.accumulator().accept(left, value);
+        }
+        final A right = combinable.supplier().get();
+        for (T value : second) {
+            combinable.accumulator().accept(right, value);
+        }
+        final A result = combinable.combiner().apply(left, right);
+        if (combinable.finisher() == null) {
+            return Collectors.<A, R>castIdentity().apply(result);
+        }
+        return combinable.finisher().apply(result);
+    }
+
+    private static <T, A, R> R accumulateFromThreads(Collector<Integer, A, R> collector,
+                                                     int threads, final int count)
+            throws InterruptedException {
+        final A container = collector.supplier().get();
+        final BiConsumer<A, Integer> accumulator = collector.accumulator();
+        final Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < count; j++) {
+                        accumulator.accept(container, j);
+                    }
+                }
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (collector.finisher() == null) {
+            return Collectors.<A, R>castIdentity().apply(container);
+        }
+        return collector.finisher().apply(container);
+    }
+
+    static final class RecordingWriter extends Writer {
+
+        final StringBuilder text = new StringBuilder();
+        int maxWrite;
+        int flushes;
+        boolean closed;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            text.append(cbuf, off, len);
+            maxWrite = Math.max(maxWrite, len);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
 }
@@ -0,0 +1,243 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.DoubleBinaryOperator;
+import com.annimon.stream.function.DoubleConsumer;
+import com.annimon.stream.function.DoubleFunction;
+import com.annimon.stream.function.DoublePredicate;
+import com.annimon.stream.function.DoubleSupplier;
+import com.annimon.stream.function.DoubleUnaryOperator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import static com.annimon.stream.test.StreamMatcher.elements;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code DoubleStream}.
+ *
+ * @see com.annimon.stream.DoubleStream
+ */
+public class DoubleStreamTest {
+
+    @Test
+    public void testStreamEmpty() {
+        assertEquals(0, DoubleStream.empty().count());
+    }
+
+    @Test
+    public void testStreamOfDoubles() {
+        assertArrayEquals(new double[] {0.5, 1.5, -2}, DoubleStream.of(0.5, 1.5, -2).toArray(), 0.0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testStreamOfDoublesIteratorPastTheEnd() {
+        PrimitiveIterator.OfDouble iterator = DoubleStream.of(0.5).getIterator();
+        assertEquals(0.5, iterator.nextDouble(), 0.0);
+        iterator.nextDouble();
+    }
+
+    @Test
+    public void testGenerate() {
+        double[] result = DoubleStream.generate(new DoubleSupplier() {
+            @Override
+            public double getAsDouble() {
+                return 0.25;
+            }
+        }).limit(3).toArray();
+        assertArrayEquals(new double[] {0.25, 0.25, 0.25}, result, 0.0);
+    }
+
+    @Test
+    public void testIterate() {
+        double[] result = DoubleStream.iterate(1, halve).limit(4).toArray();
+        assertArrayEquals(new double[] {1, 0.5, 0.25, 0.125}, result, 0.0);
+    }
+
+    @Test
+    public void testBoxed() {
+        List<Double> expected = Arrays.asList(1.5, 2.5);
+        assertThat(DoubleStream.of(1.5, 2.5).boxed(), elements(is(expected)));
+    }
+
+    @Test(timeout = 5000)
+    public void testFilterOfInfiniteStreamDoesNotLookAhead() {
+        DoubleStream stream = DoubleStream.iterate(0, increment)
+                .filter(new DoublePredicate() {
+                    @Override
+                    public boolean test(double value) {
+                        return value == 5;
+                    }
+                });
+        assertEquals(5, stream.findFirst().getAsDouble(), 0.0);
+    }
+
+    @Test(timeout = 5000)
+    public void testFilterAndLimitOfInfiniteStream() {
+        double[] result = DoubleStream.iterate(0, increment)
+                .filter(new DoublePredicate() {
+                    @Override
+                    public boolean test(double value) {
+                        return value < 3;
+                    }
+                })
+                .limit(3)
+                .toArray();
+        assertArrayEquals(new double[] {0, 1, 2}, result, 0.0);
+    }
+
+    @Test
+    public void testFilterAndMap() {
+        double[] result = DoubleStream.of(1, 2, 3, 4)
+                .filter(new DoublePredicate() {
+                    @Override
+                    public boolean test(double value) {
+                        return value > 2;
+                    }
+                })
+                .map(halve)
+                .toArray();
+        assertArrayEquals(new double[] {1.5, 2}, result, 0.0);
+    }
+
+    @Test
+    public void testMapToObj() {
+        List<String> expected = Arrays.asList("0.5", "1.0");
+        Stream<String> stream = DoubleStream.of(0.5, 1).mapToObj(new DoubleFunction<String>() {
+            @Override
+            public String apply(double value) {
+                return Double.toString(value);
+            }
+        });
+        assertThat(stream, elements(is(expected)));
+    }
+
+    @Test
+    public void testPeekAndForEach() {
+        final double[] sum = new double[1];
+        DoubleStream.of(1, 2, 3)
+                .peek(new DoubleConsumer() {
+                    @Override
+                    public void accept(double value) {
+                        sum[0] += value;
+                    }
+                })
+                .forEach(new DoubleConsumer() {
+                    @Override
+                    public void accept(double value) {
+                        sum[0] += value;
+                    }
+                });
+        assertEquals(12, sum[0], 0.0);
+    }
+
+    @Test
+    public void testLimitAndSkip() {
+        assertArrayEquals(new double[] {2, 3},
+                DoubleStream.of(0, 1, 2, 3, 4).skip(2).limit(2).toArray(), 0.0);
+    }
+
+    @Test
+    public void testReduce() {
+        assertEquals(6, DoubleStream.of(1, 2, 3).reduce(0, sum), 0.0);
+        assertEquals(OptionalDouble.of(6), DoubleStream.of(1, 2, 3).reduce(sum));
+        assertFalse(DoubleStream.empty().reduce(sum).isPresent());
+    }
+
+    @Test
+    public void testSum() {
+        assertEquals(5.5, DoubleStream.of(1, 2, 2.5).sum(), 0.0);
+        assertEquals(0, DoubleStream.empty().sum(), 0.0);
+    }
+
+    @Test
+    public void testSumIsCompensated() {
+        double[] values = new double[10];
+        Arrays.fill(values, 0.1);
+        // Naive summation produces 0.9999999999999999
+        assertEquals(1.0, DoubleStream.of(values).sum(), 0.0);
+    }
+
+    @Test
+    public void testSumOfInfinities() {
+        assertEquals(Double.POSITIVE_INFINITY,
+                DoubleStream.of(1, Double.POSITIVE_INFINITY, 2).sum(), 0.0);
+    }
+
+    @Test
+    public void testAverage() {
+        assertEquals(OptionalDouble.of(2.5), DoubleStream.of(1, 2, 3, 4).average());
+        assertFalse(DoubleStream.empty().average().isPresent());
+    }
+
+    @Test
+    public void testAverageIsCompensated() {
+        double[] values = new double[10];
+        Arrays.fill(values, 0.1);
+        assertEquals(0.1, DoubleStream.of(values).average().getAsDouble(), 0.0);
+    }
+
+    @Test
+    public void testSummaryStatistics() {
+        DoubleSummaryStatistics stats = DoubleStream.of(0.5, -1, 4.5).summaryStatistics();
+        assertEquals(3, stats.getCount());
+        assertEquals(4, stats.getSum(), 0.0);
+        assertEquals(-1, stats.getMin(), 0.0);
+        assertEquals(4.5, stats.getMax(), 0.0);
+        assertEquals(4 / 3d, stats.getAverage(), 0.00001);
+    }
+
+    @Test
+    public void testSummaryStatisticsCombine() {
+        DoubleSummaryStatistics stats = DoubleStream.of(0.1, 0.1, 0.1, 0.1, 0.1).summaryStatistics();
+        stats.combine(DoubleStream.of(0.1, 0.1, 0.1, 0.1, 0.1).summaryStatistics());
+        assertEquals(10, stats.getCount());
+        assertEquals(1.0, stats.getSum(), 0.0);
+        assertEquals(0.1, stats.getMin(), 0.0);
+        assertEquals(0.1, stats.getMax(), 0.0);
+    }
+
+    @Test
+    public void testMinMax() {
+        assertEquals(-3.5, DoubleStream.of(5, -3.5, 8, 0).min().getAsDouble(), 0.0);
+        assertEquals(8, DoubleStream.of(5, -3.5, 8, 0).max().getAsDouble(), 0.0);
+        assertTrue(Double.isNaN(DoubleStream.of(5, Double.NaN).max().getAsDouble()));
+        assertFalse(DoubleStream.empty().min().isPresent());
+    }
+
+    @Test
+    public void testMatchAndFindFirst() {
+        DoublePredicate negative = new DoublePredicate() {
+            @Override
+            public boolean test(double value) {
+                return value < 0;
+            }
+        };
+        assertTrue(DoubleStream.of(1, -1).anyMatch(negative));
+        assertFalse(DoubleStream.of(1, -1).allMatch(negative));
+        assertTrue(DoubleStream.of(1, 2).noneMatch(negative));
+        assertEquals(OptionalDouble.of(-1), DoubleStream.of(1, -1, -2).filter(negative).findFirst());
+    }
+
+    private static final DoubleUnaryOperator increment = new DoubleUnaryOperator() {
+        @Override
+        public double applyAsDouble(double operand) {
+            return operand + 1;
+        }
+    };
+
+    private static final DoubleUnaryOperator halve = new DoubleUnaryOperator() {
+        @Override
+        public double applyAsDouble(double operand) {
+            return operand / 2;
+        }
+    };
+
+    private static final DoubleBinaryOperator sum = new DoubleBinaryOperator() {
+        @Override
+        public double applyAsDouble(double left, double right) {
+            return left + right;
+        }
+    };
+}
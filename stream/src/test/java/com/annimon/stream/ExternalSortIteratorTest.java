@@ -0,0 +1,205 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.Function;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@code ExternalSortIterator}.
+ *
+ * @see com.annimon.stream.ExternalSortIterator
+ */
+public class ExternalSortIteratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSortsInMemoryRun() throws IOException {
+        final File directory = folder.newFolder();
+        final ExternalSortIterator<Integer> iterator = new ExternalSortIterator<Integer>(
+                Arrays.asList(3, 1, 2).iterator(), Functions.naturalOrder(),
+                Serializer.Util.integers(), 10, directory);
+        assertEquals(Arrays.asList(1, 2, 3), toList(iterator));
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testSpillsAndMerges() throws IOException {
+        final File directory = folder.newFolder();
+        final List<Integer> input = new ArrayList<Integer>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            input.add(random.nextInt(500));
+        }
+        final ExternalSortIterator<Integer> iterator = new ExternalSortIterator<Integer>(
+                input.iterator(), Functions.naturalOrder(), Serializer.Util.integers(), 64, directory);
+
+        assertTrue(iterator.hasNext());
+        // All full runs are written before the first element is emitted
+        assertEquals(1000 / 64, directory.list().length);
+
+        final List<Integer> expected = new ArrayList<Integer>(input);
+        Collections.sort(expected);
+        final List<Integer> result = new ArrayList<Integer>();
+        result.add(iterator.next());
+        result.addAll(toList(iterator));
+        assertEquals(expected, result);
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testMergesInPassesOfBoundedWidth() throws IOException {
+        final File directory = folder.newFolder();
+        final List<Integer> input = new ArrayList<Integer>();
+        final Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            input.add(random.nextInt(100));
+        }
+        final ExternalSortIterator<Integer> iterator = new ExternalSortIterator<Integer>(
+                input.iterator(), Functions.naturalOrder(), Serializer.Util.integers(), 10, 4, directory);
+
+        assertTrue(iterator.hasNext());
+        // 100 runs are merged by passes into at most 4 files, which are read together
+        assertTrue(directory.list().length <= 4);
+
+        final List<Integer> expected = new ArrayList<Integer>(input);
+        Collections.sort(expected);
+        final List<Integer> result = new ArrayList<Integer>();
+        result.add(iterator.next());
+        result.addAll(toList(iterator));
+        assertEquals(expected, result);
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testMergeInPassesIsStable() throws IOException {
+        final List<String> input = new ArrayList<String>();
+        for (int i = 0; i < 50; i++) {
+            input.add((char) ('a' + i % 3) + Integer.toString(i));
+        }
+        final Comparator<String> byFirstChar = new Comparator<String>() {
+            @Override
+            public int compare(String s1, String s2) {
+                return s1.charAt(0) - s2.charAt(0);
+            }
+        };
+        final List<String> expected = new ArrayList<String>(input);
+        Collections.sort(expected, byFirstChar);
+        final ExternalSortIterator<String> iterator = new ExternalSortIterator<String>(
+                input.iterator(), byFirstChar, Serializer.Util.strings(), 3, 2, folder.newFolder());
+        assertEquals(expected, toList(iterator));
+    }
+
+    @Test
+    public void testCloseDeletesRunFiles() throws IOException {
+        final File directory = folder.newFolder();
+        final ExternalSortIterator<Integer> iterator = new ExternalSortIterator<Integer>(
+                Stream.range(0, 1000).getIterator(), Functions.naturalOrder(),
+                Serializer.Util.integers(), 100, directory);
+        assertEquals(0, (int) iterator.next());
+        assertEquals(10, directory.list().length);
+        iterator.close();
+        assertEquals(0, directory.list().length);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testStreamCloseDeletesRunFilesAfterShortCircuit() throws IOException {
+        final File directory = folder.newFolder();
+        final Stream<Integer> stream = Stream.range(0, 10000)
+                .map(new Function<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value) {
+                        return 9999 - value;
+                    }
+                })
+                .sortedExternal(Functions.naturalOrder(), Serializer.Util.integers(), 100, directory);
+        try {
+            assertEquals(0, (int) stream.findFirst().get());
+            // 100 runs are merged by passes into 7 runs of at most 16 ones
+            assertEquals(7, directory.list().length);
+        } finally {
+            stream.close();
+        }
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testMergeIsStable() throws IOException {
+        final List<String> input = Arrays.asList("b1", "a1", "b2", "a2", "b3", "a3", "a4");
+        final Comparator<String> byFirstChar = new Comparator<String>() {
+            @Override
+            public int compare(String s1, String s2) {
+                return s1.charAt(0) - s2.charAt(0);
+            }
+        };
+        final ExternalSortIterator<String> iterator = new ExternalSortIterator<String>(
+                input.iterator(), byFirstChar, Serializer.Util.strings(), 2, folder.newFolder());
+        assertEquals(Arrays.asList("a1", "a2", "a3", "a4", "b1", "b2", "b3"), toList(iterator));
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final ExternalSortIterator<Integer> iterator = new ExternalSortIterator<Integer>(
+                Collections.<Integer>emptyList().iterator(), Functions.naturalOrder(),
+                Serializer.Util.integers(), 2, folder.newFolder());
+        assertEquals(Collections.<Integer>emptyList(), toList(iterator));
+    }
+
+    @Test
+    public void testMergeIterator() {
+        final List<Iterator<Integer>> runs = new ArrayList<Iterator<Integer>>();
+        runs.add(Arrays.asList(1, 4, 7).iterator());
+        runs.add(Collections.<Integer>emptyList().iterator());
+        runs.add(Arrays.asList(2, 5, 8, 9).iterator());
+        runs.add(Arrays.asList(0, 3, 6).iterator());
+        final ExternalSortIterator.MergeIterator<Integer> iterator =
+                new ExternalSortIterator.MergeIterator<Integer>(runs, Functions.naturalOrder());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), toList(iterator));
+    }
+
+    @Test
+    public void testStringSerializer() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 70000; i++) {
+            sb.append('\u044F');
+        }
+        final String longString = sb.toString();
+        final Serializer<String> serializer = Serializer.Util.strings();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        serializer.write(output, "");
+        serializer.write(output, longString);
+        serializer.write(output, "abc");
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals("", serializer.read(input));
+        assertEquals(longString, serializer.read(input));
+        assertEquals("abc", serializer.read(input));
+    }
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        final List<T> result = new ArrayList<T>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
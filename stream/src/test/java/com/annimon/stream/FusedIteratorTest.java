@@ -0,0 +1,99 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.Consumer;
+import com.annimon.stream.function.Function;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code FusedIterator}.
+ *
+ * @see com.annimon.stream.FusedIterator
+ */
+public class FusedIteratorTest {
+
+    @Test
+    public void testAdjacentStagesAreFused() {
+        final Iterator<Integer> source = Arrays.asList(1, 2, 3, 4, 5, 6).iterator();
+        final Iterator<Integer> filtered = FusedIterator.filter(source, Functions.remainder(2));
+        final Iterator<Integer> mapped = FusedIterator.map(filtered, increment());
+        final Iterator<Integer> result = FusedIterator.filter(mapped, Functions.remainder(5));
+
+        assertEquals(Arrays.asList(5), toList(result));
+    }
+
+    @Test
+    public void testStartedIteratorIsNotFused() {
+        final Iterator<Integer> first = FusedIterator.map(Arrays.asList(1, 2, 3).iterator(), increment());
+        assertEquals(2, (int) first.next());
+        final Iterator<Integer> second = FusedIterator.map(first, increment());
+        assertEquals(Arrays.asList(4, 5), toList(second));
+    }
+
+    @Test
+    public void testFusedStreamStages() {
+        final List<Integer> peeked = new ArrayList<Integer>();
+        final List<String> result = Stream.range(0, 20)
+                .filter(Functions.remainder(2))
+                .peek(new Consumer<Integer>() {
+                    @Override
+                    public void accept(Integer value) {
+                        peeked.add(value);
+                    }
+                })
+                .map(increment())
+                .filterNot(Functions.remainder(3))
+                .map(Functions.<Integer>convertToString())
+                .collect(Collectors.<String>toList());
+        assertEquals(Arrays.asList("1", "5", "7", "11", "13", "17", "19"), result);
+        assertEquals(10, peeked.size());
+    }
+
+    @Test
+    public void testMapDoesNotLookAhead() {
+        final List<Integer> mapped = new ArrayList<Integer>();
+        final Iterator<? extends Integer> iterator = Stream.of(1, 2, 3)
+                .map(new Function<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value) {
+                        mapped.add(value);
+                        return value;
+                    }
+                })
+                .getIterator();
+        assertTrue(iterator.hasNext());
+        assertTrue(mapped.isEmpty());
+        iterator.next();
+        assertEquals(Arrays.asList(1), mapped);
+    }
+
+    @Test
+    public void testSizeIsKeptWithoutFilter() {
+        final Iterator<Integer> mapped = FusedIterator.map(Stream.range(0, 10).getIterator(), increment());
+        assertEquals(10, Iterators.exactSize(mapped, false));
+        assertEquals(Iterators.UNKNOWN_SIZE, Iterators.exactSize(mapped, true));
+        assertEquals(Iterators.UNKNOWN_SIZE,
+                Iterators.exactSize(FusedIterator.filter(mapped, Functions.remainder(2)), false));
+    }
+
+    private static Function<Integer, Integer> increment() {
+        return new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                return value + 1;
+            }
+        };
+    }
+
+    private static <T> List<T> toList(Iterator<? extends T> iterator) {
+        final List<T> list = new ArrayList<T>();
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+}
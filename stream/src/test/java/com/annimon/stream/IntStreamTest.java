@@ -0,0 +1,271 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.IntBinaryOperator;
+import com.annimon.stream.function.IntConsumer;
+import com.annimon.stream.function.IntFunction;
+import com.annimon.stream.function.IntPredicate;
+import com.annimon.stream.function.IntSupplier;
+import com.annimon.stream.function.IntUnaryOperator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import static com.annimon.stream.test.StreamMatcher.elements;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code IntStream}.
+ *
+ * @see com.annimon.stream.IntStream
+ */
+public class IntStreamTest {
+
+    @Test
+    public void testStreamEmpty() {
+        assertEquals(0, IntStream.empty().count());
+    }
+
+    @Test
+    public void testStreamOfInts() {
+        assertArrayEquals(new int[] {3, 1, 2}, IntStream.of(3, 1, 2).toArray());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testStreamOfIntsIteratorPastTheEnd() {
+        PrimitiveIterator.OfInt iterator = IntStream.of(1).getIterator();
+        assertEquals(1, iterator.nextInt());
+        iterator.nextInt();
+    }
+
+    @Test
+    public void testStreamRange() {
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, IntStream.range(0, 5).toArray());
+        assertEquals(0, IntStream.range(5, 0).count());
+    }
+
+    @Test
+    public void testStreamRangeOnMaxValues() {
+        assertEquals(10L, IntStream.range(Integer.MAX_VALUE - 10, Integer.MAX_VALUE).count());
+    }
+
+    @Test
+    public void testStreamRangeClosed() {
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5}, IntStream.rangeClosed(0, 5).toArray());
+    }
+
+    @Test
+    public void testStreamRangeClosedOnMaxValues() {
+        assertEquals(11L, IntStream.rangeClosed(Integer.MAX_VALUE - 10, Integer.MAX_VALUE).count());
+    }
+
+    @Test
+    public void testGenerate() {
+        int[] result = IntStream.generate(new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                return 7;
+            }
+        }).limit(3).toArray();
+        assertArrayEquals(new int[] {7, 7, 7}, result);
+    }
+
+    @Test
+    public void testIterate() {
+        int[] result = IntStream.iterate(1, new IntUnaryOperator() {
+            @Override
+            public int applyAsInt(int operand) {
+                return operand * 2;
+            }
+        }).limit(5).toArray();
+        assertArrayEquals(new int[] {1, 2, 4, 8, 16}, result);
+    }
+
+    @Test
+    public void testBoxed() {
+        List<Integer> expected = Arrays.asList(1, 2, 3);
+        assertThat(IntStream.rangeClosed(1, 3).boxed(), elements(is(expected)));
+    }
+
+    @Test(timeout = 5000)
+    public void testFilterOfInfiniteStreamDoesNotLookAhead() {
+        // Powers of two overflow to zero, so there is no match after 4
+        IntStream stream = IntStream.iterate(1, twice)
+                .filter(new IntPredicate() {
+                    @Override
+                    public boolean test(int value) {
+                        return value == 4;
+                    }
+                });
+        assertEquals(4, stream.findFirst().getAsInt());
+    }
+
+    @Test(timeout = 5000)
+    public void testFilterAndLimitOfInfiniteStream() {
+        int[] result = IntStream.iterate(1, twice)
+                .filter(new IntPredicate() {
+                    @Override
+                    public boolean test(int value) {
+                        return value > 0 && value <= 4;
+                    }
+                })
+                .limit(3)
+                .toArray();
+        assertArrayEquals(new int[] {1, 2, 4}, result);
+    }
+
+    @Test
+    public void testFilter() {
+        assertArrayEquals(new int[] {0, 3, 6, 9},
+                IntStream.range(0, 10).filter(remainder(3)).toArray());
+    }
+
+    @Test
+    public void testMap() {
+        assertArrayEquals(new int[] {0, 1, 4, 9},
+                IntStream.range(0, 4).map(square).toArray());
+    }
+
+    @Test
+    public void testMapToObj() {
+        List<String> expected = Arrays.asList("0", "1", "2");
+        Stream<String> stream = IntStream.range(0, 3).mapToObj(new IntFunction<String>() {
+            @Override
+            public String apply(int value) {
+                return Integer.toString(value);
+            }
+        });
+        assertThat(stream, elements(is(expected)));
+    }
+
+    @Test
+    public void testPeek() {
+        final int[] sum = new int[1];
+        long count = IntStream.range(0, 5).peek(new IntConsumer() {
+            @Override
+            public void accept(int value) {
+                sum[0] += value;
+            }
+        }).count();
+        assertEquals(5, count);
+        assertEquals(10, sum[0]);
+    }
+
+    @Test
+    public void testLimitAndSkip() {
+        assertArrayEquals(new int[] {3, 4, 5},
+                IntStream.range(0, 100).skip(3).limit(3).toArray());
+        assertEquals(0, IntStream.range(0, 5).skip(10).count());
+    }
+
+    @Test
+    public void testForEach() {
+        final StringBuilder sb = new StringBuilder();
+        IntStream.of(1, 2, 3).forEach(new IntConsumer() {
+            @Override
+            public void accept(int value) {
+                sb.append(value);
+            }
+        });
+        assertEquals("123", sb.toString());
+    }
+
+    @Test
+    public void testReduce() {
+        assertEquals(15, IntStream.rangeClosed(1, 5).reduce(0, sum));
+        assertEquals(OptionalInt.of(15), IntStream.rangeClosed(1, 5).reduce(sum));
+        assertFalse(IntStream.empty().reduce(sum).isPresent());
+    }
+
+    @Test
+    public void testToArrayLarge() {
+        int[] result = IntStream.range(0, 1000).toArray();
+        assertEquals(1000, result.length);
+        assertEquals(999, result[999]);
+    }
+
+    @Test
+    public void testSum() {
+        assertEquals(4950, IntStream.range(0, 100).sum());
+        assertEquals(0, IntStream.empty().sum());
+    }
+
+    @Test
+    public void testSummaryStatistics() {
+        IntSummaryStatistics stats = IntStream.of(4, -2, 10, 8).summaryStatistics();
+        assertEquals(4, stats.getCount());
+        assertEquals(20L, stats.getSum());
+        assertEquals(-2, stats.getMin());
+        assertEquals(10, stats.getMax());
+        assertEquals(5d, stats.getAverage(), 0.0001);
+    }
+
+    @Test
+    public void testSummaryStatisticsSumDoesNotOverflow() {
+        IntSummaryStatistics stats = IntStream.of(Integer.MAX_VALUE, Integer.MAX_VALUE).summaryStatistics();
+        assertEquals(2L * Integer.MAX_VALUE, stats.getSum());
+    }
+
+    @Test
+    public void testSummaryStatisticsOnEmptyStream() {
+        IntSummaryStatistics stats = IntStream.empty().summaryStatistics();
+        assertEquals(0, stats.getCount());
+        assertEquals(0L, stats.getSum());
+        assertEquals(Integer.MAX_VALUE, stats.getMin());
+        assertEquals(Integer.MIN_VALUE, stats.getMax());
+        assertEquals(0d, stats.getAverage(), 0.0001);
+    }
+
+    @Test
+    public void testMinMax() {
+        assertEquals(-3, IntStream.of(5, -3, 8, 0).min().getAsInt());
+        assertEquals(8, IntStream.of(5, -3, 8, 0).max().getAsInt());
+        assertFalse(IntStream.empty().min().isPresent());
+        assertFalse(IntStream.empty().max().isPresent());
+    }
+
+    @Test
+    public void testMatch() {
+        assertTrue(IntStream.range(0, 10).anyMatch(remainder(7)));
+        assertFalse(IntStream.range(1, 7).anyMatch(remainder(7)));
+        assertTrue(IntStream.of(2, 4, 6).allMatch(remainder(2)));
+        assertFalse(IntStream.of(2, 3, 6).allMatch(remainder(2)));
+        assertTrue(IntStream.of(1, 3, 5).noneMatch(remainder(2)));
+    }
+
+    @Test
+    public void testFindFirst() {
+        assertEquals(OptionalInt.of(4), IntStream.range(1, 100).filter(remainder(4)).findFirst());
+        assertFalse(IntStream.empty().findFirst().isPresent());
+    }
+
+    private static IntPredicate remainder(final int val) {
+        return new IntPredicate() {
+            @Override
+            public boolean test(int value) {
+                return value % val == 0;
+            }
+        };
+    }
+
+    private static final IntUnaryOperator twice = new IntUnaryOperator() {
+        @Override
+        public int applyAsInt(int operand) {
+            return operand * 2;
+        }
+    };
+
+    private static final IntUnaryOperator square = new IntUnaryOperator() {
+        @Override
+        public int applyAsInt(int operand) {
+            return operand * operand;
+        }
+    };
+
+    private static final IntBinaryOperator sum = new IntBinaryOperator() {
+        @Override
+        public int applyAsInt(int left, int right) {
+            return left + right;
+        }
+    };
+}
@@ -0,0 +1,280 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.LongBinaryOperator;
+import com.annimon.stream.function.LongConsumer;
+import com.annimon.stream.function.LongFunction;
+import com.annimon.stream.function.LongPredicate;
+import com.annimon.stream.function.LongSupplier;
+import com.annimon.stream.function.LongUnaryOperator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import static com.annimon.stream.test.StreamMatcher.elements;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code LongStream}.
+ *
+ * @see com.annimon.stream.LongStream
+ */
+public class LongStreamTest {
+
+    @Test
+    public void testStreamEmpty() {
+        assertEquals(0, LongStream.empty().count());
+    }
+
+    @Test
+    public void testStreamOfLongs() {
+        assertArrayEquals(new long[] {3, 1, 2}, LongStream.of(3, 1, 2).toArray());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testStreamOfLongsIteratorPastTheEnd() {
+        PrimitiveIterator.OfLong iterator = LongStream.of(1).getIterator();
+        assertEquals(1L, iterator.nextLong());
+        iterator.nextLong();
+    }
+
+    @Test
+    public void testStreamRange() {
+        assertArrayEquals(new long[] {0, 1, 2, 3, 4}, LongStream.range(0, 5).toArray());
+        assertEquals(0, LongStream.range(5, 0).count());
+    }
+
+    @Test
+    public void testStreamRangeOnMaxValues() {
+        assertEquals(10L, LongStream.range(Long.MAX_VALUE - 10, Long.MAX_VALUE).count());
+    }
+
+    @Test
+    public void testStreamRangeClosed() {
+        assertArrayEquals(new long[] {0, 1, 2, 3, 4, 5}, LongStream.rangeClosed(0, 5).toArray());
+    }
+
+    @Test
+    public void testStreamRangeClosedOnMaxValues() {
+        assertEquals(11L, LongStream.rangeClosed(Long.MAX_VALUE - 10, Long.MAX_VALUE).count());
+    }
+
+    @Test
+    public void testGenerate() {
+        long[] result = LongStream.generate(new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return 7;
+            }
+        }).limit(3).toArray();
+        assertArrayEquals(new long[] {7, 7, 7}, result);
+    }
+
+    @Test
+    public void testIterate() {
+        long[] result = LongStream.iterate(1, new LongUnaryOperator() {
+            @Override
+            public long applyAsLong(long operand) {
+                return operand * 2;
+            }
+        }).limit(5).toArray();
+        assertArrayEquals(new long[] {1, 2, 4, 8, 16}, result);
+    }
+
+    @Test
+    public void testBoxed() {
+        List<Long> expected = Arrays.asList(1L, 2L, 3L);
+        assertThat(LongStream.rangeClosed(1, 3).boxed(), elements(is(expected)));
+    }
+
+    @Test
+    public void testFilter() {
+        assertArrayEquals(new long[] {0, 3, 6, 9},
+                LongStream.range(0, 10).filter(remainder(3)).toArray());
+    }
+
+    @Test(timeout = 5000)
+    public void testFilterOfInfiniteStreamDoesNotLookAhead() {
+        LongStream stream = LongStream.iterate(0, increment)
+                .filter(new LongPredicate() {
+                    @Override
+                    public boolean test(long value) {
+                        return value == 5;
+                    }
+                });
+        assertEquals(5L, stream.findFirst().getAsLong());
+    }
+
+    @Test(timeout = 5000)
+    public void testFilterAndLimitOfInfiniteStream() {
+        long[] result = LongStream.iterate(0, increment)
+                .filter(new LongPredicate() {
+                    @Override
+                    public boolean test(long value) {
+                        return value < 3;
+                    }
+                })
+                .limit(3)
+                .toArray();
+        assertArrayEquals(new long[] {0, 1, 2}, result);
+    }
+
+    @Test
+    public void testMap() {
+        assertArrayEquals(new long[] {0, 1, 4, 9},
+                LongStream.range(0, 4).map(square).toArray());
+    }
+
+    @Test
+    public void testMapToObj() {
+        List<String> expected = Arrays.asList("0", "1", "2");
+        Stream<String> stream = LongStream.range(0, 3).mapToObj(new LongFunction<String>() {
+            @Override
+            public String apply(long value) {
+                return Long.toString(value);
+            }
+        });
+        assertThat(stream, elements(is(expected)));
+    }
+
+    @Test
+    public void testPeek() {
+        final long[] sum = new long[1];
+        long count = LongStream.range(0, 5).peek(new LongConsumer() {
+            @Override
+            public void accept(long value) {
+                sum[0] += value;
+            }
+        }).count();
+        assertEquals(5, count);
+        assertEquals(10L, sum[0]);
+    }
+
+    @Test
+    public void testLimitAndSkip() {
+        assertArrayEquals(new long[] {3, 4, 5},
+                LongStream.range(0, 100).skip(3).limit(3).toArray());
+        assertEquals(0, LongStream.range(0, 5).skip(10).count());
+    }
+
+    @Test
+    public void testForEach() {
+        final StringBuilder sb = new StringBuilder();
+        LongStream.of(1, 2, 3).forEach(new LongConsumer() {
+            @Override
+            public void accept(long value) {
+                sb.append(value);
+            }
+        });
+        assertEquals("123", sb.toString());
+    }
+
+    @Test
+    public void testReduce() {
+        assertEquals(15L, LongStream.rangeClosed(1, 5).reduce(0, sum));
+        assertEquals(OptionalLong.of(15), LongStream.rangeClosed(1, 5).reduce(sum));
+        assertFalse(LongStream.empty().reduce(sum).isPresent());
+    }
+
+    @Test
+    public void testToArrayLarge() {
+        long[] result = LongStream.range(0, 1000).toArray();
+        assertEquals(1000, result.length);
+        assertEquals(999L, result[999]);
+    }
+
+    @Test
+    public void testSum() {
+        assertEquals(4950L, LongStream.range(0, 100).sum());
+        assertEquals(0L, LongStream.empty().sum());
+    }
+
+    @Test
+    public void testSumOfTimestamps() {
+        final long base = 1462060800000L;
+        assertEquals(base * 3 + 3, LongStream.of(base, base + 1, base + 2).sum());
+    }
+
+    @Test
+    public void testSummaryStatistics() {
+        LongSummaryStatistics stats = LongStream.of(4, -2, 10, 8).summaryStatistics();
+        assertEquals(4, stats.getCount());
+        assertEquals(20L, stats.getSum());
+        assertEquals(-2L, stats.getMin());
+        assertEquals(10L, stats.getMax());
+        assertEquals(5d, stats.getAverage(), 0.0001);
+    }
+
+    @Test
+    public void testSummaryStatisticsOnEmptyStream() {
+        LongSummaryStatistics stats = LongStream.empty().summaryStatistics();
+        assertEquals(0, stats.getCount());
+        assertEquals(0L, stats.getSum());
+        assertEquals(Long.MAX_VALUE, stats.getMin());
+        assertEquals(Long.MIN_VALUE, stats.getMax());
+        assertEquals(0d, stats.getAverage(), 0.0001);
+    }
+
+    @Test
+    public void testSummaryStatisticsCombine() {
+        LongSummaryStatistics stats = LongStream.of(1, 2).summaryStatistics();
+        stats.combine(LongStream.of(-5, 20).summaryStatistics());
+        assertEquals(4, stats.getCount());
+        assertEquals(18L, stats.getSum());
+        assertEquals(-5L, stats.getMin());
+        assertEquals(20L, stats.getMax());
+    }
+
+    @Test
+    public void testMinMax() {
+        assertEquals(-3L, LongStream.of(5, -3, 8, 0).min().getAsLong());
+        assertEquals(8L, LongStream.of(5, -3, 8, 0).max().getAsLong());
+        assertFalse(LongStream.empty().min().isPresent());
+        assertFalse(LongStream.empty().max().isPresent());
+    }
+
+    @Test
+    public void testMatch() {
+        assertTrue(LongStream.range(0, 10).anyMatch(remainder(7)));
+        assertFalse(LongStream.range(1, 7).anyMatch(remainder(7)));
+        assertTrue(LongStream.of(2, 4, 6).allMatch(remainder(2)));
+        assertFalse(LongStream.of(2, 3, 6).allMatch(remainder(2)));
+        assertTrue(LongStream.of(1, 3, 5).noneMatch(remainder(2)));
+    }
+
+    @Test
+    public void testFindFirst() {
+        assertEquals(OptionalLong.of(4), LongStream.range(1, 100).filter(remainder(4)).findFirst());
+        assertFalse(LongStream.empty().findFirst().isPresent());
+    }
+
+    private static LongPredicate remainder(final long val) {
+        return new LongPredicate() {
+            @Override
+            public boolean test(long value) {
+                return value % val == 0;
+            }
+        };
+    }
+
+    private static final LongUnaryOperator increment = new LongUnaryOperator() {
+        @Override
+        public long applyAsLong(long operand) {
+            return operand + 1;
+        }
+    };
+
+    private static final LongUnaryOperator square = new LongUnaryOperator() {
+        @Override
+        public long applyAsLong(long operand) {
+            return operand * operand;
+        }
+    };
+
+    private static final LongBinaryOperator sum = new LongBinaryOperator() {
+        @Override
+        public long applyAsLong(long left, long right) {
+            return left + right;
+        }
+    };
+}
@@ -0,0 +1,277 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.BiFunction;
+import com.annimon.stream.function.Function;
+import com.annimon.stream.function.Predicate;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@code MappedLineIterator}.
+ *
+ * @see com.annimon.stream.MappedLineIterator
+ */
+public class MappedLineIteratorTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLines() throws IOException {
+        final File file = write("a\r\nbb\n\nccc");
+        assertEquals(Arrays.asList("a", "bb", "", "ccc"), toList(MappedLineIterator.strings(file, UTF_8)));
+    }
+
+    @Test
+    public void testTrailingLineBreak() throws IOException {
+        final File file = write("x\ny\r\n");
+        assertEquals(Arrays.asList("x", "y"), toList(MappedLineIterator.strings(file, UTF_8)));
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        final File file = write("");
+        assertEquals(Collections.<String>emptyList(), toList(MappedLineIterator.strings(file, UTF_8)));
+    }
+
+    @Test
+    public void testDecodesMultibyteCharacters() throws IOException {
+        final String line = "\u043f\u0440\u0438\u0432\u0435\u0442 \u20ac";
+        final File file = write(line + "\n" + line);
+        assertEquals(Arrays.asList(line, line), toList(MappedLineIterator.strings(file, UTF_8)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultibyteLineBreaks() throws IOException {
+        MappedLineIterator.strings(write("a"), Charset.forName("UTF-16"));
+    }
+
+    @Test
+    public void testLinesAcrossSegments() throws IOException {
+        final File file = write("ab\ncde\r\nf\n\nghij\nk");
+        assertEquals(Arrays.asList("ab", "cde", "f", "", "ghij", "k"), toList(lines(file, 5)));
+        assertEquals(Arrays.asList("ab", "cde", "f", "", "ghij", "k"), toList(lines(file, 8)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLineExceedsSegment() throws IOException {
+        toList(lines(write("ab\nabcdefgh\n"), 4));
+    }
+
+    @Test
+    public void testSplitAlignsToLines() throws IOException {
+        final String content = "aa\nbbb\r\n\ncccc\nd\neeeee";
+        final File file = write(content);
+        final List<String> expected = Arrays.asList("aa", "bbb", "", "cccc", "d", "eeeee");
+        for (int segmentSize = 6; segmentSize <= 12; segmentSize += 6) {
+            for (int size = 1; size <= content.length(); size++) {
+                final MappedLineIterator<String> iterator = lines(file, segmentSize);
+                final List<String> result = new ArrayList<String>();
+                MappedLineIterator<String> prefix;
+                while ((prefix = iterator.trySplit(size)) != null) {
+                    result.addAll(toList(prefix));
+                }
+                result.addAll(toList(iterator));
+                assertEquals("size " + size, expected, result);
+            }
+        }
+    }
+
+    @Test
+    public void testSplitAfterTraversalStarted() throws IOException {
+        final File file = write("a\nb\nc\nd\n");
+        final MappedLineIterator<String> iterator = MappedLineIterator.strings(file, UTF_8);
+        assertEquals("a", iterator.next());
+        assertTrue(iterator.hasNext());
+        assertEquals(6, iterator.remainingBytes());
+        assertEquals(Arrays.asList("b", "c"), toList(iterator.trySplit(3)));
+        assertEquals(Arrays.asList("d"), toList(iterator));
+        assertEquals(0, iterator.remainingBytes());
+        assertNull(iterator.trySplit(10));
+    }
+
+    @Test
+    public void testParallelOfLines() throws IOException {
+        final StringBuilder content = new StringBuilder();
+        long expectedSum = 0;
+        for (int i = 0; i < 400000; i++) {
+            content.append(i).append('\n');
+            expectedSum += i;
+        }
+        final File file = write(content.toString());
+        final Function<String, Long> parse = new Function<String, Long>() {
+            @Override
+            public Long apply(String value) {
+                return Long.parseLong(value);
+            }
+        };
+        final Stream<String> parallel = Stream.ofLines(file, UTF_8).parallel();
+        final long sum = parallel.map(parse).reduce(0L, new BiFunction<Long, Long, Long>() {
+            @Override
+            public Long apply(Long value1, Long value2) {
+                return value1 + value2;
+            }
+        });
+        assertEquals(expectedSum, sum);
+        assertEquals(400000, Stream.ofLineViews(file).parallel().count());
+        final List<Long> ordered = Stream.ofLines(file, UTF_8).parallel()
+                .map(parse)
+                .collect(Collectors.<Long>toList());
+        assertEquals(400000, ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            assertEquals(i, ordered.get(i).longValue());
+        }
+    }
+
+    @Test
+    public void testViews() throws IOException {
+        final File file = write("error: one\ninfo: two\nerror: three");
+        final Iterator<CharSequence> iterator = MappedLineIterator.views(file);
+        final CharSequence first = iterator.next();
+        assertEquals("error: one", first.toString());
+        assertEquals("one", first.subSequence(7, 10).toString());
+        assertEquals('e', first.charAt(0));
+        // The view is reused
+        assertSame(first, iterator.next());
+        assertEquals("info: two", first.toString());
+    }
+
+    @Test
+    public void testBuffers() throws IOException {
+        final File file = write("ab\r\ncde");
+        final Iterator<ByteBuffer> iterator = MappedLineIterator.buffers(file);
+        final ByteBuffer first = iterator.next();
+        assertEquals(2, first.remaining());
+        assertEquals('a', first.get(first.position()));
+        assertSame(first, iterator.next());
+        assertEquals(3, first.remaining());
+        assertEquals('c', first.get(first.position()));
+    }
+
+    @Test
+    public void testStreamOfLines() throws IOException {
+        final File file = write("1\n2\n3\n4\n5");
+        final int sum = Stream.ofLines(file, UTF_8)
+                .map(Functions.stringToInteger())
+                .reduce(0, Functions.addition());
+        assertEquals(15, sum);
+    }
+
+    @Test
+    public void testStreamOfLineViewsFilter() throws IOException {
+        final File file = write("error: one\ninfo: two\nerror: three\n");
+        final List<String> errors = Stream.ofLineViews(file)
+                .filter(new Predicate<CharSequence>() {
+                    @Override
+                    public boolean test(CharSequence line) {
+                        return line.length() > 6 && line.charAt(0) == 'e';
+                    }
+                })
+                .map(new Function<CharSequence, String>() {
+                    @Override
+                    public String apply(CharSequence line) {
+                        return line.toString();
+                    }
+                })
+                .collect(Collectors.<String>toList());
+        assertEquals(Arrays.asList("error: one", "error: three"), errors);
+    }
+
+    @Test
+    public void testStreamOfLineViewsSorted() throws IOException {
+        final File file = write("c\na\nb\na");
+        final List<String> lines = Stream.ofLineViews(file)
+                .sorted(new Comparator<CharSequence>() {
+                    @Override
+                    public int compare(CharSequence line1, CharSequence line2) {
+                        return line1.toString().compareTo(line2.toString());
+                    }
+                })
+                .distinct()
+                .map(new Function<CharSequence, String>() {
+                    @Override
+                    public String apply(CharSequence line) {
+                        return line.toString();
+                    }
+                })
+                .collect(Collectors.<String>toList());
+        assertEquals(Arrays.asList("a", "b", "c"), lines);
+    }
+
+    @Test
+    public void testStreamOfLineBuffers() throws IOException {
+        final File file = write("a\nbb\nccc\n");
+        final long bytes = Stream.ofLineBuffers(file)
+                .map(new Function<ByteBuffer, Integer>() {
+                    @Override
+                    public Integer apply(ByteBuffer line) {
+                        return line.remaining();
+                    }
+                })
+                .reduce(0, Functions.addition());
+        assertEquals(6, bytes);
+    }
+
+    private File write(String content) throws IOException {
+        final File file = folder.newFile();
+        final FileOutputStream output = new FileOutputStream(file);
+        try {
+            output.write(content.getBytes(UTF_8));
+        } finally {
+            output.close();
+        }
+        return file;
+    }
+
+    private static MappedLineIterator<String> lines(File file, int segmentSize) {
+        return new Lines(file, 0, Long.MAX_VALUE, segmentSize);
+    }
+
+    private static final class Lines extends MappedLineIterator<String> {
+
+        Lines(File file, long from, long to, int segmentSize) {
+            super(file, from, to, segmentSize);
+        }
+
+        @Override
+        protected String line(MappedByteBuffer buffer, int start, int end) {
+            final byte[] bytes = new byte[end - start];
+            for (int i = start; i < end; i++) {
+                bytes[i - start] = buffer.get(i);
+            }
+            return new String(bytes, UTF_8);
+        }
+
+        @Override
+        protected MappedLineIterator<String> slice(File file, long from, long to, int segmentSize) {
+            return new Lines(file, from, to, segmentSize);
+        }
+    }
+
+    private static <T> List<String> toList(Iterator<T> iterator) {
+        final List<String> result = new ArrayList<String>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next().toString());
+        }
+        return result;
+    }
+}
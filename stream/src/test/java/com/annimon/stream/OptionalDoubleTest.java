@@ -0,0 +1,85 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.DoubleConsumer;
+import com.annimon.stream.function.DoubleSupplier;
+import com.annimon.stream.function.Supplier;
+import java.util.NoSuchElementException;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code OptionalDouble}.
+ *
+ * @see com.annimon.stream.OptionalDouble
+ */
+public class OptionalDoubleTest {
+
+    @Test
+    public void testGetAsDouble() {
+        assertEquals(10.5, OptionalDouble.of(10.5).getAsDouble(), 0.0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testGetAsDoubleOnEmptyOptional() {
+        OptionalDouble.empty().getAsDouble();
+    }
+
+    @Test
+    public void testIsPresent() {
+        assertTrue(OptionalDouble.of(0).isPresent());
+        assertFalse(OptionalDouble.empty().isPresent());
+    }
+
+    @Test
+    public void testIfPresent() {
+        final double[] holder = new double[1];
+        OptionalDouble.of(10).ifPresent(new DoubleConsumer() {
+            @Override
+            public void accept(double value) {
+                holder[0] = value;
+            }
+        });
+        assertEquals(10, holder[0], 0.0);
+    }
+
+    @Test
+    public void testOrElse() {
+        assertEquals(10, OptionalDouble.of(10).orElse(5), 0.0);
+        assertEquals(5, OptionalDouble.empty().orElse(5), 0.0);
+    }
+
+    @Test
+    public void testOrElseGet() {
+        assertEquals(5, OptionalDouble.empty().orElseGet(new DoubleSupplier() {
+            @Override
+            public double getAsDouble() {
+                return 5;
+            }
+        }), 0.0);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testOrElseThrow() {
+        OptionalDouble.empty().orElseThrow(new Supplier<ArithmeticException>() {
+            @Override
+            public ArithmeticException get() {
+                return new ArithmeticException();
+            }
+        });
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(OptionalDouble.of(3), OptionalDouble.of(3));
+        assertEquals(OptionalDouble.empty(), OptionalDouble.empty());
+        assertNotEquals(OptionalDouble.of(0), OptionalDouble.empty());
+        assertNotEquals(OptionalDouble.of(3), OptionalDouble.of(4));
+        assertEquals(OptionalDouble.of(Double.NaN), OptionalDouble.of(Double.NaN));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("OptionalDouble[4.2]", OptionalDouble.of(4.2).toString());
+        assertEquals("OptionalDouble.empty", OptionalDouble.empty().toString());
+    }
+}
@@ -0,0 +1,84 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.IntConsumer;
+import com.annimon.stream.function.IntSupplier;
+import com.annimon.stream.function.Supplier;
+import java.util.NoSuchElementException;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code OptionalInt}.
+ *
+ * @see com.annimon.stream.OptionalInt
+ */
+public class OptionalIntTest {
+
+    @Test
+    public void testGetAsInt() {
+        assertEquals(10, OptionalInt.of(10).getAsInt());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testGetAsIntOnEmptyOptional() {
+        OptionalInt.empty().getAsInt();
+    }
+
+    @Test
+    public void testIsPresent() {
+        assertTrue(OptionalInt.of(0).isPresent());
+        assertFalse(OptionalInt.empty().isPresent());
+    }
+
+    @Test
+    public void testIfPresent() {
+        final int[] holder = new int[1];
+        OptionalInt.of(10).ifPresent(new IntConsumer() {
+            @Override
+            public void accept(int value) {
+                holder[0] = value;
+            }
+        });
+        assertEquals(10, holder[0]);
+    }
+
+    @Test
+    public void testOrElse() {
+        assertEquals(10, OptionalInt.of(10).orElse(5));
+        assertEquals(5, OptionalInt.empty().orElse(5));
+    }
+
+    @Test
+    public void testOrElseGet() {
+        assertEquals(5, OptionalInt.empty().orElseGet(new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                return 5;
+            }
+        }));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testOrElseThrow() {
+        OptionalInt.empty().orElseThrow(new Supplier<ArithmeticException>() {
+            @Override
+            public ArithmeticException get() {
+                return new ArithmeticException();
+            }
+        });
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(OptionalInt.of(3), OptionalInt.of(3));
+        assertEquals(OptionalInt.empty(), OptionalInt.empty());
+        assertNotEquals(OptionalInt.of(0), OptionalInt.empty());
+        assertNotEquals(OptionalInt.of(3), OptionalInt.of(4));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("OptionalInt[42]", OptionalInt.of(42).toString());
+        assertEquals("OptionalInt.empty", OptionalInt.empty().toString());
+    }
+}
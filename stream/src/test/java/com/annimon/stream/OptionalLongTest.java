@@ -0,0 +1,84 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.LongConsumer;
+import com.annimon.stream.function.LongSupplier;
+import com.annimon.stream.function.Supplier;
+import java.util.NoSuchElementException;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code OptionalLong}.
+ *
+ * @see com.annimon.stream.OptionalLong
+ */
+public class OptionalLongTest {
+
+    @Test
+    public void testGetAsLong() {
+        assertEquals(10L, OptionalLong.of(10).getAsLong());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testGetAsLongOnEmptyOptional() {
+        OptionalLong.empty().getAsLong();
+    }
+
+    @Test
+    public void testIsPresent() {
+        assertTrue(OptionalLong.of(0).isPresent());
+        assertFalse(OptionalLong.empty().isPresent());
+    }
+
+    @Test
+    public void testIfPresent() {
+        final long[] holder = new long[1];
+        OptionalLong.of(10).ifPresent(new LongConsumer() {
+            @Override
+            public void accept(long value) {
+                holder[0] = value;
+            }
+        });
+        assertEquals(10L, holder[0]);
+    }
+
+    @Test
+    public void testOrElse() {
+        assertEquals(10L, OptionalLong.of(10).orElse(5));
+        assertEquals(5L, OptionalLong.empty().orElse(5));
+    }
+
+    @Test
+    public void testOrElseGet() {
+        assertEquals(5L, OptionalLong.empty().orElseGet(new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return 5;
+            }
+        }));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testOrElseThrow() {
+        OptionalLong.empty().orElseThrow(new Supplier<ArithmeticException>() {
+            @Override
+            public ArithmeticException get() {
+                return new ArithmeticException();
+            }
+        });
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(OptionalLong.of(3), OptionalLong.of(3));
+        assertEquals(OptionalLong.empty(), OptionalLong.empty());
+        assertNotEquals(OptionalLong.of(0), OptionalLong.empty());
+        assertNotEquals(OptionalLong.of(3), OptionalLong.of(4));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("OptionalLong[42]", OptionalLong.of(42).toString());
+        assertEquals("OptionalLong.empty", OptionalLong.empty().toString());
+    }
+}
@@ -0,0 +1,360 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.BiFunction;
+import com.annimon.stream.function.BinaryOperator;
+import com.annimon.stream.function.Function;
+import com.annimon.stream.function.IntFunction;
+import com.annimon.stream.function.Predicate;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests {@code RecordIterator} and {@code RecordCursor}.
+ *
+ * @see com.annimon.stream.RecordIterator
+ * @see com.annimon.stream.RecordCursor
+ */
+public class RecordIteratorTest {
+
+    // long id, int value, double price
+    private static final int RECORD_SIZE = 20;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testTypedGetters() {
+        final ByteBuffer buffer = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) -5).putShort((short) 300).putChar('x').putInt(7)
+                .putLong(1L << 40).putFloat(1.5f).putDouble(2.25);
+        buffer.flip();
+        final RecordCursor cursor = RecordIterator.of(buffer, 29).next();
+        assertEquals(-5, cursor.getByte(0));
+        assertEquals(300, cursor.getShort(1));
+        assertEquals('x', cursor.getChar(3));
+        assertEquals(7, cursor.getInt(5));
+        assertEquals(1L << 40, cursor.getLong(9));
+        assertEquals(1.5f, cursor.getFloat(17), 0f);
+        assertEquals(2.25, cursor.getDouble(21), 0d);
+        assertEquals(29, cursor.getSize());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, cursor.getOrder());
+        assertEquals(29, cursor.asByteBuffer().remaining());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testFieldOutOfRecord() {
+        RecordIterator.of(records(0, 2), RECORD_SIZE).next().getLong(16);
+    }
+
+    @Test
+    public void testCursorIsReused() {
+        final RecordIterator iterator = RecordIterator.of(records(0, 3), RECORD_SIZE);
+        final RecordCursor first = iterator.next();
+        assertEquals(0, first.getIndex());
+        final RecordCursor copy = first.copy();
+        assertSame(first, iterator.next());
+        assertEquals(1, first.getIndex());
+        assertEquals(1, first.getLong(0));
+        // Copy is detached
+        assertNotSame(first, copy);
+        assertEquals(0, copy.getIndex());
+        assertEquals(0, copy.getLong(0));
+        assertEquals(copy, RecordIterator.of(records(0, 1), RECORD_SIZE).next());
+        assertFalse(copy.equals(first));
+    }
+
+    @Test
+    public void testIgnoresPartialRecord() {
+        final ByteBuffer buffer = records(0, 3);
+        buffer.limit(buffer.limit() - 1);
+        assertEquals(Arrays.asList(0L, 1L), ids(Stream.ofRecords(buffer, RECORD_SIZE)));
+    }
+
+    @Test
+    public void testBufferPosition() {
+        final ByteBuffer buffer = records(0, 4);
+        buffer.position(RECORD_SIZE);
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(Stream.ofRecords(buffer, RECORD_SIZE)));
+        assertEquals(RECORD_SIZE, buffer.position());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRecordSize() {
+        Stream.ofRecords(records(0, 1), 0);
+    }
+
+    @Test
+    public void testSkipLimitCount() {
+        final Stream<RecordCursor> stream = Stream.ofRecords(records(0, 10), RECORD_SIZE);
+        assertEquals(Arrays.asList(3L, 4L, 5L), ids(stream.skip(3).limit(3)));
+        assertEquals(10, Stream.ofRecords(records(0, 10), RECORD_SIZE).count());
+    }
+
+    @Test
+    public void testFilterBeforeCopy() {
+        final List<RecordCursor> result = Stream.ofRecords(records(0, 10), RECORD_SIZE)
+                .filter(new Predicate<RecordCursor>() {
+                    @Override
+                    public boolean test(RecordCursor record) {
+                        return record.getInt(8) % 3 == 0;
+                    }
+                })
+                .map(new Function<RecordCursor, RecordCursor>() {
+                    @Override
+                    public RecordCursor apply(RecordCursor record) {
+                        return record.copy();
+                    }
+                })
+                .collect(Collectors.<RecordCursor>toList());
+        assertEquals(4, result.size());
+        assertEquals(9, result.get(3).getLong(0));
+    }
+
+    @Test
+    public void testSortedRetainsCopies() {
+        final Comparator<RecordCursor> byPriceDesc = new Comparator<RecordCursor>() {
+            @Override
+            public int compare(RecordCursor r1, RecordCursor r2) {
+                return Double.compare(r2.getDouble(12), r1.getDouble(12));
+            }
+        };
+        assertEquals(Arrays.asList(9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L, 0L),
+                ids(Stream.ofRecords(records(0, 10), RECORD_SIZE).sorted(byPriceDesc)));
+        // Bounded sort keeps copies in the heap
+        assertEquals(Arrays.asList(9L, 8L),
+                ids(Stream.ofRecords(records(0, 10), RECORD_SIZE).sorted(byPriceDesc).limit(2)));
+    }
+
+    @Test
+    public void testStatefulOperationsRetainCopies() {
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 4);
+        for (long id : new long[] {1, 2, 1, 3}) {
+            buffer.putLong(id).putInt(0).putDouble(0);
+        }
+        buffer.flip();
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(Stream.ofRecords(buffer, RECORD_SIZE).distinct()));
+
+        final List<List<RecordCursor>> windows = Stream.ofRecords(records(0, 4), RECORD_SIZE)
+                .slidingWindow(2)
+                .collect(Collectors.<List<RecordCursor>>toList());
+        assertEquals(3, windows.size());
+        assertEquals(2, windows.get(2).get(0).getLong(0));
+        assertEquals(3, windows.get(2).get(1).getLong(0));
+
+        final List<List<RecordCursor>> chunks = Stream.ofRecords(records(0, 4), RECORD_SIZE)
+                .chunkBy(new Function<RecordCursor, Long>() {
+                    @Override
+                    public Long apply(RecordCursor record) {
+                        return record.getLong(0) / 2;
+                    }
+                })
+                .collect(Collectors.<List<RecordCursor>>toList());
+        assertEquals(0, chunks.get(0).get(0).getLong(0));
+        assertEquals(1, chunks.get(0).get(1).getLong(0));
+
+        final List<Map.Entry<Integer, List<RecordCursor>>> groups = Stream.ofRecords(records(0, 4), RECORD_SIZE)
+                .groupBy(new Function<RecordCursor, Integer>() {
+                    @Override
+                    public Integer apply(RecordCursor record) {
+                        return (int) (record.getLong(0) % 2);
+                    }
+                })
+                .collect(Collectors.<Map.Entry<Integer, List<RecordCursor>>>toList());
+        long sum = 0;
+        for (Map.Entry<Integer, List<RecordCursor>> group : groups) {
+            for (RecordCursor record : group.getValue()) {
+                assertEquals(group.getKey().intValue(), record.getLong(0) % 2);
+                sum += record.getLong(0);
+            }
+        }
+        assertEquals(6, sum);
+    }
+
+    @Test
+    public void testSlidingReduceRetainsCopies() {
+        // Invertible reducer evicts the stored elements from the aggregate
+        final Stream<RecordCursor> sums = Stream.ofRecords(records(0, 5), RECORD_SIZE)
+                .slidingReduce(3, new BinaryOperator<RecordCursor>() {
+                    @Override
+                    public RecordCursor apply(RecordCursor value1, RecordCursor value2) {
+                        return record(value1.getLong(0) + value2.getLong(0));
+                    }
+                }, new BinaryOperator<RecordCursor>() {
+                    @Override
+                    public RecordCursor apply(RecordCursor value1, RecordCursor value2) {
+                        return record(value1.getLong(0) - value2.getLong(0));
+                    }
+                });
+        assertEquals(Arrays.asList(3L, 6L, 9L), ids(sums));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 4);
+        for (long id : new long[] {3, 1, 2, 0}) {
+            buffer.putLong(id).putInt(0).putDouble(0);
+        }
+        buffer.flip();
+        final Stream<RecordCursor> maximums = Stream.ofRecords(buffer, RECORD_SIZE)
+                .slidingReduce(2, new BinaryOperator<RecordCursor>() {
+                    @Override
+                    public RecordCursor apply(RecordCursor value1, RecordCursor value2) {
+                        return (value1.getLong(0) >= value2.getLong(0)) ? value1 : value2;
+                    }
+                });
+        assertEquals(Arrays.asList(3L, 2L, 2L), ids(maximums));
+    }
+
+    @Test
+    public void testToArrayRetainsCopies() {
+        final Object[] array = Stream.ofRecords(records(0, 4), RECORD_SIZE).toArray();
+        assertEquals(4, array.length);
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(i, ((RecordCursor) array[i]).getLong(0));
+        }
+        final RecordCursor[] filtered = Stream.ofRecords(records(0, 4), RECORD_SIZE)
+                .skip(2)
+                .toArray(new IntFunction<RecordCursor[]>() {
+                    @Override
+                    public RecordCursor[] apply(int value) {
+                        return new RecordCursor[value];
+                    }
+                });
+        assertEquals(2, filtered[0].getLong(0));
+        assertEquals(3, filtered[1].getLong(0));
+    }
+
+    @Test
+    public void testLookAheadStagesDoNotMoveReturnedCursor() {
+        final List<Long> ids = new ArrayList<Long>();
+        final Iterator<? extends RecordCursor> iterator = Stream.ofRecords(records(0, 5), RECORD_SIZE)
+                .takeWhile(new Predicate<RecordCursor>() {
+                    @Override
+                    public boolean test(RecordCursor record) {
+                        return record.getLong(0) < 3;
+                    }
+                })
+                .getIterator();
+        while (iterator.hasNext()) {
+            final RecordCursor record = iterator.next();
+            ids.add(record.getLong(0));
+        }
+        assertEquals(Arrays.asList(0L, 1L, 2L), ids);
+        final Iterator<? extends RecordCursor> approximate = Stream.ofRecords(records(0, 3), RECORD_SIZE)
+                .distinctApproximate(100, 0.01)
+                .getIterator();
+        assertEquals(0, approximate.next().getLong(0));
+        assertEquals(1, approximate.next().getLong(0));
+    }
+
+    @Test
+    public void testFile() throws IOException {
+        final File file = write(records(0, 100), 3);
+        assertEquals(100, Stream.ofRecords(file, RECORD_SIZE, ByteOrder.BIG_ENDIAN).count());
+        assertEquals(Arrays.asList(97L, 98L, 99L),
+                ids(Stream.ofRecords(file, RECORD_SIZE, ByteOrder.BIG_ENDIAN).skip(97)));
+    }
+
+    @Test
+    public void testFileAcrossSegments() throws IOException {
+        final File file = write(records(0, 50), 0);
+        // Segment of 3 whole records and 10 extra bytes
+        final RecordIterator iterator = RecordIterator.of(file, RECORD_SIZE, ByteOrder.BIG_ENDIAN, 70);
+        final List<Long> result = new ArrayList<Long>();
+        while (iterator.hasNext()) {
+            final RecordCursor record = iterator.next();
+            assertEquals(record.getIndex(), record.getLong(0));
+            assertEquals(record.getIndex() * 0.5, record.getDouble(12), 0d);
+            result.add(record.getLong(0));
+        }
+        assertEquals(50, result.size());
+        assertEquals(49L, (long) result.get(49));
+    }
+
+    @Test
+    public void testParallel() throws IOException {
+        final int count = 200000;
+        final File file = write(records(0, count), 0);
+        final long sum = Stream.ofRecords(file, RECORD_SIZE, ByteOrder.BIG_ENDIAN)
+                .parallel()
+                .map(new Function<RecordCursor, Long>() {
+                    @Override
+                    public Long apply(RecordCursor record) {
+                        return record.getLong(0);
+                    }
+                })
+                .reduce(0L, new BiFunction<Long, Long, Long>() {
+                    @Override
+                    public Long apply(Long value1, Long value2) {
+                        return value1 + value2;
+                    }
+                });
+        assertEquals((long) count * (count - 1) / 2, sum);
+        final List<Long> ordered = ids(Stream.ofRecords(file, RECORD_SIZE, ByteOrder.BIG_ENDIAN)
+                .parallel()
+                .sorted(new Comparator<RecordCursor>() {
+                    @Override
+                    public int compare(RecordCursor r1, RecordCursor r2) {
+                        final long id1 = r1.getLong(0);
+                        final long id2 = r2.getLong(0);
+                        return (id2 < id1) ? -1 : ((id2 == id1) ? 0 : 1);
+                    }
+                }));
+        assertEquals(count, ordered.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(count - 1 - i, ordered.get(i).longValue());
+        }
+    }
+
+    private static ByteBuffer records(int from, int to) {
+        final ByteBuffer buffer = ByteBuffer.allocate((to - from) * RECORD_SIZE);
+        for (int i = from; i < to; i++) {
+            buffer.putLong(i).putInt(i * 10).putDouble(i * 0.5);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static RecordCursor record(long id) {
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        buffer.putLong(id).putInt(0).putDouble(0);
+        buffer.flip();
+        return RecordIterator.of(buffer, RECORD_SIZE).next();
+    }
+
+    private File write(ByteBuffer buffer, int extraBytes) throws IOException {
+        final File file = folder.newFile();
+        final FileOutputStream output = new FileOutputStream(file);
+        try {
+            output.write(buffer.array(), 0, buffer.limit());
+            output.write(new byte[extraBytes]);
+        } finally {
+            output.close();
+        }
+        return file;
+    }
+
+    private static List<Long> ids(Stream<RecordCursor> stream) {
+        return stream
+                .map(new Function<RecordCursor, Long>() {
+                    @Override
+                    public Long apply(RecordCursor record) {
+                        return record.getLong(0);
+                    }
+                })
+                .collect(Collectors.<Long>toList());
+    }
+}
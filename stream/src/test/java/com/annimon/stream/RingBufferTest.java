@@ -0,0 +1,68 @@
+package com.annimon.stream;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code RingBuffer}.
+ *
+ * @see com.annimon.stream.RingBuffer
+ */
+public class RingBufferTest {
+
+    @Test
+    public void testWrapAround() {
+        final RingBuffer<Integer> buffer = new RingBuffer<Integer>(3);
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        assertTrue(buffer.isFull());
+        buffer.removeFirst(2);
+        buffer.add(4);
+        buffer.add(5);
+        assertEquals(Arrays.asList(3, 4, 5), buffer.toList());
+        assertEquals(5, (int) buffer.get(2));
+    }
+
+    @Test
+    public void testRemoveMoreThanSize() {
+        final RingBuffer<Integer> buffer = new RingBuffer<Integer>(2);
+        buffer.add(1);
+        buffer.removeFirst(5);
+        assertEquals(0, buffer.size());
+        buffer.removeFirst(0);
+        buffer.add(2);
+        assertEquals(Collections.singletonList(2), buffer.toList());
+    }
+
+    @Test
+    public void testViewIsValidUntilAdd() {
+        final RingBuffer<Integer> buffer = new RingBuffer<Integer>(2);
+        buffer.add(1);
+        buffer.add(2);
+        final List<Integer> view = buffer.view();
+        buffer.removeFirst(1);
+        assertEquals(Arrays.asList(1, 2), view);
+        buffer.add(3);
+        assertSame(view, buffer.view());
+        assertEquals(Arrays.asList(2, 3), view);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testViewBounds() {
+        final RingBuffer<Integer> buffer = new RingBuffer<Integer>(2);
+        buffer.add(1);
+        buffer.view().get(1);
+    }
+
+    @Test
+    public void testZeroCapacity() {
+        final RingBuffer<Integer> buffer = new RingBuffer<Integer>(0);
+        assertTrue(buffer.isFull());
+        buffer.removeFirst(1);
+        assertTrue(buffer.view().isEmpty());
+    }
+}
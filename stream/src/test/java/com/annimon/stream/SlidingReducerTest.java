@@ -0,0 +1,84 @@
+package com.annimon.stream;
+
+import com.annimon.stream.function.BinaryOperator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code SlidingReducer}.
+ *
+ * @see com.annimon.stream.SlidingReducer
+ */
+public class SlidingReducerTest {
+
+    private static final BinaryOperator<Integer> MIN = new BinaryOperator<Integer>() {
+        @Override
+        public Integer apply(Integer value1, Integer value2) {
+            return Math.min(value1, value2);
+        }
+    };
+
+    private static final BinaryOperator<Integer> SUM = new BinaryOperator<Integer>() {
+        @Override
+        public Integer apply(Integer value1, Integer value2) {
+            return value1 + value2;
+        }
+    };
+
+    private static final BinaryOperator<Integer> DIFFERENCE = new BinaryOperator<Integer>() {
+        @Override
+        public Integer apply(Integer value1, Integer value2) {
+            return value1 - value2;
+        }
+    };
+
+    @Test
+    public void testTwoStacksSameAsNaive() {
+        for (int windowSize = 1; windowSize <= 8; windowSize++) {
+            assertSameAsNaive(SlidingReducer.associative(windowSize, MIN), windowSize, MIN);
+        }
+    }
+
+    @Test
+    public void testInvertibleSameAsNaive() {
+        for (int windowSize = 1; windowSize <= 8; windowSize++) {
+            assertSameAsNaive(SlidingReducer.invertible(windowSize, SUM, DIFFERENCE), windowSize, SUM);
+        }
+    }
+
+    @Test
+    public void testSize() {
+        final SlidingReducer<Integer> reducer = SlidingReducer.associative(2, MIN);
+        assertEquals(0, reducer.size());
+        reducer.add(5);
+        reducer.add(3);
+        assertEquals(2, reducer.size());
+        reducer.evict();
+        assertEquals(1, reducer.size());
+        assertEquals(3, (int) reducer.result());
+    }
+
+    private static void assertSameAsNaive(SlidingReducer<Integer> reducer, int windowSize,
+                                          BinaryOperator<Integer> accumulator) {
+        final Random random = new Random(windowSize);
+        final List<Integer> window = new ArrayList<Integer>();
+        for (int i = 0; i < 200; i++) {
+            if (window.size() == windowSize) {
+                window.remove(0);
+                reducer.evict();
+            }
+            final int value = random.nextInt(100);
+            window.add(value);
+            reducer.add(value);
+
+            int expected = window.get(0);
+            for (int j = 1; j < window.size(); j++) {
+                expected = accumulator.apply(expected, window.get(j));
+            }
+            assertEquals(expected, (int) reducer.result());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.annimon.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests {@code SplittableIterator}.
+ *
+ * @see com.annimon.stream.SplittableIterator
+ */
+public class SplittableIteratorTest {
+
+    @Test
+    public void testArray() {
+        final SplittableIterator<String> iterator = SplittableIterator.ofArray(new String[] {"a", "b", "c"});
+        assertEquals(3, iterator.remaining());
+        assertEquals(Arrays.asList("a", "b", "c"), toList(iterator));
+        assertEquals(0, iterator.remaining());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextOnEmpty() {
+        SplittableIterator.ofArray(new String[0]).next();
+    }
+
+    @Test
+    public void testListIsBoundLazily() {
+        final List<Integer> list = new ArrayList<Integer>();
+        final SplittableIterator<Integer> iterator = SplittableIterator.ofList(list);
+        list.add(1);
+        list.add(2);
+        assertEquals(2, iterator.remaining());
+        assertEquals(Arrays.asList(1, 2), toList(iterator));
+    }
+
+    @Test
+    public void testTrySplitInHalf() {
+        final SplittableIterator<Integer> iterator = SplittableIterator.ofRange(0, 5);
+        final SplittableIterator<Integer> prefix = iterator.trySplit();
+        assertEquals(2, prefix.remaining());
+        assertEquals(3, iterator.remaining());
+        assertEquals(Arrays.asList(0, 1), toList(prefix));
+        assertEquals(Arrays.asList(2, 3, 4), toList(iterator));
+    }
+
+    @Test
+    public void testTrySplitTooSmall() {
+        final SplittableIterator<Integer> iterator = SplittableIterator.ofRange(0, 1);
+        assertNull(iterator.trySplit());
+        assertEquals(1, iterator.remaining());
+    }
+
+    @Test
+    public void testTrySplitPrefix() {
+        final SplittableIterator<String> iterator = SplittableIterator.ofArray(new String[] {"a", "b", "c"});
+        iterator.next();
+        final SplittableIterator<String> prefix = iterator.trySplit(10);
+        assertEquals(Arrays.asList("b", "c"), toList(prefix));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testIntRangeClosedMaxValue() {
+        final SplittableIterator<Integer> iterator =
+                SplittableIterator.ofRangeClosed(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+        assertEquals(Arrays.asList(Integer.MAX_VALUE - 1, Integer.MAX_VALUE), toList(iterator));
+    }
+
+    @Test
+    public void testEmptyRanges() {
+        assertEquals(0, SplittableIterator.ofRange(5, 0).remaining());
+        assertEquals(0, SplittableIterator.ofRangeClosed(5, 4).remaining());
+        assertEquals(0, SplittableIterator.ofRange(5L, 5L).remaining());
+        assertEquals(0, SplittableIterator.ofRangeClosed(5L, 4L).remaining());
+    }
+
+    @Test
+    public void testLongRangeClosedMaxValue() {
+        final SplittableIterator<Long> iterator =
+                SplittableIterator.ofRangeClosed(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+        assertEquals(Arrays.asList(Long.MAX_VALUE - 1, Long.MAX_VALUE), toList(iterator));
+    }
+
+    @Test
+    public void testLongRangeSizeOverflow() {
+        assertNull(SplittableIterator.ofRange(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertNull(SplittableIterator.ofRangeClosed(0L, Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, SplittableIterator.ofRangeClosed(1L, Long.MAX_VALUE).remaining());
+    }
+
+    @Test
+    public void testSkipAndLimit() {
+        final SplittableIterator<Integer> iterator = SplittableIterator.ofRange(0, 10);
+        iterator.next();
+        assertEquals(Arrays.asList(3, 4, 5), toList(iterator.skip(2).limit(3)));
+        assertEquals(Arrays.asList(1, 2), toList(iterator.limit(5).skip(-1).limit(2)));
+        assertEquals(0, iterator.skip(Long.MAX_VALUE).remaining());
+        assertEquals(0, iterator.limit(-5).remaining());
+    }
+
+    @Test
+    public void testSkipAndLimitOfLateBindingIterator() {
+        final List<Integer> list = new ArrayList<Integer>();
+        final SplittableIterator<Integer> iterator = SplittableIterator.<Integer>ofList(list)
+                .limit(6)
+                .skip(2)
+                .limit(3)
+                .skip(1);
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        assertEquals(Arrays.asList(3, 4), toList(iterator));
+    }
+
+    @Test
+    public void testSkipBeyondLateBindingFence() {
+        final List<Integer> list = new ArrayList<Integer>();
+        final SplittableIterator<Integer> iterator = SplittableIterator.<Integer>ofList(list).skip(3);
+        list.add(1);
+        assertFalse(iterator.hasNext());
+        assertEquals(0, iterator.remaining());
+    }
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        final List<T> list = new ArrayList<T>();
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+}
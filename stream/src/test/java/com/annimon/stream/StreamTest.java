@@ -7,29 +7,39 @@ import com.annimon.stream.function.Consumer;
 import com.annimon.stream.function.Function;
 import com.annimon.stream.function.Predicate;
 import com.annimon.stream.function.Supplier;
+import com.annimon.stream.function.ToDoubleFunction;
+import com.annimon.stream.function.ToIntFunction;
+import com.annimon.stream.function.ToLongFunction;
 import com.annimon.stream.function.UnaryOperator;
 import com.annimon.stream.test.OptionalMatcher;
 
 import org.junit.Test;
 
+import java.io.StringWriter;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.annimon.stream.test.OptionalMatcher.isPresent;
 import static com.annimon.stream.test.StreamMatcher.elements;
 import static com.annimon.stream.test.StreamMatcher.isEmpty;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Tests {@code Stream}.
@@ -360,6 +370,136 @@ public class StreamTest {
         assertEquals("0123456789", consumer.toString());
     }
 
+    @Test
+    public void testMapToInt() {
+        int[] lengths = Stream.of("a", "bb", "ccc")
+                .mapToInt(new ToIntFunction<String>() {
+                    @Override
+                    public int applyAsInt(String value) {
+                        return value.length();
+                    }
+                })
+                .toArray();
+        assertArrayEquals(new int[] {1, 2, 3}, lengths);
+    }
+
+    @Test
+    public void testMapToIntKeepsCloseHandlers() {
+        final List<String> closed = new ArrayList<String>();
+        final IntStream lengths = Stream.of("a", "bb", "ccc")
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        closed.add("source");
+                    }
+                })
+                .mapToInt(new ToIntFunction<String>() {
+                    @Override
+                    public int applyAsInt(String value) {
+                        return value.length();
+                    }
+                })
+                .skip(1)
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        closed.add("ints");
+                    }
+                });
+        final Stream<Integer> boxed = lengths.boxed();
+        assertEquals(2, boxed.count());
+        boxed.close();
+        lengths.close();
+        assertEquals(Arrays.asList("source", "ints"), closed);
+    }
+
+    @Test
+    public void testMapToLong() {
+        long sum = Stream.of("a", "bb", "ccc")
+                .mapToLong(new ToLongFunction<String>() {
+                    @Override
+                    public long applyAsLong(String value) {
+                        return value.length() * 1000000000L;
+                    }
+                })
+                .sum();
+        assertEquals(6000000000L, sum);
+    }
+
+    @Test
+    public void testMapToLongKeepsCloseHandlers() {
+        final List<String> closed = new ArrayList<String>();
+        final LongStream lengths = Stream.of("a", "bb", "ccc")
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        closed.add("source");
+                    }
+                })
+                .mapToLong(new ToLongFunction<String>() {
+                    @Override
+                    public long applyAsLong(String value) {
+                        return value.length();
+                    }
+                })
+                .skip(1)
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        closed.add("longs");
+                    }
+                });
+        final Stream<Long> boxed = lengths.boxed();
+        assertEquals(2, boxed.count());
+        boxed.close();
+        lengths.close();
+        assertEquals(Arrays.asList("source", "longs"), closed);
+    }
+
+    @Test
+    public void testMapToDouble() {
+        double average = Stream.of("a", "bb", "ccc", "dddd")
+                .mapToDouble(new ToDoubleFunction<String>() {
+                    @Override
+                    public double applyAsDouble(String value) {
+                        return value.length() / 2d;
+                    }
+                })
+                .average()
+                .getAsDouble();
+        assertEquals(1.25, average, 0.0);
+    }
+
+    @Test
+    public void testMapToDoubleKeepsCloseHandlers() {
+        final List<String> closed = new ArrayList<String>();
+        final DoubleStream lengths = Stream.of("a", "bb", "ccc")
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        closed.add("source");
+                    }
+                })
+                .mapToDouble(new ToDoubleFunction<String>() {
+                    @Override
+                    public double applyAsDouble(String value) {
+                        return value.length();
+                    }
+                })
+                .skip(1)
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        closed.add("doubles");
+                    }
+                });
+        final Stream<Double> boxed = lengths.boxed();
+        assertEquals(2, boxed.count());
+        boxed.close();
+        lengths.close();
+        assertEquals(Arrays.asList("source", "doubles"), closed);
+    }
+
     @Test
     public void testFlatMap() {
         final PrintConsumer<String> consumer = new PrintConsumer<String>();
@@ -411,6 +551,110 @@ public class StreamTest {
         assertThat(stream, elements(is(expected)));
     }
 
+    @Test
+    public void testDistinctKeepsEncounterOrder() {
+        List<Integer> expected = Arrays.asList(1, 2, 3, 5, -1);
+        Stream<Integer> stream = Stream.of(1, 1, 2, 3, 5, 3, 2, 1, 1, -1).distinct();
+        assertThat(stream, elements(is(expected)));
+    }
+
+    @Test
+    public void testDistinctOfInfiniteStream() {
+        final UnaryOperator<Integer> nextRemainder = new UnaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                return (value + 3) % 7;
+            }
+        };
+        assertThat(Stream.iterate(0, nextRemainder).distinct().limit(7),
+                elements(is(Arrays.asList(0, 3, 6, 2, 5, 1, 4))));
+        assertThat(Stream.iterate(0, nextRemainder).skip(1).distinct().findFirst(), isPresent());
+    }
+
+    @Test(timeout = 5000)
+    public void testDistinctFindFirstOfConstantStream() {
+        final Optional<Integer> first = Stream.generate(new Supplier<Integer>() {
+            @Override
+            public Integer get() {
+                return 7;
+            }
+        }).distinct().findFirst();
+        assertEquals(7, (int) first.get());
+    }
+
+    @Test(timeout = 5000)
+    public void testDistinctLimitPullsOnlyRequestedElements() {
+        final Iterator<? extends Integer> iterator = Stream.iterate(0, new UnaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                return (value + 1) % 3;
+            }
+        }).distinct().limit(3).getIterator();
+        final List<Integer> result = new ArrayList<Integer>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        assertEquals(Arrays.asList(0, 1, 2), result);
+    }
+
+    @Test
+    public void testDistinctIsIncremental() {
+        final List<Integer> input = new ArrayList<Integer>();
+        final Iterator<? extends Integer> iterator = Stream.of(1, 1, 2, 1, 3)
+                .peek(new Consumer<Integer>() {
+                    @Override
+                    public void accept(Integer value) {
+                        input.add(value);
+                    }
+                })
+                .distinct()
+                .getIterator();
+        assertTrue(iterator.hasNext());
+        assertEquals(1, input.size());
+        assertEquals(1, (int) iterator.next());
+        assertTrue(iterator.hasNext());
+        assertEquals(3, input.size());
+        assertEquals(2, (int) iterator.next());
+        assertTrue(iterator.hasNext());
+        assertEquals(3, (int) iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testDistinctApproximate() {
+        List<Integer> expected = Arrays.asList(1, 2, 3, 5, -1);
+        Stream<Integer> stream = Stream.of(1, 1, 2, 3, 5, 3, 2, 1, 1, -1)
+                .distinctApproximate(100, 0.0001);
+        assertThat(stream, elements(is(expected)));
+    }
+
+    @Test
+    public void testDistinctApproximateByKey() {
+        long count = Stream.rangeClosed(1, 1000)
+                .distinctApproximate(1000, 0.0001, new Function<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value) {
+                        return value / 10;
+                    }
+                }, true)
+                .count();
+        assertEquals(101, count);
+    }
+
+    @Test
+    public void testDistinctApproximateOfInfiniteStream() {
+        Stream<Long> stream = Stream.of(Functions.counterIterator())
+                .map(new Function<Integer, Long>() {
+                    @Override
+                    public Long apply(Integer value) {
+                        return (long) (value % 3);
+                    }
+                })
+                .distinctApproximate(10, 0.001)
+                .limit(3);
+        assertThat(stream, elements(is(Arrays.asList(0L, 1L, 2L))));
+    }
+
     @Test
     public void testSorted() {
         List<Integer> expected = Arrays.asList(-7, 0, 3, 6, 9, 19);
@@ -438,6 +682,85 @@ public class StreamTest {
         assertThat(stream, elements(is(expected)));
     }
 
+    @Test
+    public void testSortedWithLimit() {
+        List<Integer> expected = Arrays.asList(19, 9, -7);
+        Stream<Integer> stream = Stream.of(6, 3, 9, 0, -7, 19)
+                .sorted(Functions.descendingAbsoluteOrder())
+                .limit(3);
+        assertThat(stream, elements(is(expected)));
+    }
+
+    @Test
+    public void testSortedWithLimitOfInfiniteSize() {
+        final List<Integer> input = new ArrayList<Integer>();
+        Stream<Integer> stream = Stream.of(Functions.counterIterator())
+                .limit(1000)
+                .peek(new Consumer<Integer>() {
+                    @Override
+                    public void accept(Integer value) {
+                        input.add(value);
+                    }
+                })
+                .sorted(Functions.descendingAbsoluteOrder())
+                .limit(2)
+                .limit(5);
+        assertThat(stream, elements(is(Arrays.asList(999, 998))));
+        assertEquals(1000, input.size());
+    }
+
+    @Test
+    public void testSortedWithZeroLimitIsNotEvaluated() {
+        final List<Integer> input = new ArrayList<Integer>();
+        long count = Stream.of(1, 2, 3)
+                .peek(new Consumer<Integer>() {
+                    @Override
+                    public void accept(Integer value) {
+                        input.add(value);
+                    }
+                })
+                .sorted(Functions.naturalOrder())
+                .limit(0)
+                .count();
+        assertEquals(0, count);
+        assertTrue(input.isEmpty());
+    }
+
+    @Test
+    public void testTopK() {
+        Stream<String> stream = Stream.of("This", "is", "a", "test", "of", "top")
+                .topK(4, new java.util.Comparator<String>() {
+                    @Override
+                    public int compare(String s1, String s2) {
+                        return s1.length() - s2.length();
+                    }
+                });
+        // Elements of equal length remain in encounter order
+        assertEquals(Arrays.asList("a", "is", "of", "top"), stream.collect(Collectors.<String>toList()));
+    }
+
+    @Test
+    public void testTopKCount() {
+        assertEquals(3, Stream.range(0, 100).topK(3, Functions.naturalOrder()).count());
+        assertEquals(100, Stream.range(0, 100).topK(300, Functions.naturalOrder()).count());
+        assertEquals(0, Stream.range(0, 100).topK(-1, Functions.naturalOrder()).count());
+    }
+
+    @Test
+    public void testTopKParallel() {
+        final List<Integer> result = Stream.rangeClosed(1, 10000)
+                .parallel()
+                .map(new Function<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value) {
+                        return value % 1000;
+                    }
+                })
+                .topK(5, Functions.descendingAbsoluteOrder())
+                .collect(Collectors.<Integer>toList());
+        assertEquals(Arrays.asList(999, 999, 999, 999, 999), result);
+    }
+
     @Test
     public void testSortByStringLength() {
         List<String> expected = Arrays.asList("a", "is", "This", "test");
@@ -566,6 +889,140 @@ public class StreamTest {
         assertEquals("[1, 2]", pc5.toString());
     }
 
+    @Test
+    public void testSlidingWindowListsAreIndependent() {
+        List<List<Integer>> windows = Stream.rangeClosed(1, 5)
+                .slidingWindow(2, 1)
+                .collect(Collectors.<List<Integer>>toList());
+        assertEquals("[[1, 2], [2, 3], [3, 4], [4, 5]]", windows.toString());
+    }
+
+    @Test
+    public void testSlidingWindowView() {
+        final PrintConsumer<List<Integer>> pc1 = new PrintConsumer<List<Integer>>();
+        Stream.of(1, 1, 1, 2, 2, 2, 3, 3, 3).slidingWindowView(3, 3).forEach(pc1);
+        assertEquals("[1, 1, 1][2, 2, 2][3, 3, 3]", pc1.toString());
+
+        final PrintConsumer<List<Integer>> pc2 = new PrintConsumer<List<Integer>>();
+        Stream.of(1, 2, 3, 1, 2, 3, 1, 2, 3).slidingWindowView(2, 3).forEach(pc2);
+        assertEquals("[1, 2][1, 2][1, 2]", pc2.toString());
+
+        final PrintConsumer<List<Integer>> pc3 = new PrintConsumer<List<Integer>>();
+        Stream.of(1, 2, 3, 4, 5, 6).slidingWindowView(3).forEach(pc3);
+        assertEquals("[1, 2, 3][2, 3, 4][3, 4, 5][4, 5, 6]", pc3.toString());
+
+        final PrintConsumer<List<Integer>> pc4 = new PrintConsumer<List<Integer>>();
+        Stream.of(1, 2, 3, 4, 5, 6, 7).slidingWindowView(3, 2).forEach(pc4);
+        assertEquals("[1, 2, 3][3, 4, 5][5, 6, 7]", pc4.toString());
+    }
+
+    @Test
+    public void testSlidingWindowViewIsReused() {
+        final Iterator<? extends List<Integer>> iterator = Stream.range(0, 10)
+                .slidingWindowView(4)
+                .getIterator();
+        final List<Integer> first = iterator.next();
+        assertEquals(Arrays.asList(0, 1, 2, 3), first);
+        assertTrue(first == iterator.next());
+        assertEquals(Arrays.asList(1, 2, 3, 4), first);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSlidingWindowViewIsReadOnly() {
+        Stream.of(1, 2, 3).slidingWindowView(2).findFirst().get().set(0, 5);
+    }
+
+    @Test
+    public void testSlidingWindowMovingAverage() {
+        final List<Double> averages = Stream.rangeClosed(1, 6)
+                .slidingWindowView(3)
+                .map(new Function<List<Integer>, Double>() {
+                    @Override
+                    public Double apply(List<Integer> window) {
+                        int sum = 0;
+                        for (int value : window) {
+                            sum += value;
+                        }
+                        return sum / (double) window.size();
+                    }
+                })
+                .collect(Collectors.<Double>toList());
+        assertEquals(Arrays.asList(2d, 3d, 4d, 5d), averages);
+    }
+
+    @Test
+    public void testSlidingReduce() {
+        final BinaryOperator<Integer> max = new BinaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value1, Integer value2) {
+                return Math.max(value1, value2);
+            }
+        };
+        assertThat(Stream.of(1, 3, 2, 1, 1, 4).slidingReduce(3, max),
+                elements(is(Arrays.asList(3, 3, 2, 4))));
+        assertThat(Stream.of(1, 3).slidingReduce(3, max),
+                elements(is(Arrays.asList(3))));
+        assertThat(Stream.<Integer>empty().slidingReduce(3, max), isEmpty());
+    }
+
+    @Test
+    public void testSlidingReduceIsOrdered() {
+        final BinaryOperator<String> concat = new BinaryOperator<String>() {
+            @Override
+            public String apply(String value1, String value2) {
+                return value1 + value2;
+            }
+        };
+        assertThat(Stream.of("a", "b", "c", "d", "e", "f", "g").slidingReduce(3, concat),
+                elements(is(Arrays.asList("abc", "bcd", "cde", "def", "efg"))));
+        assertThat(Stream.of("a", "b", "c").slidingReduce(1, concat),
+                elements(is(Arrays.asList("a", "b", "c"))));
+    }
+
+    @Test
+    public void testSlidingReduceWithInverse() {
+        final BinaryOperator<Integer> addition = new BinaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value1, Integer value2) {
+                return value1 + value2;
+            }
+        };
+        final BinaryOperator<Integer> subtraction = new BinaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value1, Integer value2) {
+                return value1 - value2;
+            }
+        };
+        assertThat(Stream.rangeClosed(1, 5).slidingReduce(3, addition, subtraction),
+                elements(is(Arrays.asList(6, 9, 12))));
+        assertThat(Stream.rangeClosed(1, 3).slidingReduce(1, addition, subtraction),
+                elements(is(Arrays.asList(1, 2, 3))));
+    }
+
+    @Test
+    public void testSlidingReduceOfInfiniteStream() {
+        final BinaryOperator<Integer> addition = new BinaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value1, Integer value2) {
+                return value1 + value2;
+            }
+        };
+        assertThat(Stream.of(Functions.counterIterator())
+                .slidingReduce(2, addition)
+                .limit(4),
+                elements(is(Arrays.asList(1, 3, 5, 7))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSlidingReduceWithZeroWindow() {
+        Stream.of(1, 2).slidingReduce(0, new BinaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value1, Integer value2) {
+                return value1 + value2;
+            }
+        });
+    }
+
     @Test
     public void testPeek() {
         final PrintConsumer<Integer> consumer = new PrintConsumer<Integer>();
@@ -1025,6 +1482,558 @@ public class StreamTest {
         assertEquals("0123456789", consumer.toString());
     }
 
+    @Test
+    public void testFlatMapWithShortCircuitingInnerStreams() {
+        final List<Integer> result = Stream.range(0, 4)
+                .flatMap(new Function<Integer, Stream<Integer>>() {
+                    @Override
+                    public Stream<Integer> apply(Integer value) {
+                        return Stream.of(value, value, value).limit(2);
+                    }
+                })
+                .limit(7)
+                .collect(Collectors.<Integer>toList());
+        assertEquals(Arrays.asList(0, 0, 1, 1, 2, 2, 3), result);
+    }
+
+    @Test
+    public void testMatchStopsTraversal() {
+        final List<Integer> visited = new ArrayList<Integer>();
+        final boolean match = Stream.range(0, 100)
+                .peek(new Consumer<Integer>() {
+                    @Override
+                    public void accept(Integer value) {
+                        visited.add(value);
+                    }
+                })
+                .filter(Functions.remainder(2))
+                .anyMatch(new Predicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        return value == 4;
+                    }
+                });
+        assertTrue(match);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), visited);
+    }
+
+    @Test
+    public void testTerminalOperationAfterPartialIteration() {
+        final Stream<Integer> stream = Stream.range(0, 10).filter(Functions.remainder(3));
+        final Iterator<? extends Integer> iterator = stream.getIterator();
+        assertTrue(iterator.hasNext());
+        assertEquals(0, (int) iterator.next());
+        assertTrue(iterator.hasNext());
+        assertEquals(Arrays.asList(3, 6, 9), stream.collect(Collectors.<Integer>toList()));
+    }
+
+    @Test
+    public void testSkipAndLimitOfArrayListAreNotTraversed() {
+        final Integer[] array = new Integer[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+        final Stream<Integer> stream = Stream.of(Arrays.asList(array)).skip(500).limit(3);
+        assertTrue(stream.getIterator() instanceof SplittableIterator);
+        assertEquals(Arrays.asList(500, 501, 502), stream.collect(Collectors.<Integer>toList()));
+        final Stream<Integer> arrayList = Stream.of(new ArrayList<Integer>(Arrays.asList(array))).skip(998);
+        assertTrue(arrayList.getIterator() instanceof SplittableIterator);
+        assertEquals(Arrays.asList(998, 999), arrayList.collect(Collectors.<Integer>toList()));
+    }
+
+    @Test
+    public void testOtherRandomAccessListsUseTheirIterator() {
+        final List<Integer> list = new CopyOnWriteArrayList<Integer>(Arrays.asList(1, 2, 3, 4));
+        final List<Integer> visited = new ArrayList<Integer>();
+        // Iterator of CopyOnWriteArrayList traverses the snapshot
+        Stream.of(list).forEach(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer value) {
+                visited.add(value);
+                list.remove(value);
+            }
+        });
+        assertEquals(Arrays.asList(1, 2, 3, 4), visited);
+        assertTrue(list.isEmpty());
+        assertFalse(Stream.of(new LinkedList<Integer>()).getIterator() instanceof SplittableIterator);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testArrayListModifiedDuringTraversal() {
+        final List<Integer> list = new ArrayList<Integer>(Arrays.asList(1, 2, 3, 4));
+        Stream.of(list).forEach(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer value) {
+                list.remove(value);
+            }
+        });
+    }
+
+    @Test
+    public void testSkipOfLazyList() {
+        final List<Integer> list = new ArrayList<Integer>();
+        final Stream<Integer> stream = Stream.of(list).skip(1).limit(2);
+        list.addAll(Arrays.asList(1, 2, 3, 4));
+        assertThat(stream, elements(is(Arrays.asList(2, 3))));
+    }
+
+    @Test
+    public void testCountOfSizedSourceIsNotTraversed() {
+        assertEquals(Long.MAX_VALUE - 11, Stream.rangeClosed(1L, Long.MAX_VALUE)
+                .skip(1)
+                .limit(Long.MAX_VALUE - 1)
+                .skip(10)
+                .count());
+    }
+
+    @Test
+    public void testCountOfCollection() {
+        final List<String> list = new ArrayList<String>(Arrays.asList("a", "b", "c"));
+        final Stream<String> stream = Stream.of((Iterable<String>) list).skip(1);
+        list.add("d");
+        assertEquals(3, stream.count());
+    }
+
+    @Test
+    public void testToArrayOfSizedStream() {
+        final String[] result = Stream.of("a", "b", "c", "d", "e")
+                .skip(1)
+                .map(new UnaryOperator<String>() {
+                    @Override
+                    public String apply(String value) {
+                        return value.toUpperCase();
+                    }
+                })
+                .limit(3)
+                .sorted()
+                .toArray(Functions.arrayGenerator(String[].class));
+        assertArrayEquals(new String[] {"B", "C", "D"}, result);
+    }
+
+    @Test(expected = ArrayStoreException.class)
+    public void testToArrayOfSizedStreamIncompatibleType() {
+        Stream.<Object>of(1, "b").toArray(Functions.arrayGenerator(String[].class));
+    }
+
+    @Test
+    public void testCollectToListOfSizedStream() {
+        final List<Integer> result = Stream.range(0, 10)
+                .skip(8)
+                .collect(Collectors.<Integer>toList());
+        assertEquals(Arrays.asList(8, 9), result);
+        result.add(10);
+        assertEquals(3, result.size());
+    }
+
+    @Test
+    public void testParallel() {
+        final Stream<Integer> stream = Stream.range(0, 10);
+        assertFalse(stream.isParallel());
+        assertTrue(stream.parallel().isParallel());
+        assertFalse(stream.parallel().sequential().isParallel());
+    }
+
+    @Test
+    public void testParallelKeepsModeAfterStatefulOperation() {
+        assertTrue(Stream.range(0, 10).parallel().sorted().limit(5).isParallel());
+    }
+
+    @Test
+    public void testParallelMapToList() {
+        final List<Integer> result = Stream.range(0, 100000)
+                .parallel()
+                .filter(Functions.remainder(2))
+                .map(new Function<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value) {
+                        return value / 2;
+                    }
+                })
+                .collect(Collectors.<Integer>toList());
+        assertEquals(50000, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(i, (int) result.get(i));
+        }
+    }
+
+    @Test
+    public void testParallelToArrayPreservesOrder() {
+        final Object[] expected = Stream.range(0, 50000).toArray();
+        final Object[] result = Stream.range(0, 50000)
+                .parallel()
+                .flatMap(new Function<Integer, Stream<Integer>>() {
+                    @Override
+                    public Stream<Integer> apply(Integer value) {
+                        return Stream.of(value);
+                    }
+                })
+                .toArray();
+        assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public void testParallelCountAndReduce() {
+        assertEquals(100000, Stream.range(0, 100000).parallel().count());
+        // int overflow, but the same as sequential result
+        assertEquals(704982704, (int) Stream.range(0, 100000).parallel()
+                .reduce(Functions.addition()).get());
+        assertEquals(4999950000L, (long) Stream.range(0, 100000).parallel()
+                .reduce(0L, new BiFunction<Long, Integer, Long>() {
+                    @Override
+                    public Long apply(Long value1, Integer value2) {
+                        return value1 + value2;
+                    }
+                }));
+    }
+
+    @Test
+    public void testParallelCollectWithCombiner() {
+        final List<Integer> result = Stream.range(0, 10000)
+                .parallel()
+                .collect(new Supplier<List<Integer>>() {
+                    @Override
+                    public List<Integer> get() {
+                        return new ArrayList<Integer>();
+                    }
+                }, new BiConsumer<List<Integer>, Integer>() {
+                    @Override
+                    public void accept(List<Integer> list, Integer value) {
+                        list.add(value);
+                    }
+                }, new BiConsumer<List<Integer>, List<Integer>>() {
+                    @Override
+                    public void accept(List<Integer> list1, List<Integer> list2) {
+                        list1.addAll(list2);
+                    }
+                });
+        assertEquals(Stream.range(0, 10000).collect(Collectors.<Integer>toList()), result);
+    }
+
+    @Test
+    public void testParallelForEachOrdered() {
+        PrintConsumer<Integer> consumer = new PrintConsumer<Integer>();
+        Stream.range(0, 3000).parallel().forEachOrdered(consumer);
+
+        PrintConsumer<Integer> expected = new PrintConsumer<Integer>();
+        Stream.range(0, 3000).forEach(expected);
+        assertEquals(expected.toString(), consumer.toString());
+    }
+
+    @Test
+    public void testParallelMatch() {
+        assertTrue(Stream.range(0, 100000).parallel().anyMatch(Functions.remainder(99999)));
+        assertFalse(Stream.range(0, 100000).parallel().allMatch(Functions.remainder(2)));
+        assertTrue(Stream.range(1, 100000).parallel().noneMatch(Functions.remainder(100000)));
+        assertFalse(Stream.<Integer>empty().parallel().anyMatch(Functions.remainder(2)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParallelRethrowsException() {
+        Stream.range(0, 100000).parallel().forEach(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer value) {
+                if (value == 50000) throw new IllegalStateException();
+            }
+        });
+    }
+
+
+    @Test
+    public void testSortedExternal() {
+        final List<Integer> expected = Stream.iterate(7, new UnaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                return (value * 31 + 11) % 1009;
+            }
+        }).limit(500).sorted().collect(Collectors.<Integer>toList());
+        final List<Integer> result = Stream.iterate(7, new UnaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                return (value * 31 + 11) % 1009;
+            }
+        }).limit(500)
+                .sortedExternal(Functions.naturalOrder(), Serializer.Util.integers(), 50)
+                .collect(Collectors.<Integer>toList());
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testSortedExternalLazyMerge() {
+        final Stream<Integer> stream = Stream.range(0, 1000)
+                .sortedExternal(new Comparator<Integer>() {
+                    @Override
+                    public int compare(Integer value1, Integer value2) {
+                        return value2.compareTo(value1);
+                    }
+                }, Serializer.Util.integers(), 100)
+                .limit(3);
+        assertThat(stream, elements(is(Arrays.asList(999, 998, 997))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortedExternalInvalidBudget() {
+        Stream.range(0, 10).sortedExternal(Functions.naturalOrder(), Serializer.Util.integers(), 0);
+    }
+
+    @Test
+    public void testInstrumented() {
+        final RecordingListener listener = new RecordingListener();
+        List<String> result = Stream.range(0, 10)
+                .instrumented(listener)
+                .filter(Functions.remainder(2))
+                .map(Functions.<Integer>convertToString())
+                .collect(Collectors.<String>toList());
+        assertEquals(Arrays.asList("0", "2", "4", "6", "8"), result);
+        assertEquals(3, listener.added.size());
+        final StageMetrics source = listener.added.get(0);
+        final StageMetrics filter = listener.added.get(1);
+        final StageMetrics map = listener.added.get(2);
+        assertEquals("source", source.getName());
+        assertEquals(10, source.getElementsOut());
+        assertEquals("filter", filter.getName());
+        assertEquals(1, filter.getIndex());
+        assertEquals(10, filter.getElementsIn());
+        assertEquals(5, filter.getElementsOut());
+        assertEquals(-1, filter.getBufferedSize());
+        assertEquals("map", map.getName());
+        assertEquals(5, map.getElementsIn());
+        assertEquals(5, map.getElementsOut());
+        assertTrue(map.getNanoTime() >= 0);
+        assertEquals(listener.added, listener.completed);
+    }
+
+    @Test
+    public void testInstrumentedBufferedSize() {
+        final RecordingListener listener = new RecordingListener();
+        long count = Stream.of(3, 1, 3, 2, 1, 3)
+                .instrumented(listener)
+                .distinct()
+                .sorted()
+                .groupBy(Functions.<Integer>convertToString())
+                .count();
+        assertEquals(3, count);
+        assertEquals("distinct", listener.added.get(1).getName());
+        assertEquals(3, listener.added.get(1).getBufferedSize());
+        assertEquals("sorted", listener.added.get(2).getName());
+        assertEquals(3, listener.added.get(2).getBufferedSize());
+        assertEquals("groupBy", listener.added.get(3).getName());
+        assertEquals(3, listener.added.get(3).getBufferedSize());
+    }
+
+    @Test
+    public void testInstrumentedCountOfSizedSource() {
+        final RecordingListener listener = new RecordingListener();
+        assertEquals(3, Stream.of(1, 2, 3, 4).instrumented(listener).skip(1).count());
+        assertEquals("source", listener.added.get(0).getName());
+        assertEquals(4, listener.added.get(0).getElementsOut());
+        assertEquals("skip", listener.added.get(1).getName());
+        assertEquals(4, listener.added.get(1).getElementsIn());
+        assertEquals(3, listener.added.get(1).getElementsOut());
+        assertEquals(2, listener.completed.size());
+
+        final RecordingListener arrayListener = new RecordingListener();
+        final Object[] array = Stream.of(1, 2, 3).instrumented(arrayListener)
+                .map(Functions.<Integer>convertToString())
+                .toArray();
+        assertEquals(3, array.length);
+        assertEquals(3, arrayListener.added.get(1).getElementsOut());
+    }
+
+    @Test
+    public void testInstrumentedShortCircuit() {
+        final RecordingListener listener = new RecordingListener();
+        Optional<Integer> first = Stream.iterate(1, new UnaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                return value + 1;
+            }
+        }).instrumented(listener).filter(Functions.remainder(5)).findFirst();
+        assertThat(first, isPresent());
+        assertEquals(Integer.valueOf(5), first.get());
+        assertEquals(5, listener.added.get(1).getElementsIn());
+        assertEquals(1, listener.added.get(1).getElementsOut());
+        assertTrue(listener.completed.isEmpty());
+        assertFalse(listener.added.get(1).isCompleted());
+    }
+
+    @Test
+    public void testInstrumentedParallel() {
+        final RecordingListener listener = new RecordingListener();
+        List<Integer> result = Stream.range(0, 100000)
+                .parallel()
+                .instrumented(listener)
+                .filter(Functions.remainder(2))
+                .collect(Collectors.<Integer>toList());
+        assertEquals(50000, result.size());
+        assertEquals(100000, listener.added.get(1).getElementsIn());
+        assertEquals(50000, listener.added.get(1).getElementsOut());
+    }
+
+    @Test
+    public void testNotInstrumentedByDefault() {
+        final Stream<Integer> stream = Stream.range(0, 10).filter(Functions.remainder(2)).sorted();
+        assertFalse(stream.getIterator() instanceof StageProbe);
+        assertTrue(stream.instrumented(new RecordingListener()).getIterator() instanceof StageProbe);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testInstrumentedNullListener() {
+        Stream.range(0, 10).instrumented(null);
+    }
+
+    @Test
+    public void testForEachTo() {
+        final StringWriter writer = new StringWriter();
+        Stream.of(1, 2, 3).forEachTo(writer);
+        assertEquals("1\n2\n3\n", writer.toString());
+    }
+
+    @Test
+    public void testForEachToWithSeparatorAndBuffer() {
+        final CollectorsTest.RecordingWriter writer = new CollectorsTest.RecordingWriter();
+        Stream.of("abcdefg", null, "h", "ij").forEachTo(writer, "; ", 3);
+        assertEquals("abcdefg; null; h; ij; ", writer.text.toString());
+        assertEquals(3, writer.maxWrite);
+        assertEquals(1, writer.flushes);
+        assertFalse(writer.closed);
+    }
+
+    @Test
+    public void testForEachToEmpty() {
+        final CollectorsTest.RecordingWriter writer = new CollectorsTest.RecordingWriter();
+        Stream.empty().forEachTo(writer);
+        assertEquals("", writer.text.toString());
+        assertEquals(1, writer.flushes);
+    }
+
+    @Test
+    public void testForEachToCharSequenceWithoutString() {
+        final CharSequence chars = new CharSequence() {
+            @Override
+            public int length() {
+                return 3;
+            }
+
+            @Override
+            public char charAt(int index) {
+                return (char) ('x' + index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String toString() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        final StringWriter writer = new StringWriter();
+        Stream.of(chars, chars).forEachTo(writer, ",", 2);
+        assertEquals("xyz,xyz,", writer.toString());
+    }
+
+    @Test
+    public void testForEachToParallel() {
+        final StringWriter writer = new StringWriter();
+        Stream.range(0, 10000).parallel().forEachTo(writer, ",", 16);
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            expected.append(i).append(',');
+        }
+        assertEquals(expected.toString(), writer.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForEachToInvalidBufferSize() {
+        Stream.of(1).forEachTo(new StringWriter(), ",", -1);
+    }
+
+    @Test
+    public void testOnCloseRunsHandlersOnceInOrder() {
+        final List<String> closed = new ArrayList<String>();
+        final Stream<Integer> source = Stream.of(1, 2, 3).onClose(new Runnable() {
+            @Override
+            public void run() {
+                closed.add("source");
+            }
+        });
+        final Stream<Integer> result = source
+                .filter(Functions.remainder(2))
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        closed.add("filter");
+                    }
+                });
+        assertEquals(1, result.count());
+        // Handlers are shared by the pipeline
+        source.close();
+        result.close();
+        assertEquals(Arrays.asList("source", "filter"), closed);
+    }
+
+    @Test
+    public void testCloseRunsAllHandlersAndRethrowsFirstException() {
+        final List<String> closed = new ArrayList<String>();
+        final Stream<Integer> stream = Stream.of(1)
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        throw new IllegalStateException("first");
+                    }
+                })
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        closed.add("second");
+                    }
+                });
+        try {
+            stream.close();
+            fail();
+        } catch (IllegalStateException ex) {
+            assertEquals("first", ex.getMessage());
+        }
+        assertEquals(Arrays.asList("second"), closed);
+    }
+
+    @Test
+    public void testConcatClosesBothStreams() {
+        final List<String> closed = new ArrayList<String>();
+        final Stream<Integer> stream1 = Stream.of(1).onClose(new Runnable() {
+            @Override
+            public void run() {
+                closed.add("first");
+            }
+        });
+        final Stream<Integer> stream2 = Stream.of(2).onClose(new Runnable() {
+            @Override
+            public void run() {
+                closed.add("second");
+            }
+        });
+        Stream.concat(stream1, stream2).parallel().close();
+        assertEquals(Arrays.asList("first", "second"), closed);
+    }
+
+    private static class RecordingListener implements PipelineListener {
+
+        final List<StageMetrics> added = new ArrayList<StageMetrics>();
+        final List<StageMetrics> completed = new ArrayList<StageMetrics>();
+
+        @Override
+        public void onStageAdded(StageMetrics stage) {
+            added.add(stage);
+        }
+
+        @Override
+        public void onStageCompleted(StageMetrics stage) {
+            completed.add(stage);
+        }
+    }
+
 
     private static class PrintConsumer<T> implements Consumer<T> {
 